@@ -0,0 +1,217 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: Fails when a hot path method that should not allocate does
+ */
+
+package com.bulletdave.math.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.bulletdave.math.Compute;
+import com.bulletdave.math.Quat4F;
+import com.bulletdave.math.matrix.Matrix2x2;
+import com.bulletdave.math.matrix.Matrix3x3;
+import com.bulletdave.math.matrix.Matrix4x4;
+import com.bulletdave.math.matrix.MatrixStack;
+import com.bulletdave.math.vector.Vec2F;
+import com.bulletdave.math.vector.Vec3F;
+import com.bulletdave.math.vector.Vec4F;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.ThreadMXBean;
+
+
+/**
+ * Measures the bytes the current thread allocates around each hot path
+ * method and exits with status 1 if any of them allocates. Run it with
+ * -XX:-DoEscapeAnalysis, otherwise the JIT may remove a temporary object
+ * and hide an allocation that a different caller would pay for.
+ */
+public final class AllocationCheck {
+	
+	private static final int WARMUP = 20000;	// calls before measuring, loads and links everything
+	private static final int CALLS = 10000;		// measured calls per method
+	
+	private static Vec2F p2 = new Vec2F(3, 4), q2 = new Vec2F(-1, 2), w2 = new Vec2F();
+	private static Vec2F a2 = new Vec2F(0, 0), b2 = new Vec2F(10, 0), c2 = new Vec2F(0, 10);
+	private static Vec3F p3 = new Vec3F(1, 2, 3), q3 = new Vec3F(-2, 0.5f, 4), w3 = new Vec3F();
+	private static Vec4F p4 = new Vec4F(1, 2, 3, 1), q4 = new Vec4F(-2, 0.5f, 4, 1), w4 = new Vec4F();
+	private static Matrix2x2 m2 = new Matrix2x2(4, 1, 2, 3), w22 = new Matrix2x2();
+	private static Matrix3x3 m3 = new Matrix3x3(4, 1, 0.5f, 1, 5, 2, 0.5f, 2, 6), w33 = new Matrix3x3();
+	private static Matrix4x4 m4 = new Matrix4x4(0, -1, 0, 3, 1, 0, 0, -2, 0, 0, 1, 5, 0, 0, 0, 1), w44 = new Matrix4x4();
+	private static Quat4F qa = new Quat4F().setAxisAngle(0, 1, 0, 0.5f), qb = new Quat4F().setAxisAngle(1, 0, 0, 1.5f), wq = new Quat4F();
+	private static MatrixStack stack = new MatrixStack(4);
+	
+	static float sink;	// keeps results alive
+	
+	/**
+	 * One method under test, called once per run()
+	 */
+	private static abstract class Check {
+		
+		final String name;
+		
+		Check(String name) {
+			this.name = name;
+		}
+		
+		abstract float run();
+	}
+	
+	private AllocationCheck() {
+	}
+	
+	private static List<Check> checks() {
+		
+		List<Check> checks = new ArrayList<Check>();
+		
+		// Vec2F
+		checks.add(new Check("Vec2F.getMagnitude(Vec2F)") { float run() { return p2.getMagnitude(q2); } });
+		checks.add(new Check("Vec2F.getMagnitude(float, float)") { float run() { return p2.getMagnitude(q2.x, q2.y); } });
+		checks.add(new Check("Vec2F.getSlope(Vec2F)") { float run() { return p2.getSlope(q2); } });
+		checks.add(new Check("Vec2F.getSidePointOn") { float run() { return p2.getSidePointOn(q2, a2); } });
+		checks.add(new Check("Vec2F.getRadian(Vec2F)") { float run() { return p2.getRadian(q2); } });
+		checks.add(new Check("Vec2F.getYIntercept") { float run() { return p2.getYIntercept(q2); } });
+		checks.add(new Check("Vec2F.solveX(Vec2F, float)") { float run() { return p2.solveX(q2, 1); } });
+		checks.add(new Check("Vec2F.solveY(Vec2F, float)") { float run() { return p2.solveY(q2, 1); } });
+		checks.add(new Check("Vec2F.testTriangle") { float run() { return p2.testTriangle(a2, b2, c2) ? 1 : 0; } });
+		checks.add(new Check("Vec2F.testCircle") { float run() { return p2.testCircle(q2, 5) ? 1 : 0; } });
+		checks.add(new Check("Vec2F.testEllipse") { float run() { return p2.testEllipse(q2, 5, 3) ? 1 : 0; } });
+		checks.add(new Check("Vec2F.testBoxAABB") { float run() { return p2.testBoxAABB(a2, 5, 5) ? 1 : 0; } });
+		checks.add(new Check("Vec2F.normalize") { float run() { return w2.set(p2).normalize().x; } });
+		checks.add(new Check("Vec2F.normalize(Vec2F)") { float run() { return w2.set(p2).normalize(q2).x; } });
+		checks.add(new Check("Vec2F.rotate(float, float, float)") { float run() { return w2.set(p2).rotate(1, 1, 0.5f).x; } });
+		checks.add(new Check("Vec2F.rotate(Vec2F, float)") { float run() { return w2.set(p2).rotate(q2, 0.5f).x; } });
+		checks.add(new Check("Vec2F.lerpRatio") { float run() { return w2.set(p2).lerpRatio(q2, 0.25f).x; } });
+		checks.add(new Check("Vec2F.lerpDistance") { float run() { return w2.set(p2).lerpDistance(q2, 1.5f).x; } });
+		
+		// Vec3F and Vec4F
+		checks.add(new Check("Vec3F.getMagnitude(Vec3F)") { float run() { return p3.getMagnitude(q3); } });
+		checks.add(new Check("Vec3F.getDotProduct") { float run() { return p3.getDotProduct(q3); } });
+		checks.add(new Check("Vec3F.normalize") { float run() { return w3.set(p3).normalize().x; } });
+		checks.add(new Check("Vec3F.testSphere") { float run() { return p3.testSphere(q3, 4) ? 1 : 0; } });
+		checks.add(new Check("Vec3F.testBoxAABB") { float run() { return p3.testBoxAABB(q3, 4, 4, 4) ? 1 : 0; } });
+		checks.add(new Check("Vec4F.getMagnitude(Vec4F)") { float run() { return p4.getMagnitude(q4); } });
+		checks.add(new Check("Vec4F.getDotProduct") { float run() { return p4.getDotProduct(q4); } });
+		checks.add(new Check("Vec4F.normalize") { float run() { return w4.set(p4).normalize().x; } });
+		
+		// Compute
+		checks.add(new Check("Compute.sidePointOn") { float run() { return Compute.sidePointOn(p2, a2, b2); } });
+		checks.add(new Check("Compute.testPointInsideTriangle") { float run() { return Compute.testPointInsideTriangle(p2, a2, b2, c2) ? 1 : 0; } });
+		checks.add(new Check("Compute.testPointInsideCircle") { float run() { return Compute.testPointInsideCircle(p2.x, p2.y, 0, 0, 5) ? 1 : 0; } });
+		
+		// fixed-size matrices, quaternions and the matrix stack
+		checks.add(new Check("Matrix2x2.multiply") { float run() { return w22.set(m2.m00, m2.m01, m2.m10, m2.m11).multiply(m2).m00; } });
+		checks.add(new Check("Matrix3x3.multiply") { float run() { return w33.set(m3.m00, m3.m01, m3.m02, m3.m10, m3.m11, m3.m12, m3.m20, m3.m21, m3.m22).multiply(m3).m00; } });
+		checks.add(new Check("Matrix4x4.multiply") { float run() { return copy(w44, m4).multiply(m4).m00; } });
+		checks.add(new Check("Matrix4x4.transpose") { float run() { return copy(w44, m4).transpose().m01; } });
+		checks.add(new Check("Matrix4x4.inverseClosedForm") { float run() { return copy(w44, m4).inverseClosedForm().m03; } });
+		checks.add(new Check("Matrix4x4.inverseAffine") { float run() { return copy(w44, m4).inverseAffine().m03; } });
+		checks.add(new Check("Matrix4x4.inverseRigid") { float run() { return copy(w44, m4).inverseRigid().m03; } });
+		checks.add(new Check("Quat4F.multiply") { float run() { return wq.set(qa).multiply(qb).w; } });
+		checks.add(new Check("Quat4F.slerp") { float run() { return wq.slerp(qa, qb, 0.3f).w; } });
+		checks.add(new Check("Quat4F.rotate(Vec3F, Vec3F)") { float run() { return qa.rotate(p3, w3).x; } });
+		checks.add(new Check("MatrixStack.push/multiply/pop") { float run() { stack.push(); stack.multiply(m4).translate(1, 2, 3); stack.pop(); return 0; } });
+		
+		return checks;
+	}
+	
+	private static Matrix4x4 copy(Matrix4x4 dest, Matrix4x4 src) {
+		return dest.set(src.m00, src.m01, src.m02, src.m03, 
+						src.m10, src.m11, src.m12, src.m13, 
+						src.m20, src.m21, src.m22, src.m23, 
+						src.m30, src.m31, src.m32, src.m33);
+	}
+	
+	// bytes allocated by CALLS calls of a check
+	private static long measure(ThreadMXBean threads, long id, Check check) {
+		
+		float sum = 0;
+		for (int i = 0; i < WARMUP; i++) {
+			sum += check.run();
+		}
+		
+		long before = threads.getThreadAllocatedBytes(id);
+		for (int i = 0; i < CALLS; i++) {
+			sum += check.run();
+		}
+		long after = threads.getThreadAllocatedBytes(id);
+		
+		sink += sum;
+		return after - before;
+	}
+	
+	public static void main(String args[]) {
+		
+		ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		if (!threads.isThreadAllocatedMemorySupported()) {
+			System.err.println("This VM cannot measure per-thread allocation");
+			System.exit(2);
+		}
+		threads.setThreadAllocatedMemoryEnabled(true);
+		
+		HotSpotDiagnosticMXBean hotspot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+		if (Boolean.parseBoolean(hotspot.getVMOption("DoEscapeAnalysis").getValue())) {
+			System.err.println("Warning: escape analysis is on and may hide allocations, run with -XX:-DoEscapeAnalysis");
+		}
+		
+		long id = Thread.currentThread().getId();
+		
+		// what measuring nothing costs, so it can be taken off every result
+		long overhead = measure(threads, id, new Check("none") { float run() { return 0; } });
+		
+		int failures = 0;
+		for (Check check : checks()) {
+			
+			long bytes = Math.max(0, measure(threads, id, check) - overhead);
+			boolean allocates = bytes >= CALLS;		// at least a byte per call, not measurement noise
+			
+			if (allocates) {
+				failures++;
+			}
+			System.out.printf("%-36s %8.1f bytes/call%s%n", check.name, (double) bytes / CALLS, allocates ? "  ALLOCATES" : "");
+		}
+		
+		if (failures > 0) {
+			System.out.println(failures + " method(s) allocate");
+			System.exit(1);
+		}
+		System.out.println("No allocations");
+	}
+}
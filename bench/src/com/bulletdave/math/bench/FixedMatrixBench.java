@@ -0,0 +1,229 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: JMH benchmarks for Matrix2x2, Matrix3x3 and Matrix4x4
+ */
+
+package com.bulletdave.math.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bulletdave.math.matrix.Matrix2x2;
+import com.bulletdave.math.matrix.Matrix3x3;
+import com.bulletdave.math.matrix.Matrix4x4;
+import com.bulletdave.math.vector.Vec2F;
+import com.bulletdave.math.vector.Vec3F;
+import com.bulletdave.math.vector.Vec4F;
+
+
+/**
+ * Benchmarks the fixed-size matrix operations. The operations
+ * work in place, so each invocation first resets a work matrix
+ * from the source by field copies, which neither allocates nor
+ * costs more than a few nanoseconds; reset4x4() measures it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedMatrixBench {
+	
+	private Matrix2x2 a2, b2, work2;
+	private Matrix3x3 a3, b3, work3;
+	private Matrix4x4 a4, b4, work4, affine4;
+	
+	@Setup
+	public void setup() {
+		
+		a2 = new Matrix2x2(4, 1, 2, 3);
+		b2 = new Matrix2x2(0.5f, -1, 2, 0.25f);
+		work2 = new Matrix2x2();
+		
+		a3 = new Matrix3x3(4, 1, 0.5f, 
+						   1, 5, 2, 
+						   0.5f, 2, 6);
+		b3 = new Matrix3x3(0.5f, -1, 2, 
+						   0.25f, 3, -0.5f, 
+						   1, 1, 1);
+		work3 = new Matrix3x3();
+		
+		a4 = new Matrix4x4(5, 1, 0.5f, 0.25f, 
+						   1, 6, 2, 0.5f, 
+						   0.5f, 2, 7, 1, 
+						   0.25f, 0.5f, 1, 8);
+		b4 = new Matrix4x4(0.5f, -1, 2, 0.25f, 
+						   0.25f, 3, -0.5f, 1, 
+						   1, 1, 1, -2, 
+						   0, 0.5f, -0.5f, 1);
+		affine4 = new Matrix4x4(0, -1, 0, 3, 
+								1, 0, 0, -2, 
+								0, 0, 1, 5, 
+								0, 0, 0, 1);
+		work4 = new Matrix4x4();
+	}
+	
+	private static Matrix2x2 reset(Matrix2x2 dest, Matrix2x2 src) {
+		return dest.set(src.m00, src.m01, src.m10, src.m11);
+	}
+	
+	private static Matrix3x3 reset(Matrix3x3 dest, Matrix3x3 src) {
+		return dest.set(src.m00, src.m01, src.m02, 
+						src.m10, src.m11, src.m12, 
+						src.m20, src.m21, src.m22);
+	}
+	
+	private static Matrix4x4 reset(Matrix4x4 dest, Matrix4x4 src) {
+		return dest.set(src.m00, src.m01, src.m02, src.m03, 
+						src.m10, src.m11, src.m12, src.m13, 
+						src.m20, src.m21, src.m22, src.m23, 
+						src.m30, src.m31, src.m32, src.m33);
+	}
+	
+	@Benchmark
+	public Matrix4x4 reset4x4() {
+		return reset(work4, a4);
+	}
+	
+	// 2x2
+	
+	@Benchmark
+	public Matrix2x2 multiply2x2() {
+		return reset(work2, a2).multiply(b2);
+	}
+	
+	@Benchmark
+	public Matrix2x2 transpose2x2() {
+		return reset(work2, a2).transpose();
+	}
+	
+	@Benchmark
+	public Matrix2x2 inverse2x2() {
+		return reset(work2, a2).inverse();
+	}
+	
+	@Benchmark
+	public Matrix2x2 power2x2() {
+		return reset(work2, a2).power(3);
+	}
+	
+	@Benchmark
+	public Vec2F solve2x2() {
+		return a2.solve(1, 2);
+	}
+	
+	// 3x3
+	
+	@Benchmark
+	public Matrix3x3 multiply3x3() {
+		return reset(work3, a3).multiply(b3);
+	}
+	
+	@Benchmark
+	public Matrix3x3 transpose3x3() {
+		return reset(work3, a3).transpose();
+	}
+	
+	@Benchmark
+	public Matrix3x3 inverse3x3() {
+		return reset(work3, a3).inverse();
+	}
+	
+	@Benchmark
+	public Matrix3x3 power3x3() {
+		return reset(work3, a3).power(3);
+	}
+	
+	@Benchmark
+	public Vec3F solve3x3() {
+		return a3.solve(1, 2, 3);
+	}
+	
+	// 4x4
+	
+	@Benchmark
+	public Matrix4x4 multiply4x4() {
+		return reset(work4, a4).multiply(b4);
+	}
+	
+	@Benchmark
+	public Matrix4x4 transpose4x4() {
+		return reset(work4, a4).transpose();
+	}
+	
+	@Benchmark
+	public Matrix4x4 inverse4x4() {
+		return reset(work4, a4).inverse();
+	}
+	
+	@Benchmark
+	public Matrix4x4 inverseClosedForm4x4() {
+		return reset(work4, a4).inverseClosedForm();
+	}
+	
+	@Benchmark
+	public Matrix4x4 inverseAffine4x4() {
+		return reset(work4, affine4).inverseAffine();
+	}
+	
+	@Benchmark
+	public Matrix4x4 inverseRigid4x4() {
+		return reset(work4, affine4).inverseRigid();
+	}
+	
+	@Benchmark
+	public Matrix4x4 power4x4() {
+		return reset(work4, a4).power(3);
+	}
+	
+	@Benchmark
+	public Vec4F solve4x4() {
+		return a4.solve(1, 2, 3, 4);
+	}
+}
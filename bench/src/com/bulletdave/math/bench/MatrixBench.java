@@ -0,0 +1,148 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: JMH benchmarks for the general Matrix class
+ */
+
+package com.bulletdave.math.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bulletdave.math.matrix.Matrix;
+
+
+/**
+ * Benchmarks the operations of Matrix from 2x2 up to 2048x2048.
+ * Every operation works in place, so each invocation starts from
+ * a fresh copy of the source matrix; the copy is part of both the
+ * timing and the allocation rate and is measured by copy() alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBench {
+	
+	@Param({"2", "4", "8", "16", "64", "256", "1024", "2048"})
+	public int size;
+	
+	private Matrix a;		// diagonally dominant, so solve and inverse succeed
+	private Matrix b;
+	private Matrix augmented;	// a with b's first column appended
+	private float x[];
+	private float y[];
+	
+	@Setup
+	public void setup() {
+		
+		Random random = new Random(42);
+		
+		a = new Matrix(size, size);
+		b = new Matrix(size, size);
+		augmented = new Matrix(size, size + 1);
+		x = new float[size];
+		y = new float[size];
+		
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				
+				float value = random.nextFloat() * 2 - 1;
+				if (i == j) {
+					value += size;
+				}
+				
+				a.set(i, j, value);
+				b.set(i, j, random.nextFloat() * 2 - 1);
+				augmented.set(i, j, value);
+			}
+			
+			augmented.set(i, size, b.get(i, 0));
+			x[i] = random.nextFloat();
+		}
+	}
+	
+	@Benchmark
+	public Matrix copy() {
+		return a.clone();
+	}
+	
+	@Benchmark
+	public Matrix multiply() {
+		return a.clone().multiply(b);
+	}
+	
+	@Benchmark
+	public float[] multiplyVector() {
+		a.multiply(x, y);
+		return y;
+	}
+	
+	@Benchmark
+	public Matrix transpose() {
+		return a.clone().transpose();
+	}
+	
+	@Benchmark
+	public Matrix solve() {
+		return augmented.clone().solve();
+	}
+	
+	@Benchmark
+	public Matrix inverse() {
+		return a.clone().inverse();
+	}
+	
+	@Benchmark
+	public Matrix power() {
+		return a.clone().power(3);
+	}
+}
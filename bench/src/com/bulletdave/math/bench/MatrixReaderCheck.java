@@ -0,0 +1,207 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: Fails when MatrixReader disagrees with Float.parseFloat
+ */
+
+package com.bulletdave.math.bench;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import com.bulletdave.math.matrix.Matrix;
+import com.bulletdave.math.matrix.MatrixReader;
+
+
+/**
+ * Writes decimals that are hard to round, such as values a hair away
+ * from the midpoint between two floats, reads them back with
+ * MatrixReader serially and in parallel, and compares every value
+ * with Float.parseFloat bit for bit. Also feeds it malformed Matrix
+ * Market files that must be rejected. Exits with status 1 on any failure.
+ */
+public final class MatrixReaderCheck {
+	
+	private static final int COLS = 100;		// values per row
+	private static final int ROWS = 2000;		// enough bytes to take the parallel path
+	
+	private MatrixReaderCheck() {
+	}
+	
+	// a decimal of 1 to 20 significant digits, mostly near a float rounding midpoint
+	private static String decimal(Random random) {
+		
+		float f = Float.intBitsToFloat(random.nextInt() & 0x7f7fffff);
+		if (Float.isNaN(f) || Float.isInfinite(f)) {
+			f = random.nextFloat();
+		}
+		
+		int digits = 1 + random.nextInt(20);
+		String s;
+		
+		switch (random.nextInt(4)) {
+		case 0:
+			// the exact midpoint, nudged either way and cut to some digits
+			BigDecimal mid = new BigDecimal(f).add(new BigDecimal(Math.nextUp(f))).divide(BigDecimal.valueOf(2));
+			BigDecimal nudge = new BigDecimal(Math.ulp(f)).movePointLeft(6 + random.nextInt(10));
+			mid = random.nextBoolean() ? mid.add(nudge) : mid.subtract(nudge);
+			s = mid.round(new MathContext(digits)).toString();
+			break;
+		case 1:
+			s = String.format("%." + digits + "g", (double) f);
+			break;
+		case 2:
+			s = Float.toString(f);
+			break;
+		default:
+			// small, plain numbers like most data files hold
+			s = BigDecimal.valueOf(random.nextInt(2000000) - 1000000, random.nextInt(8)).toPlainString();
+			break;
+		}
+		
+		return random.nextInt(8) == 0 && s.charAt(0) != '-' ? "-" + s : s;
+	}
+	
+	private static int checkFloats(File file) throws IOException {
+		
+		Random random = new Random(42);
+		String values[][] = new String[ROWS][COLS];
+		
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), "US-ASCII");
+		try {
+			for (int row = 0; row < ROWS; row++) {
+				for (int col = 0; col < COLS; col++) {
+					values[row][col] = decimal(random);
+					out.write(values[row][col]);
+					out.write(col + 1 < COLS ? ',' : '\n');
+				}
+			}
+		} finally {
+			out.close();
+		}
+		
+		int failures = 0;
+		
+		for (int pass = 0; pass < 2; pass++) {
+			
+			Matrix m = MatrixReader.readDelimited(file, ',', pass == 1);
+			
+			for (int row = 0; row < ROWS; row++) {
+				for (int col = 0; col < COLS; col++) {
+					
+					float expected = Float.parseFloat(values[row][col]);
+					float actual = m.get(row, col);
+					
+					if (Float.floatToIntBits(expected) != Float.floatToIntBits(actual)) {
+						if (failures++ < 10) {
+							System.out.println(values[row][col] + " read as " + actual + ", expected " + expected);
+						}
+					}
+				}
+			}
+		}
+		
+		System.out.println("Values checked: " + 2 * ROWS * COLS + ", wrong: " + failures);
+		return failures;
+	}
+	
+	// true if reading the text as a Matrix Market file fails with an IOException
+	private static boolean rejects(File file, String text) throws IOException {
+		
+		Writer out = new OutputStreamWriter(new FileOutputStream(file), "US-ASCII");
+		try {
+			out.write(text);
+		} finally {
+			out.close();
+		}
+		
+		try {
+			MatrixReader.readMatrixMarket(file, false);
+			return false;
+		} catch (IOException e) {
+			return true;
+		}
+	}
+	
+	private static int checkMalformed(File file) throws IOException {
+		
+		String header = "%%MatrixMarket matrix coordinate real general\n3 3 1\n";
+		String cases[] = {
+			header + "1 4 5.0\n",
+			header + "4 1 5.0\n",
+			header + "0 1 5.0\n",
+			header + "1 1 5.0\n2 2 5.0\n",
+			"%%MatrixMarket matrix coordinate real general\n3 3 2\n1 1 5.0\n",
+		};
+		
+		int failures = 0;
+		for (String text : cases) {
+			if (!rejects(file, text)) {
+				failures++;
+				System.out.println("Accepted malformed file:\n" + text);
+			}
+		}
+		
+		if (rejects(file, header + "3 3 5.0\n")) {
+			failures++;
+			System.out.println("Rejected a valid file");
+		}
+		
+		System.out.println("Malformed files checked: " + cases.length + ", accepted: " + failures);
+		return failures;
+	}
+	
+	public static void main(String args[]) throws IOException {
+		
+		File file = File.createTempFile("matrix", ".txt");
+		file.deleteOnExit();
+		
+		int failures = checkFloats(file) + checkMalformed(file);
+		file.delete();
+		
+		if (failures > 0) {
+			System.exit(1);
+		}
+		System.out.println("MatrixReader agrees with Float.parseFloat");
+	}
+}
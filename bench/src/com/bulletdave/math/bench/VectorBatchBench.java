@@ -0,0 +1,196 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: JMH benchmarks for vector methods over large arrays
+ */
+
+package com.bulletdave.math.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bulletdave.math.Compute;
+import com.bulletdave.math.vector.Vec2F;
+import com.bulletdave.math.vector.Vec3F;
+
+
+/**
+ * Benchmarks the vector methods over arrays of 1M vectors, the
+ * way particle and point cloud updates use them. Results are per
+ * element, so they compare directly with VectorBench; the gap
+ * between the two shows the cost of walking scattered objects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class VectorBatchBench {
+	
+	public static final int COUNT = 1 << 20;
+	
+	private Vec2F src2[], work2[];
+	private Vec3F src3[], work3[];
+	private Vec2F center2, a2, b2, c2;
+	private Vec3F center3, box3;
+	
+	@Setup
+	public void setup() {
+		
+		Random random = new Random(42);
+		
+		src2 = new Vec2F[COUNT];
+		work2 = new Vec2F[COUNT];
+		src3 = new Vec3F[COUNT];
+		work3 = new Vec3F[COUNT];
+		
+		for (int i = 0; i < COUNT; i++) {
+			src2[i] = new Vec2F(random.nextFloat() * 20 - 10, random.nextFloat() * 20 - 10);
+			work2[i] = new Vec2F();
+			src3[i] = new Vec3F(random.nextFloat() * 20 - 10, random.nextFloat() * 20 - 10, random.nextFloat() * 20 - 10);
+			work3[i] = new Vec3F();
+		}
+		
+		center2 = new Vec2F(1, -1);
+		a2 = new Vec2F(-5, -5);
+		b2 = new Vec2F(5, -5);
+		c2 = new Vec2F(0, 5);
+		center3 = new Vec3F(1, -1, 2);
+		box3 = new Vec3F(-5, -5, -5);
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public void normalize2() {
+		for (int i = 0; i < COUNT; i++) {
+			work2[i].set(src2[i]).normalize();
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public void rotate2() {
+		for (int i = 0; i < COUNT; i++) {
+			work2[i].set(src2[i]).rotate(center2, 0.01f);
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public void lerpRatio2() {
+		for (int i = 0; i < COUNT; i++) {
+			work2[i].set(src2[i]).lerpRatio(center2, 0.1f);
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int testPointInsideTriangle() {
+		
+		int inside = 0;
+		for (int i = 0; i < COUNT; i++) {
+			if (Compute.testPointInsideTriangle(src2[i], a2, b2, c2)) {
+				inside++;
+			}
+		}
+		
+		return inside;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int sidePointOn() {
+		
+		int left = 0;
+		for (int i = 0; i < COUNT; i++) {
+			if (Compute.sidePointOn(src2[i], a2, b2) > 0) {
+				left++;
+			}
+		}
+		
+		return left;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public void normalize3() {
+		for (int i = 0; i < COUNT; i++) {
+			work3[i].set(src3[i]).normalize();
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int testSphere3() {
+		
+		int inside = 0;
+		for (int i = 0; i < COUNT; i++) {
+			if (src3[i].testSphere(center3, 5)) {
+				inside++;
+			}
+		}
+		
+		return inside;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(COUNT)
+	public int testBoxAABB3() {
+		
+		int inside = 0;
+		for (int i = 0; i < COUNT; i++) {
+			if (src3[i].testBoxAABB(box3, 10, 10, 10)) {
+				inside++;
+			}
+		}
+		
+		return inside;
+	}
+}
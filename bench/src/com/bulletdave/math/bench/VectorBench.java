@@ -0,0 +1,201 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: JMH benchmarks for single vector and Compute calls
+ */
+
+package com.bulletdave.math.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bulletdave.math.Compute;
+import com.bulletdave.math.vector.Vec2F;
+import com.bulletdave.math.vector.Vec3F;
+import com.bulletdave.math.vector.Vec4F;
+
+
+/**
+ * Benchmarks one call of the vector and Compute methods used in
+ * inner loops. Methods that change the vector first reset a work
+ * vector from the source with set(), so every call does the same
+ * work and the reset does not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBench {
+	
+	private Vec2F p2, q2, work2;
+	private Vec2F a2, b2, c2;
+	private Vec3F p3, q3, work3, box3;
+	private Vec4F p4, q4, work4;
+	private float radians;
+	
+	@Setup
+	public void setup() {
+		
+		p2 = new Vec2F(3, 4);
+		q2 = new Vec2F(-1, 2);
+		work2 = new Vec2F();
+		a2 = new Vec2F(0, 0);
+		b2 = new Vec2F(10, 0);
+		c2 = new Vec2F(0, 10);
+		
+		p3 = new Vec3F(1, 2, 3);
+		q3 = new Vec3F(-2, 0.5f, 4);
+		work3 = new Vec3F();
+		box3 = new Vec3F(0, 0, 0);
+		
+		p4 = new Vec4F(1, 2, 3, 1);
+		q4 = new Vec4F(-2, 0.5f, 4, 1);
+		work4 = new Vec4F();
+		
+		radians = 0.7f;
+	}
+	
+	// Vec2F
+	
+	@Benchmark
+	public Vec2F normalize2() {
+		return work2.set(p2).normalize();
+	}
+	
+	@Benchmark
+	public Vec2F rotate2() {
+		return work2.set(p2).rotate(q2.x, q2.y, radians);
+	}
+	
+	@Benchmark
+	public Vec2F rotateAround2() {
+		return work2.set(p2).rotate(q2, radians);
+	}
+	
+	@Benchmark
+	public Vec2F lerpRatio2() {
+		return work2.set(p2).lerpRatio(q2, 0.25f);
+	}
+	
+	@Benchmark
+	public Vec2F lerpDistance2() {
+		return work2.set(p2).lerpDistance(q2, 1.5f);
+	}
+	
+	@Benchmark
+	public float magnitude2() {
+		return p2.getMagnitude(q2);
+	}
+	
+	@Benchmark
+	public float radian2() {
+		return p2.getRadian(q2);
+	}
+	
+	@Benchmark
+	public boolean testTriangle2() {
+		return p2.testTriangle(a2, b2, c2);
+	}
+	
+	// Compute
+	
+	@Benchmark
+	public float sidePointOn() {
+		return Compute.sidePointOn(p2, a2, b2);
+	}
+	
+	@Benchmark
+	public boolean testPointInsideTriangle() {
+		return Compute.testPointInsideTriangle(p2, a2, b2, c2);
+	}
+	
+	@Benchmark
+	public boolean testPointInsideCircle() {
+		return Compute.testPointInsideCircle(p2.x, p2.y, q2.x, q2.y, 5);
+	}
+	
+	// Vec3F
+	
+	@Benchmark
+	public Vec3F normalize3() {
+		return work3.set(p3).normalize();
+	}
+	
+	@Benchmark
+	public float dot3() {
+		return p3.getDotProduct(q3);
+	}
+	
+	@Benchmark
+	public Vec3F cross3() {
+		return p3.getCrossProduct(q3);
+	}
+	
+	@Benchmark
+	public boolean testSphere3() {
+		return p3.testSphere(q3, 4);
+	}
+	
+	@Benchmark
+	public boolean testBoxAABB3() {
+		return p3.testBoxAABB(box3, 2, 3, 4);
+	}
+	
+	// Vec4F
+	
+	@Benchmark
+	public Vec4F normalize4() {
+		return work4.set(p4).normalize();
+	}
+	
+	@Benchmark
+	public float dot4() {
+		return p4.getDotProduct(q4);
+	}
+}
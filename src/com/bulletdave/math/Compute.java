@@ -61,6 +61,32 @@ public class Compute {
 	public static final float PRECISION_LOSS = 2.0e-5f;
 	// ERROR is the accountable computational loss on float from math operations
 	
+	// numeric cleanup applied once at the end of matrix multiply, solve and inverse
+	public static final int CLEANUP_NONE			= 0;	// leave results exactly as computed
+	public static final int CLEANUP_SNAP_INTEGER	= 1;	// round products within ERROR of an integer
+	public static final int CLEANUP_NEGATIVE_ZERO	= 2;	// turn -0.0f into 0.0f after elimination
+	public static final int CLEANUP_DEFAULT		= CLEANUP_SNAP_INTEGER | CLEANUP_NEGATIVE_ZERO;
+	
+	private static volatile int cleanup = CLEANUP_DEFAULT;
+	
+	/**
+	 * Set the numeric cleanup used by the matrix classes, as a
+	 * combination of the CLEANUP flags. CLEANUP_NONE keeps the inner
+	 * loops free of rounding checks. Applies to every thread.
+	 * @param flags	The cleanup flags
+	 */
+	public static final void setCleanup(int flags) {
+		cleanup = flags & CLEANUP_DEFAULT;
+	}
+	
+	/**
+	 * Get the numeric cleanup used by the matrix classes
+	 * @return	The cleanup flags, CLEANUP_DEFAULT unless changed
+	 */
+	public static final int getCleanup() {
+		return cleanup;
+	}
+	
 	/**
 	 * Set the seed of the randomizer
 	 * @param seed	the randomizer seed
@@ -383,10 +409,16 @@ public class Compute {
 	 */
 	public static final float sidePointOn(Vec2F point, Vec2F start, Vec2F end) {
 		
-		Vec2F pointDiff = point.clone().negate(end);
-		Vec2F startDiff = start.clone().negate(end);
+		float px = point.x - end.x;
+		float py = point.y - end.y;
+		float sx = start.x - end.x;
+		float sy = start.y - end.y;
+		
+		if (Metrics.ENABLED) {
+			Metrics.count(Metrics.SIDE_POINT_ON);
+		}
 		
-		return startDiff.getCrossProduct(pointDiff);
+		return (py*sx - px*sy);
 	}
 	
 	/**
@@ -403,6 +435,10 @@ public class Compute {
 		boolean b2 = Compute.sidePointOn(point, b, c) > 0.0f;
 		boolean b3 = Compute.sidePointOn(point, c, a) > 0.0f;
 		
+		if (Metrics.ENABLED) {
+			Metrics.count(Metrics.POINT_IN_TRIANGLE);
+		}
+		
 		return (b1 == b2 && b2 == b3);
 	}
 	
@@ -422,6 +458,11 @@ public class Compute {
 		float yy 			= y - cy;
 		float distance 		= (float) (xx*xx + yy*yy);
 		float radius 		= (float) (cr*cr);
+		
+		if (Metrics.ENABLED) {
+			Metrics.count(Metrics.POINT_IN_SHAPE);
+		}
+		
 		return distance < radius;
 	}
 	
@@ -442,6 +483,11 @@ public class Compute {
 		float xx 			= x - cx;
 		float yy 			= y - cy;
 		float distance 		= (xx*xx)/(rw*rw) + (yy*yy)/(rh*rh);
+		
+		if (Metrics.ENABLED) {
+			Metrics.count(Metrics.POINT_IN_SHAPE);
+		}
+		
 		return distance < 1.0f;
 	}
 	
@@ -460,6 +506,10 @@ public class Compute {
 		float endX = bx + bw;
 		float endY = by + bh;
 		
+		if (Metrics.ENABLED) {
+			Metrics.count(Metrics.POINT_IN_SHAPE);
+		}
+		
 		return 	(x >= x) 	 	&&
 				(x <= endX) 	&&
 				(y >= y) 	 	&&
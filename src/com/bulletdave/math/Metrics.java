@@ -0,0 +1,376 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: Optional per-operation counters and latency histograms
+ */
+
+package com.bulletdave.math;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+
+public final class Metrics {
+	
+	/**
+	 * Whether metrics are recorded, set with -Dcom.bulletdave.math.metrics=true.
+	 * Being a static final, the JIT removes every guarded call when false.
+	 */
+	public static final boolean ENABLED = Boolean.getBoolean("com.bulletdave.math.metrics");
+	
+	public static final String OBJECT_NAME = "com.bulletdave.math:type=Metrics";
+	
+	// operations
+	public static final int MATRIX_MULTIPLY		= 0;	// Matrix.multiply(Matrix)
+	public static final int MATRIX_POWER		= 1;	// Matrix.power, its multiplies count too
+	public static final int MATRIX_SOLVE		= 2;	// Matrix.solve, every overload
+	public static final int MATRIX_INVERSE		= 3;	// Matrix.inverse
+	public static final int FIXED_MULTIPLY		= 4;	// Matrix2x2, 3x3 and 4x4 multiply
+	public static final int FIXED_SOLVE			= 5;	// Matrix2x2, 3x3 and 4x4 solve
+	public static final int FIXED_INVERSE		= 6;	// Matrix2x2, 3x3 and 4x4 inverse, every variant
+	public static final int SIDE_POINT_ON		= 7;	// Compute.sidePointOn
+	public static final int POINT_IN_TRIANGLE	= 8;	// Compute.testPointInsideTriangle
+	public static final int POINT_IN_SHAPE		= 9;	// Compute.testPointInsideCircle, Ellipse and Box
+	public static final int OPERATIONS			= 10;
+	
+	private static final String NAMES[] = {
+		"matrixMultiply", "matrixPower", "matrixSolve", "matrixInverse",
+		"fixedMultiply", "fixedSolve", "fixedInverse",
+		"sidePointOn", "pointInTriangle", "pointInShape"
+	};
+	
+	/**
+	 * Histogram buckets; bucket b holds latencies below 2^b nanoseconds,
+	 * the last one everything from about 9 minutes up.
+	 */
+	public static final int BUCKETS = 40;
+	
+	// per operation: count, nanoseconds, allocated bytes, then the buckets
+	private static final int COUNT = 0;
+	private static final int NANOS = 1;
+	private static final int BYTES = 2;
+	private static final int HISTOGRAM = 3;
+	private static final int FIELDS = HISTOGRAM + BUCKETS;
+	
+	// threads add to their own stripe, which are padded by 128 bytes
+	// so two stripes never share a cache line
+	private static final int STRIPES = stripes();
+	private static final int STRIDE = ((OPERATIONS * FIELDS + 15) & ~15) + 16;
+	
+	private static final AtomicLongArray COUNTERS = new AtomicLongArray(ENABLED ? STRIPES * STRIDE : 0);
+	
+	// the slow operation listener with its thresholds, replaced as a whole
+	private static volatile Watch watch;
+	
+	static {
+		if (ENABLED) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+			} catch (JMException e) {
+				// already registered by another class loader, the counters still work
+			}
+		}
+	}
+	
+	private Metrics() {
+	}
+	
+	// the smallest power of two with twice as many stripes as processors
+	private static int stripes() {
+		
+		int stripes = 1;
+		while (stripes < Runtime.getRuntime().availableProcessors() * 2) {
+			stripes <<= 1;
+		}
+		
+		return stripes;
+	}
+	
+	private static int base(int op) {
+		return ((int) Thread.currentThread().getId() & (STRIPES - 1)) * STRIDE + op * FIELDS;
+	}
+	
+	/**
+	 * Set the listener told about slow or large Matrix operations,
+	 * which works whether or not metrics are enabled. An operation is
+	 * reported when it takes at least minNanos or its result holds at
+	 * least minElements entries; pass Long.MAX_VALUE to ignore either.
+	 * @param listener		The listener, null to stop reporting
+	 * @param minNanos		The shortest duration reported
+	 * @param minElements	The smallest result reported, rows times columns
+	 */
+	public static void setSlowOperationListener(SlowOperationListener listener, long minNanos, long minElements) {
+		watch = listener == null ? null : new Watch(listener, minNanos, minElements);
+	}
+	
+	/**
+	 * Check if operations that report their dimensions should be timed,
+	 * which is when metrics are enabled or a slow operation listener is set
+	 * @return	true if such operations should call start() and record()
+	 */
+	public static boolean isTiming() {
+		return ENABLED || watch != null;
+	}
+	
+	/**
+	 * Start timing an operation. Guard the call with ENABLED or isTiming()
+	 * @return	The current time in nanoseconds, never 0 so that
+	 * 			0 can mark an operation that is not being timed
+	 */
+	public static long start() {
+		
+		long now = System.nanoTime();
+		return now != 0 ? now : 1;
+	}
+	
+	/**
+	 * Record one finished operation. Guard the call with ENABLED
+	 * @param op	The operation
+	 * @param start	The time returned by start()
+	 */
+	public static void record(int op, long start) {
+		record(op, start, 0);
+	}
+	
+	/**
+	 * Record one finished operation. Guard the call with ENABLED
+	 * @param op	The operation
+	 * @param start	The time returned by start()
+	 * @param bytes	The bytes of temporary storage the operation allocated
+	 */
+	public static void record(int op, long start, long bytes) {
+		count(op, System.nanoTime() - start, bytes);
+	}
+	
+	/**
+	 * Record one finished operation and report it to the slow operation
+	 * listener if it crosses a threshold. Guard the call with isTiming()
+	 * @param op	The operation
+	 * @param start	The time returned by start()
+	 * @param bytes	The bytes of temporary storage the operation allocated
+	 * @param rows	The row count of the result
+	 * @param cols	The column count of the result
+	 */
+	public static void record(int op, long start, long bytes, int rows, int cols) {
+		
+		long nanos = System.nanoTime() - start;
+		
+		if (ENABLED) {
+			count(op, nanos, bytes);
+		}
+		
+		Watch w = watch;
+		if (w != null && (nanos >= w.minNanos || (long) rows * cols >= w.minElements)) {
+			w.listener.slowOperation(NAMES[op], rows, cols, nanos);
+		}
+	}
+	
+	private static void count(int op, long nanos, long bytes) {
+		
+		int base = base(op);
+		
+		COUNTERS.incrementAndGet(base + COUNT);
+		COUNTERS.addAndGet(base + NANOS, nanos);
+		if (bytes != 0) {
+			COUNTERS.addAndGet(base + BYTES, bytes);
+		}
+		
+		int bucket = 64 - Long.numberOfLeadingZeros(nanos);
+		COUNTERS.incrementAndGet(base + HISTOGRAM + Math.min(bucket, BUCKETS - 1));
+	}
+	
+	/**
+	 * Count an operation too short to be worth timing. Guard the call with ENABLED
+	 * @param op	The operation
+	 */
+	public static void count(int op) {
+		COUNTERS.incrementAndGet(base(op) + COUNT);
+	}
+	
+	// the sum of one field across every stripe
+	private static long sum(int op, int field) {
+		
+		long sum = 0;
+		for (int s = 0; s < COUNTERS.length(); s += STRIDE) {
+			sum += COUNTERS.get(s + op * FIELDS + field);
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * Get the name of an operation, as shown over JMX
+	 * @param op	The operation
+	 * @return	The operation's name
+	 */
+	public static String getName(int op) {
+		return NAMES[op];
+	}
+	
+	/**
+	 * Get how many times an operation ran
+	 * @param op	The operation
+	 * @return	The count, 0 when metrics are disabled
+	 */
+	public static long getCount(int op) {
+		return sum(op, COUNT);
+	}
+	
+	/**
+	 * Get the total time spent in an operation
+	 * @param op	The operation
+	 * @return	The time in nanoseconds, 0 for counted only operations
+	 */
+	public static long getTotalNanos(int op) {
+		return sum(op, NANOS);
+	}
+	
+	/**
+	 * Get the bytes of temporary storage an operation allocated
+	 * @param op	The operation
+	 * @return	The allocated bytes, not counting object headers
+	 */
+	public static long getAllocatedBytes(int op) {
+		return sum(op, BYTES);
+	}
+	
+	/**
+	 * Get the latency histogram of an operation
+	 * @param op	The operation
+	 * @param dest	Receives BUCKETS counts, bucket b holding the
+	 * 				operations that took below 2^b nanoseconds
+	 * @return	A reference to dest
+	 */
+	public static long[] getHistogram(int op, long dest[]) {
+		
+		for (int b = 0; b < BUCKETS; b++) {
+			dest[b] = sum(op, HISTOGRAM + b);
+		}
+		
+		return dest;
+	}
+	
+	/**
+	 * Clear every counter. Operations running meanwhile may be
+	 * partly kept, as the stripes are cleared one by one.
+	 */
+	public static void reset() {
+		for (int i = 0; i < COUNTERS.length(); i++) {
+			COUNTERS.set(i, 0);
+		}
+	}
+	
+	private static final class Watch {
+		
+		final SlowOperationListener listener;
+		final long minNanos;
+		final long minElements;
+		
+		Watch(SlowOperationListener listener, long minNanos, long minElements) {
+			this.listener = listener;
+			this.minNanos = minNanos;
+			this.minElements = minElements;
+		}
+	}
+	
+	// publishes the counters over JMX
+	private static final class Bean implements MetricsMXBean {
+		
+		@Override
+		public boolean isEnabled() {
+			return ENABLED;
+		}
+		
+		@Override
+		public String[] getOperations() {
+			return NAMES.clone();
+		}
+		
+		@Override
+		public long[] getCounts() {
+			
+			long counts[] = new long[OPERATIONS];
+			for (int op = 0; op < OPERATIONS; op++) {
+				counts[op] = getCount(op);
+			}
+			
+			return counts;
+		}
+		
+		@Override
+		public long[] getTotalNanos() {
+			
+			long nanos[] = new long[OPERATIONS];
+			for (int op = 0; op < OPERATIONS; op++) {
+				nanos[op] = Metrics.getTotalNanos(op);
+			}
+			
+			return nanos;
+		}
+		
+		@Override
+		public long[] getAllocatedBytes() {
+			
+			long bytes[] = new long[OPERATIONS];
+			for (int op = 0; op < OPERATIONS; op++) {
+				bytes[op] = Metrics.getAllocatedBytes(op);
+			}
+			
+			return bytes;
+		}
+		
+		@Override
+		public long[] getHistogram(String operation) {
+			
+			for (int op = 0; op < OPERATIONS; op++) {
+				if (NAMES[op].equals(operation)) {
+					return Metrics.getHistogram(op, new long[BUCKETS]);
+				}
+			}
+			
+			return new long[0];
+		}
+		
+		@Override
+		public void reset() {
+			Metrics.reset();
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: JMX view of the library's operation metrics
+ */
+
+package com.bulletdave.math;
+
+
+/**
+ * The JMX interface of Metrics, registered as com.bulletdave.math:type=Metrics
+ * when metrics are enabled. The arrays are indexed like getOperations().
+ */
+public interface MetricsMXBean {
+	
+	/**
+	 * @return	true if metrics are being recorded
+	 */
+	boolean isEnabled();
+	
+	/**
+	 * @return	The names of the recorded operations
+	 */
+	String[] getOperations();
+	
+	/**
+	 * @return	How many times each operation ran
+	 */
+	long[] getCounts();
+	
+	/**
+	 * @return	The nanoseconds spent in each operation
+	 */
+	long[] getTotalNanos();
+	
+	/**
+	 * @return	The bytes of temporary storage each operation allocated
+	 */
+	long[] getAllocatedBytes();
+	
+	/**
+	 * @param operation	The name of an operation
+	 * @return	The operation's latency histogram, bucket b holding
+	 * 			the runs below 2^b nanoseconds, or an empty array
+	 * 			for an unknown name
+	 */
+	long[] getHistogram(String operation);
+	
+	/**
+	 * Clear every counter
+	 */
+	void reset();
+}
@@ -0,0 +1,130 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: Splits index ranges across a shared fork/join pool
+ */
+
+package com.bulletdave.math;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+
+public final class Parallel {
+	
+	public static final int THREADS = Runtime.getRuntime().availableProcessors();
+	
+	// worker threads are daemons, so the pool never keeps the VM alive
+	private static final ForkJoinPool POOL = new ForkJoinPool(THREADS);
+	
+	/**
+	 * A body of work over a half-open index range [from, to).
+	 */
+	public static abstract class Range {
+		
+		/**
+		 * Process the indices from (inclusive) to (exclusive).
+		 * @param from	The first index
+		 * @param to	One past the last index
+		 */
+		public abstract void run(int from, int to);
+	}
+	
+	private Parallel() {
+	}
+	
+	/**
+	 * Run a body over [from, to), splitting the range in halves
+	 * across the shared pool until each piece holds no more than
+	 * grain indices. Small ranges run on the calling thread.
+	 * Returns once every piece has finished.
+	 * @param from	The first index
+	 * @param to	One past the last index
+	 * @param grain	The largest piece handed to a single task
+	 * @param body	The work to run on each piece
+	 */
+	public static void forRange(int from, int to, int grain, Range body) {
+		
+		if (to <= from) return;
+		if (grain < 1) grain = 1;
+		
+		if (to - from <= grain || THREADS == 1) {
+			body.run(from, to);
+			return;
+		}
+		
+		RangeTask task = new RangeTask(from, to, grain, body);
+		
+		// nested calls split within the current pool
+		if (ForkJoinTask.inForkJoinPool()) {
+			task.invoke();
+		} else {
+			POOL.invoke(task);
+		}
+	}
+	
+	private static final class RangeTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int from;
+		private final int to;
+		private final int grain;
+		private final Range body;
+		
+		RangeTask(int from, int to, int grain, Range body) {
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+			this.body = body;
+		}
+		
+		@Override
+		protected void compute() {
+			
+			if (to - from <= grain) {
+				body.run(from, to);
+				return;
+			}
+			
+			int mid = (from + to) >>> 1;
+			invokeAll(new RangeTask(from, mid, grain, body),
+					  new RangeTask(mid, to, grain, body));
+		}
+	}
+}
@@ -0,0 +1,510 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: A rotation quaternion class
+ */
+
+package com.bulletdave.math;
+
+import com.bulletdave.math.matrix.Matrix3x3;
+import com.bulletdave.math.matrix.Matrix4x4;
+import com.bulletdave.math.vector.Vec3F;
+
+
+public class Quat4F {
+	
+	public float x;		// this Quat4F's i component
+	public float y;		// this Quat4F's j component
+	public float z;		// this Quat4F's k component
+	public float w;		// this Quat4F's scalar component
+	
+	/**
+	 * Default constructor sets the identity rotation (0, 0, 0, 1).
+	 */
+	public Quat4F() {
+		set(0, 0, 0, 1);
+	}
+	
+	/**
+	 * Construct a Quat4F with given (x, y, z, w).
+	 * @param x	A designated i component.
+	 * @param y	A designated j component.
+	 * @param z	A designated k component.
+	 * @param w	A designated scalar component.
+	 */
+	public Quat4F(float x, float y, float z, float w) {
+		set(x, y, z, w);
+	}
+	
+	/**
+	 * Copy constructor
+	 * @param quat	The quaternion to be copied
+	 */
+	public Quat4F(Quat4F quat) {
+		set(quat);
+	}
+	
+	/**
+	 * Set this Quat4F's components.
+	 * @param x	A designated i component.
+	 * @param y	A designated j component.
+	 * @param z	A designated k component.
+	 * @param w	A designated scalar component.
+	 * @return	A reference to this class
+	 */
+	public final Quat4F set(float x, float y, float z, float w) {
+		
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.w = w;
+		
+		return this;
+	}
+	
+	/**
+	 * Set this Quat4F's components to those of a given quaternion.
+	 * @param quat	A given quaternion to copy.
+	 * @return	A reference to this class
+	 */
+	public final Quat4F set(Quat4F quat) {
+		
+		this.x = quat.x;
+		this.y = quat.y;
+		this.z = quat.z;
+		this.w = quat.w;
+		
+		return this;
+	}
+	
+	/**
+	 * Set this Quat4F to the identity rotation.
+	 * @return	A reference to this class
+	 */
+	public final Quat4F setIdentity() {
+		return set(0, 0, 0, 1);
+	}
+	
+	/**
+	 * Set this Quat4F to a rotation around an axis.
+	 * The axis does not need to be normalized.
+	 * @param ax		The axis x direction
+	 * @param ay		The axis y direction
+	 * @param az		The axis z direction
+	 * @param radians	The angle of rotation in radians
+	 * @return	A reference to this class.
+	 * 			If the axis has no length, no change occurs.
+	 */
+	public final Quat4F setAxisAngle(float ax, float ay, float az, float radians) {
+		
+		float mag = (float) Math.sqrt(ax*ax + ay*ay + az*az);
+		if (mag == 0) return this;
+		
+		float half = radians * 0.5f;
+		float s = (float) Math.sin(half) / mag;
+		
+		return set(ax * s, ay * s, az * s, (float) Math.cos(half));
+	}
+	
+	/**
+	 * Set this Quat4F to a rotation around an axis.
+	 * @param axis		The axis of rotation
+	 * @param radians	The angle of rotation in radians
+	 * @return	A reference to this class.
+	 */
+	public final Quat4F setAxisAngle(Vec3F axis, float radians) {
+		return setAxisAngle(axis.x, axis.y, axis.z, radians);
+	}
+	
+	/**
+	 * Set this Quat4F from the rotation held in a matrix.
+	 * The matrix must be orthonormal.
+	 * @param m00	row 0, column 0
+	 * @param m01	row 0, column 1
+	 * @param m02	row 0, column 2
+	 * @param m10	row 1, column 0
+	 * @param m11	row 1, column 1
+	 * @param m12	row 1, column 2
+	 * @param m20	row 2, column 0
+	 * @param m21	row 2, column 1
+	 * @param m22	row 2, column 2
+	 * @return	A reference to this class.
+	 */
+	public final Quat4F setRotation(float m00, float m01, float m02,
+									float m10, float m11, float m12,
+									float m20, float m21, float m22) {
+		
+		float trace = m00 + m11 + m22;
+		
+		// pick the largest component to divide by
+		if (trace > 0) {
+			float s = (float) Math.sqrt(trace + 1) * 2;
+			return set((m21 - m12) / s, (m02 - m20) / s, (m10 - m01) / s, 0.25f * s);
+		}
+		
+		if (m00 > m11 && m00 > m22) {
+			float s = (float) Math.sqrt(1 + m00 - m11 - m22) * 2;
+			return set(0.25f * s, (m01 + m10) / s, (m02 + m20) / s, (m21 - m12) / s);
+		}
+		
+		if (m11 > m22) {
+			float s = (float) Math.sqrt(1 + m11 - m00 - m22) * 2;
+			return set((m01 + m10) / s, 0.25f * s, (m12 + m21) / s, (m02 - m20) / s);
+		}
+		
+		float s = (float) Math.sqrt(1 + m22 - m00 - m11) * 2;
+		return set((m02 + m20) / s, (m12 + m21) / s, 0.25f * s, (m10 - m01) / s);
+	}
+	
+	/**
+	 * Set this Quat4F from a rotation matrix.
+	 * @param m	An orthonormal rotation matrix
+	 * @return	A reference to this class.
+	 */
+	public final Quat4F set(Matrix3x3 m) {
+		return setRotation(m.m00, m.m01, m.m02,
+						   m.m10, m.m11, m.m12,
+						   m.m20, m.m21, m.m22);
+	}
+	
+	/**
+	 * Set this Quat4F from the upper 3x3 rotation of a transform.
+	 * @param m	A transform without scale
+	 * @return	A reference to this class.
+	 */
+	public final Quat4F set(Matrix4x4 m) {
+		return setRotation(m.m00, m.m01, m.m02,
+						   m.m10, m.m11, m.m12,
+						   m.m20, m.m21, m.m22);
+	}
+	
+	/**
+	 * Calculates the squared length of this Quat4F.
+	 * @return	The magnitude squared
+	 */
+	public final float getMagnitudeSquared() {
+		return (x*x + y*y + z*z + w*w);
+	}
+	
+	/**
+	 * Calculates the length of this Quat4F.
+	 * @return	The magnitude
+	 */
+	public final float getMagnitude() {
+		return (float) Math.sqrt(getMagnitudeSquared());
+	}
+	
+	/**
+	 * Calculates this Quat4F's dot product with a given quaternion.
+	 * @param quat	A given quaternion
+	 * @return	The dot product between both quaternions.
+	 */
+	public final float getDotProduct(Quat4F quat) {
+		return (quat.x*x + quat.y*y + quat.z*z + quat.w*w);
+	}
+	
+	/**
+	 * Multiply this Quat4F by a given quaternion (this = this * q).
+	 * The result rotates by q first, then by this.
+	 * @param q	The quaternion to multiply by
+	 * @return	A reference to this class.
+	 */
+	public final Quat4F multiply(Quat4F q) {
+		return multiply(this, q);
+	}
+	
+	/**
+	 * Pre-multiply this Quat4F by a given quaternion (this = q * this).
+	 * The result rotates by this first, then by q.
+	 * @param q	The quaternion to multiply by
+	 * @return	A reference to this class.
+	 */
+	public final Quat4F preMultiply(Quat4F q) {
+		return multiply(q, this);
+	}
+	
+	/**
+	 * Store the product of two quaternions (this = a * b).
+	 * Either quaternion may be this one.
+	 * @param a	The left quaternion
+	 * @param b	The right quaternion
+	 * @return	A reference to this class.
+	 */
+	public final Quat4F multiply(Quat4F a, Quat4F b) {
+		
+		float ax = a.x, ay = a.y, az = a.z, aw = a.w;
+		float bx = b.x, by = b.y, bz = b.z, bw = b.w;
+		
+		return set(aw*bx + ax*bw + ay*bz - az*by,
+				   aw*by - ax*bz + ay*bw + az*bx,
+				   aw*bz + ax*by - ay*bx + az*bw,
+				   aw*bw - ax*bx - ay*by - az*bz);
+	}
+	
+	/**
+	 * Conjugate this Quat4F. For a unit quaternion this is
+	 * the inverse rotation.
+	 * @return	A reference to this class.
+	 */
+	public final Quat4F conjugate() {
+		
+		x = -x;
+		y = -y;
+		z = -z;
+		
+		return this;
+	}
+	
+	/**
+	 * Invert this Quat4F.
+	 * @return	A reference to this class.
+	 * 			If the quaternion has no length, no change occurs.
+	 */
+	public final Quat4F inverse() {
+		
+		float magSq = getMagnitudeSquared();
+		if (magSq == 0) return this;
+		
+		float inv = 1.0f / magSq;
+		return set(-x * inv, -y * inv, -z * inv, w * inv);
+	}
+	
+	/**
+	 * Normalize this Quat4F to unit length.
+	 * @return	A reference to this class.
+	 * 			If the quaternion has no length, no change occurs.
+	 */
+	public final Quat4F normalize() {
+		
+		float magSq = getMagnitudeSquared();
+		if (magSq == 0) return this;
+		
+		float inv = (float) (1.0 / Math.sqrt(magSq));
+		return set(x * inv, y * inv, z * inv, w * inv);
+	}
+	
+	/**
+	 * Linearly interpolate between two quaternions along the shortest
+	 * path and normalize the result. Cheaper than slerp, but the
+	 * angular speed is not constant.
+	 * Either quaternion may be this one.
+	 * @param a	The starting rotation
+	 * @param b	The ending rotation
+	 * @param t	The interpolation amount from 0 to 1
+	 * @return	A reference to this class.
+	 */
+	public final Quat4F nlerp(Quat4F a, Quat4F b, float t) {
+		
+		float bx = b.x, by = b.y, bz = b.z, bw = b.w;
+		
+		// take the shortest path around the hypersphere
+		if (a.x*bx + a.y*by + a.z*bz + a.w*bw < 0) {
+			bx = -bx;	by = -by;	bz = -bz;	bw = -bw;
+		}
+		
+		float s = 1 - t;
+		set(a.x*s + bx*t, a.y*s + by*t, a.z*s + bz*t, a.w*s + bw*t);
+		
+		return normalize();
+	}
+	
+	/**
+	 * Spherically interpolate between two unit quaternions along the
+	 * shortest path at constant angular speed. Nearly parallel rotations
+	 * fall back to nlerp.
+	 * Either quaternion may be this one.
+	 * @param a	The starting rotation
+	 * @param b	The ending rotation
+	 * @param t	The interpolation amount from 0 to 1
+	 * @return	A reference to this class.
+	 */
+	public final Quat4F slerp(Quat4F a, Quat4F b, float t) {
+		
+		float bx = b.x, by = b.y, bz = b.z, bw = b.w;
+		float cos = a.x*bx + a.y*by + a.z*bz + a.w*bw;
+		
+		// take the shortest path around the hypersphere
+		if (cos < 0) {
+			cos = -cos;
+			bx = -bx;	by = -by;	bz = -bz;	bw = -bw;
+		}
+		
+		float s0 = 1 - t;
+		float s1 = t;
+		
+		// sin(theta) is too small to divide by
+		if (cos < 0.9995f) {
+			double theta = Math.acos(cos);
+			double invSin = 1.0 / Math.sin(theta);
+			s0 = (float) (Math.sin(s0 * theta) * invSin);
+			s1 = (float) (Math.sin(s1 * theta) * invSin);
+		}
+		
+		set(a.x*s0 + bx*s1, a.y*s0 + by*s1, a.z*s0 + bz*s1, a.w*s0 + bw*s1);
+		
+		return cos < 0.9995f ? this : normalize();
+	}
+	
+	/**
+	 * Rotate a vector in place by this unit Quat4F.
+	 * @param v	The vector to rotate
+	 * @return	A reference to the given vector.
+	 */
+	public final Vec3F rotate(Vec3F v) {
+		return rotate(v, v);
+	}
+	
+	/**
+	 * Rotate a vector by this unit Quat4F into a destination vector.
+	 * The source and destination may be the same vector.
+	 * @param src	The vector to rotate
+	 * @param dest	The vector to store the result in
+	 * @return	A reference to the destination vector.
+	 */
+	public final Vec3F rotate(Vec3F src, Vec3F dest) {
+		
+		float vx = src.x, vy = src.y, vz = src.z;
+		
+		// t = 2 * (q x v)
+		float tx = 2 * (y*vz - z*vy);
+		float ty = 2 * (z*vx - x*vz);
+		float tz = 2 * (x*vy - y*vx);
+		
+		// v' = v + w * t + q x t
+		dest.x = vx + w*tx + (y*tz - z*ty);
+		dest.y = vy + w*ty + (z*tx - x*tz);
+		dest.z = vz + w*tz + (x*ty - y*tx);
+		
+		return dest;
+	}
+	
+	/**
+	 * Store the rotation of this unit Quat4F in a matrix.
+	 * @param dest	The matrix to store the rotation in
+	 * @return	A reference to the given matrix.
+	 */
+	public final Matrix3x3 toMatrix(Matrix3x3 dest) {
+		
+		float xx = x*x, yy = y*y, zz = z*z;
+		float xy = x*y, xz = x*z, yz = y*z;
+		float wx = w*x, wy = w*y, wz = w*z;
+		
+		return dest.set(1 - 2*(yy + zz), 2*(xy - wz), 	  2*(xz + wy),
+						2*(xy + wz), 	 1 - 2*(xx + zz), 2*(yz - wx),
+						2*(xz - wy), 	 2*(yz + wx), 	  1 - 2*(xx + yy));
+	}
+	
+	/**
+	 * Store the rotation of this unit Quat4F in the upper 3x3 of a
+	 * matrix, leaving its translation column and bottom row untouched.
+	 * @param dest	The matrix to store the rotation in
+	 * @return	A reference to the given matrix.
+	 */
+	public final Matrix4x4 toMatrix(Matrix4x4 dest) {
+		
+		float xx = x*x, yy = y*y, zz = z*z;
+		float xy = x*y, xz = x*z, yz = y*z;
+		float wx = w*x, wy = w*y, wz = w*z;
+		
+		dest.m00 = 1 - 2*(yy + zz);	dest.m01 = 2*(xy - wz);		dest.m02 = 2*(xz + wy);
+		dest.m10 = 2*(xy + wz);		dest.m11 = 1 - 2*(xx + zz);	dest.m12 = 2*(yz - wx);
+		dest.m20 = 2*(xz - wy);		dest.m21 = 2*(yz + wx);		dest.m22 = 1 - 2*(xx + yy);
+		
+		return dest;
+	}
+	
+	@Override
+	public Quat4F clone() {
+		return new Quat4F(this);
+	}
+	
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Float.floatToIntBits(x);
+		result = prime * result + Float.floatToIntBits(y);
+		result = prime * result + Float.floatToIntBits(z);
+		result = prime * result + Float.floatToIntBits(w);
+		return result;
+	}
+	
+	@Override
+	public String toString() {
+		return "{" + x + ", " + y + ", " + z + ", " + w + "}";
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		
+		if (obj == null) return false;
+		if (obj == this) return true;
+		if (!(obj instanceof Quat4F)) return false;
+		
+		return equals((Quat4F) obj);
+	}
+	
+	/**
+	 * Test for equality. Factors in loss of floating point 
+	 * precision after arithmetic operations.
+	 * @param quat	A quaternion to test for equality with this Quat4F.
+	 * @return	true if every component is within Compute.ERROR.
+	 */
+	public final boolean equals(Quat4F quat) {
+
+		return ((x + Compute.ERROR >= quat.x && x - Compute.ERROR <= quat.x) &&
+				(y + Compute.ERROR >= quat.y && y - Compute.ERROR <= quat.y) &&
+				(z + Compute.ERROR >= quat.z && z - Compute.ERROR <= quat.z) &&
+				(w + Compute.ERROR >= quat.w && w - Compute.ERROR <= quat.w));
+	}
+	
+	/**
+	 * Prints the value of this Quat4F's members.
+	 * Quat4F(x, y, z, w)
+	 */
+	public void print() {
+		System.out.print(toString());
+	}
+	
+	/**
+	 * Prints the value of this Quat4F's members, and adds a new line.
+	 * Quat4F(x, y, z, w)
+	 */
+	public void println() {
+		System.out.println(toString());
+	}
+}
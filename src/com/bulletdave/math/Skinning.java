@@ -0,0 +1,327 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: Linear-blend and dual-quaternion skinning over packed arrays
+ */
+
+package com.bulletdave.math;
+
+import com.bulletdave.math.matrix.Matrix4x4;
+
+
+public class Skinning {
+	
+	public static final int MATRIX_STRIDE 	= 12;	// floats per bone, rows 0-2 of a 4x4
+	public static final int DUAL_QUAT_STRIDE = 8;	// floats per bone, real xyzw then dual xyzw
+	public static final int GRAIN 			= 1024;	// vertices per parallel task
+	
+	private final float positions[];	// bind pose xyz per vertex
+	private final float normals[];		// bind pose xyz per vertex, or null
+	private final int indices[];		// bone index per influence
+	private final float weights[];		// bone weight per influence
+	private final int influences;		// influences per vertex
+	private final int vertexCount;
+	
+	/**
+	 * Construct a skinning kernel over a bind pose mesh. The arrays are
+	 * referenced, not copied. Vertex v uses the bone indices and weights
+	 * at [v * influences, (v + 1) * influences); unused influences should
+	 * carry a weight of 0. Weights of a vertex are expected to sum to 1.
+	 * @param positions		bind pose positions, packed x, y, z
+	 * @param normals		bind pose normals, packed x, y, z, or null
+	 * @param indices		bone indices per influence
+	 * @param weights		bone weights per influence
+	 * @param influences	number of influences per vertex
+	 */
+	public Skinning(float positions[], float normals[], int indices[], float weights[], int influences) {
+		
+		this.positions = positions;
+		this.normals = normals;
+		this.indices = indices;
+		this.weights = weights;
+		this.influences = influences;
+		this.vertexCount = positions.length / 3;
+	}
+	
+	/**
+	 * Returns the number of vertices in the bind pose.
+	 * @return	The vertex count
+	 */
+	public final int getVertexCount() {
+		return vertexCount;
+	}
+	
+	/**
+	 * Pack the top three rows of a bone transform into a matrix palette.
+	 * @param palette	The palette, MATRIX_STRIDE floats per bone
+	 * @param bone		The bone index
+	 * @param m			The affine bone transform
+	 */
+	public static void setMatrix(float palette[], int bone, Matrix4x4 m) {
+		
+		int o = bone * MATRIX_STRIDE;
+		
+		palette[o] 	   = m.m00;	palette[o + 1]  = m.m01;	palette[o + 2]  = m.m02;	palette[o + 3]  = m.m03;
+		palette[o + 4] = m.m10;	palette[o + 5]  = m.m11;	palette[o + 6]  = m.m12;	palette[o + 7]  = m.m13;
+		palette[o + 8] = m.m20;	palette[o + 9]  = m.m21;	palette[o + 10] = m.m22;	palette[o + 11] = m.m23;
+	}
+	
+	/**
+	 * Pack a rotation followed by a translation into a dual quaternion palette.
+	 * @param palette	The palette, DUAL_QUAT_STRIDE floats per bone
+	 * @param bone		The bone index
+	 * @param q			The unit rotation
+	 * @param tx		The translation x
+	 * @param ty		The translation y
+	 * @param tz		The translation z
+	 */
+	public static void setDualQuat(float palette[], int bone, Quat4F q, float tx, float ty, float tz) {
+		
+		int o = bone * DUAL_QUAT_STRIDE;
+		
+		palette[o] 	   = q.x;
+		palette[o + 1] = q.y;
+		palette[o + 2] = q.z;
+		palette[o + 3] = q.w;
+		
+		// dual part = 0.5 * (t, 0) * q
+		palette[o + 4] =  0.5f * ( tx*q.w + ty*q.z - tz*q.y);
+		palette[o + 5] =  0.5f * (-tx*q.z + ty*q.w + tz*q.x);
+		palette[o + 6] =  0.5f * ( tx*q.y - ty*q.x + tz*q.w);
+		palette[o + 7] = -0.5f * ( tx*q.x + ty*q.y + tz*q.z);
+	}
+	
+	/**
+	 * Pack a rigid bone transform into a dual quaternion palette.
+	 * @param palette	The palette, DUAL_QUAT_STRIDE floats per bone
+	 * @param bone		The bone index
+	 * @param m			The rigid bone transform (rotation and translation only)
+	 * @param scratch	A quaternion to hold the extracted rotation
+	 */
+	public static void setDualQuat(float palette[], int bone, Matrix4x4 m, Quat4F scratch) {
+		setDualQuat(palette, bone, scratch.set(m).normalize(), m.m03, m.m13, m.m23);
+	}
+	
+	/**
+	 * Deform the whole mesh by blending bone matrices, split across
+	 * the shared pool. Output arrays may be the bind pose arrays.
+	 * Normals are transformed by the blended upper 3x3 and renormalized,
+	 * so bone transforms should not hold non-uniform scale.
+	 * @param palette		MATRIX_STRIDE floats per bone
+	 * @param outPositions	deformed positions, packed x, y, z
+	 * @param outNormals	deformed normals, packed x, y, z, or null to skip
+	 */
+	public final void linearBlend(final float palette[], final float outPositions[], final float outNormals[]) {
+		
+		Parallel.forRange(0, vertexCount, GRAIN, new Parallel.Range() {
+			@Override
+			public void run(int from, int to) {
+				linearBlend(palette, outPositions, outNormals, from, to);
+			}
+		});
+	}
+	
+	/**
+	 * Deform vertices [from, to) by blending bone matrices on the calling thread.
+	 * @param palette		MATRIX_STRIDE floats per bone
+	 * @param outPositions	deformed positions, packed x, y, z
+	 * @param outNormals	deformed normals, packed x, y, z, or null to skip
+	 * @param from			The first vertex
+	 * @param to			One past the last vertex
+	 */
+	public final void linearBlend(float palette[], float outPositions[], float outNormals[], int from, int to) {
+		
+		boolean doNormals = normals != null && outNormals != null;
+		
+		for (int v = from; v < to; v++) {
+			
+			float a00 = 0, a01 = 0, a02 = 0, a03 = 0;
+			float a10 = 0, a11 = 0, a12 = 0, a13 = 0;
+			float a20 = 0, a21 = 0, a22 = 0, a23 = 0;
+			
+			int base = v * influences;
+			for (int k = 0; k < influences; k++) {
+				
+				float w = weights[base + k];
+				if (w == 0) continue;
+				
+				int o = indices[base + k] * MATRIX_STRIDE;
+				
+				a00 += w * palette[o];		a01 += w * palette[o + 1];	a02 += w * palette[o + 2];	a03 += w * palette[o + 3];
+				a10 += w * palette[o + 4];	a11 += w * palette[o + 5];	a12 += w * palette[o + 6];	a13 += w * palette[o + 7];
+				a20 += w * palette[o + 8];	a21 += w * palette[o + 9];	a22 += w * palette[o + 10];	a23 += w * palette[o + 11];
+			}
+			
+			int p = v * 3;
+			float x = positions[p], y = positions[p + 1], z = positions[p + 2];
+			
+			outPositions[p] 	= a00*x + a01*y + a02*z + a03;
+			outPositions[p + 1] = a10*x + a11*y + a12*z + a13;
+			outPositions[p + 2] = a20*x + a21*y + a22*z + a23;
+			
+			if (doNormals) {
+				
+				x = normals[p];	y = normals[p + 1];	z = normals[p + 2];
+				
+				float nx = a00*x + a01*y + a02*z;
+				float ny = a10*x + a11*y + a12*z;
+				float nz = a20*x + a21*y + a22*z;
+				
+				storeNormal(outNormals, p, nx, ny, nz);
+			}
+		}
+	}
+	
+	/**
+	 * Deform the whole mesh by blending bone dual quaternions, split
+	 * across the shared pool. Output arrays may be the bind pose arrays.
+	 * Unlike linear blending, joints keep their volume under twist.
+	 * @param palette		DUAL_QUAT_STRIDE floats per bone, unit real parts
+	 * @param outPositions	deformed positions, packed x, y, z
+	 * @param outNormals	deformed normals, packed x, y, z, or null to skip
+	 */
+	public final void dualQuaternion(final float palette[], final float outPositions[], final float outNormals[]) {
+		
+		Parallel.forRange(0, vertexCount, GRAIN, new Parallel.Range() {
+			@Override
+			public void run(int from, int to) {
+				dualQuaternion(palette, outPositions, outNormals, from, to);
+			}
+		});
+	}
+	
+	/**
+	 * Deform vertices [from, to) by blending bone dual quaternions on the calling thread.
+	 * @param palette		DUAL_QUAT_STRIDE floats per bone, unit real parts
+	 * @param outPositions	deformed positions, packed x, y, z
+	 * @param outNormals	deformed normals, packed x, y, z, or null to skip
+	 * @param from			The first vertex
+	 * @param to			One past the last vertex
+	 */
+	public final void dualQuaternion(float palette[], float outPositions[], float outNormals[], int from, int to) {
+		
+		boolean doNormals = normals != null && outNormals != null;
+		
+		for (int v = from; v < to; v++) {
+			
+			float rx = 0, ry = 0, rz = 0, rw = 0;
+			float dx = 0, dy = 0, dz = 0, dw = 0;
+			
+			// the first influence picks the hemisphere the others blend into
+			int base = v * influences;
+			int first = indices[base] * DUAL_QUAT_STRIDE;
+			float fx = palette[first], fy = palette[first + 1];
+			float fz = palette[first + 2], fw = palette[first + 3];
+			
+			for (int k = 0; k < influences; k++) {
+				
+				float w = weights[base + k];
+				if (w == 0) continue;
+				
+				int o = indices[base + k] * DUAL_QUAT_STRIDE;
+				
+				if (fx*palette[o] + fy*palette[o + 1] + fz*palette[o + 2] + fw*palette[o + 3] < 0) {
+					w = -w;
+				}
+				
+				rx += w * palette[o];		ry += w * palette[o + 1];
+				rz += w * palette[o + 2];	rw += w * palette[o + 3];
+				dx += w * palette[o + 4];	dy += w * palette[o + 5];
+				dz += w * palette[o + 6];	dw += w * palette[o + 7];
+			}
+			
+			float magSq = rx*rx + ry*ry + rz*rz + rw*rw;
+			// no influences leaves the vertex in its bind pose
+			if (magSq == 0) {
+				rw = 1;
+				magSq = 1;
+			}
+			
+			float inv = (float) (1.0 / Math.sqrt(magSq));
+			rx *= inv;	ry *= inv;	rz *= inv;	rw *= inv;
+			dx *= inv;	dy *= inv;	dz *= inv;	dw *= inv;
+			
+			// translation = 2 * (rw * d - dw * r + r x d)
+			float tx = 2 * (rw*dx - dw*rx + ry*dz - rz*dy);
+			float ty = 2 * (rw*dy - dw*ry + rz*dx - rx*dz);
+			float tz = 2 * (rw*dz - dw*rz + rx*dy - ry*dx);
+			
+			int p = v * 3;
+			float x = positions[p], y = positions[p + 1], z = positions[p + 2];
+			
+			// rotate: v + rw * c + r x c, with c = 2 * (r x v)
+			float cx = 2 * (ry*z - rz*y);
+			float cy = 2 * (rz*x - rx*z);
+			float cz = 2 * (rx*y - ry*x);
+			
+			outPositions[p] 	= x + rw*cx + (ry*cz - rz*cy) + tx;
+			outPositions[p + 1] = y + rw*cy + (rz*cx - rx*cz) + ty;
+			outPositions[p + 2] = z + rw*cz + (rx*cy - ry*cx) + tz;
+			
+			if (doNormals) {
+				
+				x = normals[p];	y = normals[p + 1];	z = normals[p + 2];
+				
+				cx = 2 * (ry*z - rz*y);
+				cy = 2 * (rz*x - rx*z);
+				cz = 2 * (rx*y - ry*x);
+				
+				outNormals[p] 	  = x + rw*cx + (ry*cz - rz*cy);
+				outNormals[p + 1] = y + rw*cy + (rz*cx - rx*cz);
+				outNormals[p + 2] = z + rw*cz + (rx*cy - ry*cx);
+			}
+		}
+	}
+	
+	/**
+	 * Store a normal at a packed offset, scaled to unit length.
+	 * A zero length normal is stored as is.
+	 */
+	private static void storeNormal(float out[], int p, float nx, float ny, float nz) {
+		
+		float magSq = nx*nx + ny*ny + nz*nz;
+		
+		if (magSq != 0) {
+			float inv = (float) (1.0 / Math.sqrt(magSq));
+			nx *= inv;	ny *= inv;	nz *= inv;
+		}
+		
+		out[p] 	   = nx;
+		out[p + 1] = ny;
+		out[p + 2] = nz;
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: Solves many small independent linear systems at once
+ */
+
+package com.bulletdave.math.matrix;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.bulletdave.math.Parallel;
+
+
+/**
+ * Systems are stored as planes of count floats, in the same structure
+ * of arrays layout as Matrix4x4Batch: element (r, c) of system i is
+ * a[(r * SIZE + c) * count + i], entry r of its right hand side is
+ * b[r * count + i] and entry r of its solution is x[r * count + i].
+ * Every system runs the same straight line code, so the loops over i
+ * have no data dependent branches and can be vectorized.
+ */
+public final class BatchSolver {
+	
+	public static final int GRAIN = 4096;	// systems per parallel task
+	
+	private BatchSolver() {
+	}
+	
+	/**
+	 * Solve count 3x3 systems (A x = b), split across the shared pool.
+	 * @param a		The coefficients, 9 planes of count floats
+	 * @param b		The right hand sides, 3 planes of count floats
+	 * @param x		The solutions, 3 planes of count floats, can be b
+	 * @param count	The amount of systems
+	 * @return	The amount of singular systems, whose solutions are zero
+	 */
+	public static int solve3x3(float a[], float b[], float x[], int count) {
+		return solve(3, a, b, x, count);
+	}
+	
+	/**
+	 * Solve systems [from, to) of count 3x3 systems (A x = b) with
+	 * the cofactors on the calling thread.
+	 * @param a		The coefficients, 9 planes of count floats
+	 * @param b		The right hand sides, 3 planes of count floats
+	 * @param x		The solutions, 3 planes of count floats, can be b
+	 * @param count	The amount of systems, the length of a plane
+	 * @param from	The first system (inclusive)
+	 * @param to	The last system (exclusive)
+	 * @return	The amount of singular systems, whose solutions are zero
+	 */
+	public static int solve3x3(float a[], float b[], float x[], int count, int from, int to) {
+		
+		int singular = 0;
+		for (int i = from; i < to; i++) {
+			
+			float a00 = a[i], 			  a01 = a[count + i], 	  a02 = a[2 * count + i];
+			float a10 = a[3 * count + i], a11 = a[4 * count + i], a12 = a[5 * count + i];
+			float a20 = a[6 * count + i], a21 = a[7 * count + i], a22 = a[8 * count + i];
+			
+			float b0 = b[i], b1 = b[count + i], b2 = b[2 * count + i];
+			
+			float c00 = a11*a22 - a12*a21;
+			float c01 = a12*a20 - a10*a22;
+			float c02 = a10*a21 - a11*a20;
+			
+			float det = a00*c00 + a01*c01 + a02*c02;
+			
+			// a singular system solves to zero instead of branching out
+			float inv = det == 0 ? 0 : 1.0f / det;
+			singular += det == 0 ? 1 : 0;
+			
+			x[i] 			 = (c00*b0 + (a02*a21 - a01*a22)*b1 + (a01*a12 - a02*a11)*b2) * inv;
+			x[count + i] 	 = (c01*b0 + (a00*a22 - a02*a20)*b1 + (a02*a10 - a00*a12)*b2) * inv;
+			x[2 * count + i] = (c02*b0 + (a01*a20 - a00*a21)*b1 + (a00*a11 - a01*a10)*b2) * inv;
+		}
+		
+		return singular;
+	}
+	
+	/**
+	 * Solve count 4x4 systems (A x = b), split across the shared pool.
+	 * @param a		The coefficients, 16 planes of count floats
+	 * @param b		The right hand sides, 4 planes of count floats
+	 * @param x		The solutions, 4 planes of count floats, can be b
+	 * @param count	The amount of systems
+	 * @return	The amount of singular systems, whose solutions are zero
+	 */
+	public static int solve4x4(float a[], float b[], float x[], int count) {
+		return solve(4, a, b, x, count);
+	}
+	
+	/**
+	 * Solve systems [from, to) of count 4x4 systems (A x = b) with the
+	 * cofactors on the calling thread. The 2x2 sub-determinants of the
+	 * two top and two bottom rows are shared by all of the cofactors.
+	 * @param a		The coefficients, 16 planes of count floats
+	 * @param b		The right hand sides, 4 planes of count floats
+	 * @param x		The solutions, 4 planes of count floats, can be b
+	 * @param count	The amount of systems, the length of a plane
+	 * @param from	The first system (inclusive)
+	 * @param to	The last system (exclusive)
+	 * @return	The amount of singular systems, whose solutions are zero
+	 */
+	public static int solve4x4(float a[], float b[], float x[], int count, int from, int to) {
+		
+		int singular = 0;
+		for (int i = from; i < to; i++) {
+			
+			float a00 = a[i], 			   a01 = a[count + i], 		a02 = a[2 * count + i],  a03 = a[3 * count + i];
+			float a10 = a[4 * count + i],  a11 = a[5 * count + i], 	a12 = a[6 * count + i],  a13 = a[7 * count + i];
+			float a20 = a[8 * count + i],  a21 = a[9 * count + i], 	a22 = a[10 * count + i], a23 = a[11 * count + i];
+			float a30 = a[12 * count + i], a31 = a[13 * count + i], a32 = a[14 * count + i], a33 = a[15 * count + i];
+			
+			float b0 = b[i], b1 = b[count + i], b2 = b[2 * count + i], b3 = b[3 * count + i];
+			
+			float s0 = a00*a11 - a10*a01;
+			float s1 = a00*a12 - a10*a02;
+			float s2 = a00*a13 - a10*a03;
+			float s3 = a01*a12 - a11*a02;
+			float s4 = a01*a13 - a11*a03;
+			float s5 = a02*a13 - a12*a03;
+			
+			float c5 = a22*a33 - a32*a23;
+			float c4 = a21*a33 - a31*a23;
+			float c3 = a21*a32 - a31*a22;
+			float c2 = a20*a33 - a30*a23;
+			float c1 = a20*a32 - a30*a22;
+			float c0 = a20*a31 - a30*a21;
+			
+			float det = s0*c5 - s1*c4 + s2*c3 + s3*c2 - s4*c1 + s5*c0;
+			
+			// a singular system solves to zero instead of branching out
+			float inv = det == 0 ? 0 : 1.0f / det;
+			singular += det == 0 ? 1 : 0;
+			
+			// x = adjugate(A) * b / det
+			x[i] = 			  (( a11*c5 - a12*c4 + a13*c3)*b0 + (-a01*c5 + a02*c4 - a03*c3)*b1 +
+							   ( a31*s5 - a32*s4 + a33*s3)*b2 + (-a21*s5 + a22*s4 - a23*s3)*b3) * inv;
+			x[count + i] = 	  ((-a10*c5 + a12*c2 - a13*c1)*b0 + ( a00*c5 - a02*c2 + a03*c1)*b1 +
+							   (-a30*s5 + a32*s2 - a33*s1)*b2 + ( a20*s5 - a22*s2 + a23*s1)*b3) * inv;
+			x[2 * count + i] = (( a10*c4 - a11*c2 + a13*c0)*b0 + (-a00*c4 + a01*c2 - a03*c0)*b1 +
+							   ( a30*s4 - a31*s2 + a33*s0)*b2 + (-a20*s4 + a21*s2 - a23*s0)*b3) * inv;
+			x[3 * count + i] = ((-a10*c3 + a11*c1 - a12*c0)*b0 + ( a00*c3 - a01*c1 + a02*c0)*b1 +
+							   (-a30*s3 + a31*s1 - a32*s0)*b2 + ( a20*s3 - a21*s1 + a22*s0)*b3) * inv;
+		}
+		
+		return singular;
+	}
+	
+	private static int solve(int size, float a[], float b[], float x[], int count) {
+		
+		SolveRange range = new SolveRange(size, a, b, x, count);
+		Parallel.forRange(0, count, GRAIN, range);
+		
+		return range.singular.get();
+	}
+	
+	private static final class SolveRange extends Parallel.Range {
+		
+		final int size;
+		final float a[];
+		final float b[];
+		final float x[];
+		final int count;
+		final AtomicInteger singular = new AtomicInteger();
+		
+		SolveRange(int size, float a[], float b[], float x[], int count) {
+			this.size = size;
+			this.a = a;
+			this.b = b;
+			this.x = x;
+			this.count = count;
+		}
+		
+		@Override
+		public void run(int from, int to) {
+			
+			int found = size == 4 ? solve4x4(a, b, x, count, from, to)
+								  : solve3x3(a, b, x, count, from, to);
+			singular.addAndGet(found);
+		}
+	}
+}
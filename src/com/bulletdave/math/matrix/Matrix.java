@@ -39,14 +39,30 @@
 
 package com.bulletdave.math.matrix;
 
+
+import java.io.IOException;
+import java.util.BitSet;
+
 import com.bulletdave.math.Compute;
+import com.bulletdave.math.Metrics;
+import com.bulletdave.math.Parallel;
 
 
 public class Matrix {
 	
+	// square sub-blocks at or below this size are transposed directly,
+	// larger ones are split recursively so both blocks stay in cache
+	private static final int TRANSPOSE_BLOCK = 32;
+	
+	// solve splits the row eliminations of each pivot across the
+	// shared pool once a system has this many rows; each task
+	// updates at least PARALLEL_GRAIN elements
+	private static final int PARALLEL_ROWS = 256;
+	private static final int PARALLEL_GRAIN = 16384;
+	
 	private int rowCount;				// vertical size
 	private int colCount;				// horizontal size
-	private float matrix[][];			// the 2D matrix
+	private float matrix[];				// the matrix, stored row by row
 
 	/**
 	 * Default constructor sets values to 0.
@@ -81,13 +97,7 @@ public class Matrix {
 		
 		rowCount = rCount;
 		colCount = cCount;
-		matrix = new float[rCount][cCount];
-		
-		for (int i = 0; i < rowCount; i++) {
-			for (int j = 0; j < colCount; j++) {
-				matrix[i][j] = 0;
-			}
-		}
+		matrix = new float[rCount * cCount];
 	}
 	
 	/**
@@ -105,14 +115,8 @@ public class Matrix {
 			return;
 		}
 		
-		matrix = new float[rowCount][colCount];
-		
 		// perform the deep copy
-		for (int i = 0; i < rowCount; i++) {
-			for (int j = 0; j < colCount; j++) {
-				matrix[i][j] = m.matrix[i][j];
-			}
-		}
+		matrix = m.matrix.clone();
 	}
 	
 	/**
@@ -129,7 +133,7 @@ public class Matrix {
 		if (matrix == null) {
 			rowCount = rCount;
 			colCount = cCount;
-			matrix = new float[rCount][cCount];
+			matrix = new float[rCount * cCount];
 		}
 	
 		// cannot set a matrix with one with a different size
@@ -138,17 +142,25 @@ public class Matrix {
 		}
 		
 		// perform a deep copy of the contents of m to our matrix
-		int index = 0;
-		for (int i = 0; i < rCount; i++) {
-			for (int j = 0; j < cCount; j++) {
-				matrix[i][j] = mat[index];
-				index++;
-			}
-		}
+		System.arraycopy(mat, 0, matrix, 0, rCount * cCount);
 		
 		return true;
 	}
 	
+	/**
+	 * Copy every element of this matrix into an array, row by row
+	 * @param mat	The array to copy into, at least rowCount * colCount long
+	 * @return	A reference to the given array
+	 */
+	public final float[] get(float mat[]) {
+		
+		if (matrix != null) {
+			System.arraycopy(matrix, 0, mat, 0, rowCount * colCount);
+		}
+		
+		return mat;
+	}
+	
 	/**
 	 * Set a target element within the matrix
 	 * @param row	The element's row 
@@ -156,7 +168,7 @@ public class Matrix {
 	 * @param val	The value to set the element by
 	 */
 	public final void set(int row, int col, float val) {
-		matrix[row][col] = val;
+		matrix[row * colCount + col] = val;
 	}
 	
 	/**
@@ -178,7 +190,7 @@ public class Matrix {
 			return 0;
 		}
 		
-		return matrix[i][j];
+		return matrix[i * colCount + j];
 	}
 	
 	/**
@@ -213,10 +225,12 @@ public class Matrix {
 			return false;
 		}
 		
+		int o1 = r1 * colCount;
+		int o2 = r2 * colCount;
 		for (int j = 0; j < colCount; j++) {
-			float temp = matrix[r1][j];
-			matrix[r1][j] = matrix[r2][j];
-			matrix[r2][j] = temp;
+			float temp = matrix[o1 + j];
+			matrix[o1 + j] = matrix[o2 + j];
+			matrix[o2 + j] = temp;
 		}
 		
 		return true;
@@ -238,7 +252,7 @@ public class Matrix {
 		}
 		
 		for (int y = i+1; y < rowCount; y++) {
-			if (matrix[y][j] != 0) {
+			if (matrix[y * colCount + j] != 0) {
 				swapRow(i, y);
 				return true;
 			}
@@ -265,7 +279,7 @@ public class Matrix {
 		}
 		
 		for (int y = i+1; y < rowCount; y++) {
-			if (matrix[y][j] != 0) {
+			if (matrix[y * colCount + j] != 0) {
 				swapRow(i, y);
 				augmented.swapRow(i, y);
 				return true;
@@ -277,7 +291,11 @@ public class Matrix {
 	
 	/**
 	 * Transpose the matrix by flipping all elements 
-	 * along the diagonal.
+	 * along the diagonal. The transpose is done in place:
+	 * square matrices are swapped block by block so that
+	 * both mirrored blocks stay in cache, rectangular
+	 * matrices have their elements moved along the cycles
+	 * of the transpose permutation.
 	 * @return	A reference to this matrix
 	 */
 	public final Matrix transpose() {
@@ -286,33 +304,118 @@ public class Matrix {
 		int newColCount = rowCount;
 		
 		if (isSquareMatrix()) {
+			transposeDiagonal(0, rowCount);
+		} else if (rowCount != 1 && colCount != 1) {
+			transposeCycles();
+		}
+		
+		// row and column vectors share the same layout as their
+		// transpose, so only the dimension needs to be flipped
+		
+		colCount = newColCount;
+		rowCount = newRowCount;
+		
+		return this;
+	}
+	
+	/**
+	 * Transpose a square block sitting on the diagonal.
+	 * The block is split into two smaller diagonal blocks
+	 * and the off-diagonal block between them.
+	 * @param start	The first row (and column) of the block
+	 * @param size	The width and height of the block
+	 */
+	private final void transposeDiagonal(int start, int size) {
+		
+		if (size <= TRANSPOSE_BLOCK) {
 			
+			int end = start + size;
 			float temp = 0;
-			for (int i = 0; i < rowCount; i++) {
-				for (int j = i+1; j < colCount; j++) {
-					temp = matrix[i][j];
-					matrix[i][j] = matrix[j][i];
-					matrix[j][i] = temp;
+			for (int i = start; i < end; i++) {
+				for (int j = i+1; j < end; j++) {
+					temp = matrix[i * colCount + j];
+					matrix[i * colCount + j] = matrix[j * colCount + i];
+					matrix[j * colCount + i] = temp;
 				}
 			}
 			
-		} else {
-			
-			float mat[][] = new float[newRowCount][newColCount];
+			return;
+		}
+		
+		int half = size / 2;
+		transposeDiagonal(start, half);
+		transposeDiagonal(start + half, size - half);
+		transposeSwapBlock(start + half, start, size - half, half);
+	}
+	
+	/**
+	 * Swap a block below the diagonal with its mirrored block
+	 * above the diagonal, transposing both in the process.
+	 * The longest side of the block is halved until it fits
+	 * within the cache friendly block size.
+	 * @param row	The first row of the block below the diagonal
+	 * @param col	The first column of the block below the diagonal
+	 * @param rows	The height of the block
+	 * @param cols	The width of the block
+	 */
+	private final void transposeSwapBlock(int row, int col, int rows, int cols) {
+		
+		if (rows <= TRANSPOSE_BLOCK && cols <= TRANSPOSE_BLOCK) {
 			
-			for (int i = 0; i < rowCount; i++) {
-				for (int j = 0; j < colCount; j++) {
-					mat[j][i] = matrix[i][j];
+			int rowEnd = row + rows;
+			int colEnd = col + cols;
+			float temp = 0;
+			for (int i = row; i < rowEnd; i++) {
+				for (int j = col; j < colEnd; j++) {
+					temp = matrix[i * colCount + j];
+					matrix[i * colCount + j] = matrix[j * colCount + i];
+					matrix[j * colCount + i] = temp;
 				}
 			}
 			
-			matrix = mat;
+			return;
 		}
 		
-		colCount = newColCount;
-		rowCount = newRowCount;
+		if (rows >= cols) {
+			int half = rows / 2;
+			transposeSwapBlock(row, col, half, cols);
+			transposeSwapBlock(row + half, col, rows - half, cols);
+		} else {
+			int half = cols / 2;
+			transposeSwapBlock(row, col, rows, half);
+			transposeSwapBlock(row, col + half, rows, cols - half);
+		}
+	}
+	
+	/**
+	 * Transpose a rectangular matrix in place by following the
+	 * cycles of the permutation. The element at index k moves to
+	 * (k * rowCount) mod (size - 1); the first and last elements
+	 * never move. Only one bit per element is used to remember
+	 * which elements have already been moved.
+	 */
+	private final void transposeCycles() {
 		
-		return this;
+		int last = rowCount * colCount - 1;
+		BitSet moved = new BitSet(last);
+		
+		for (int start = 1; start < last; start++) {
+			
+			if (moved.get(start)) {
+				continue;
+			}
+			
+			int k = start;
+			float carry = matrix[start];
+			do {
+				k = (int) (((long) k * rowCount) % last);
+				
+				float temp = matrix[k];
+				matrix[k] = carry;
+				carry = temp;
+				moved.set(k);
+			} while (k != start);
+		}
 	}
 	
 	/**
@@ -330,10 +433,9 @@ public class Matrix {
 			return this;
 		}
 		
-		for (int j = 0; j < colCount; j++) {
-			for (int i = 0; i < rowCount; i++) {
-				matrix[i][j] += m.matrix[i][j];
-			}
+		int size = rowCount * colCount;
+		for (int i = 0; i < size; i++) {
+			matrix[i] += m.matrix[i];
 		}
 		
 		return this;
@@ -354,10 +456,9 @@ public class Matrix {
 			return this;
 		}
 		
-		for (int j = 0; j < colCount; j++) {
-			for (int i = 0; i < rowCount; i++) {
-				matrix[i][j] -= m.matrix[i][j];
-			}
+		int size = rowCount * colCount;
+		for (int i = 0; i < size; i++) {
+			matrix[i] -= m.matrix[i];
 		}
 		
 		return this;
@@ -371,10 +472,9 @@ public class Matrix {
 	 */
 	public final Matrix scale(float value) {
 		
-		for (int i = 0; i < rowCount; i++) {
-			for (int j = 0; j < colCount; j++) {
-				matrix[i][j] *= value;
-			}
+		int size = rowCount * colCount;
+		for (int i = 0; i < size; i++) {
+			matrix[i] *= value;
 		}
 		
 		return this;
@@ -387,35 +487,217 @@ public class Matrix {
 	 */
 	public final Matrix multiply(Matrix m) {
 		
+		long start = Metrics.isTiming() ? Metrics.start() : 0;
+		
 		if (!canMultiply(m)) {
 			return this.clone();
 		}
 		
-		float mat[][] = new float[rowCount][m.colCount];
+		int mColCount = m.colCount;
+		float mat[] = new float[rowCount * mColCount];
 
 		float sum = 0;
-		for (int k = 0; k < m.colCount; k++) {
-			for (int i = 0; i < rowCount; i++) {
+		for (int i = 0; i < rowCount; i++) {
+			
+			int row = i * colCount;
+			for (int k = 0; k < mColCount; k++) {
 				for (int j = 0; j < colCount; j++) {
-					sum += matrix[i][j] * m.matrix[j][k];
-				}
-				
-				float decVal = sum < 0 ? -sum : sum;
-				decVal = decVal - (int)decVal;
-				if (decVal <= Compute.ERROR || (decVal+Compute.ERROR) >= 1.0f) {
-					sum = Math.round(sum);
+					sum += matrix[row + j] * m.matrix[j * mColCount + k];
 				}
 				
-				mat[i][k] = sum;
+				mat[i * mColCount + k] = sum;
 				sum = 0;
 			}
 		}
 		
-		colCount = m.colCount;	
+		MatrixOps.snap(mat, mat.length);
+		
+		colCount = mColCount;	
 		matrix = mat;
+		
+		if (start != 0) {
+			Metrics.record(Metrics.MATRIX_MULTIPLY, start, 4L * mat.length, rowCount, colCount);
+		}
+		
 		return this;
 	}
 	
+	/**
+	 * Multiply this matrix with a column vector (y = Ax).
+	 * Unlike multiply(Matrix), no temporary matrix is created
+	 * and the products are not rounded.
+	 * @param x	The vector to multiply, one entry per column.
+	 * 			Must not be the same array as y.
+	 * @param y	The vector receiving the product, one entry per row
+	 * @return	true if it succeeded,
+	 * 			false if the vector sizes do not match this matrix
+	 */
+	public final boolean multiply(float x[], float y[]) {
+		
+		if (x.length < colCount || y.length < rowCount) {
+			return false;
+		}
+		
+		for (int i = 0; i < rowCount; i++) {
+			
+			int row = i * colCount;
+			float sum = 0;
+			for (int j = 0; j < colCount; j++) {
+				sum += matrix[row + j] * x[j];
+			}
+			
+			y[i] = sum;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Multiply the transpose of this matrix with a column vector (y = A'x)
+	 * without transposing this matrix.
+	 * @param x	The vector to multiply, one entry per row.
+	 * 			Must not be the same array as y.
+	 * @param y	The vector receiving the product, one entry per column
+	 * @return	true if it succeeded,
+	 * 			false if the vector sizes do not match this matrix
+	 */
+	public final boolean multiplyTransposed(float x[], float y[]) {
+		
+		if (x.length < rowCount || y.length < colCount) {
+			return false;
+		}
+		
+		for (int j = 0; j < colCount; j++) {
+			y[j] = 0;
+		}
+		
+		// accumulate each row scaled by its entry of x so that
+		// the matrix is still read row by row
+		for (int i = 0; i < rowCount; i++) {
+			
+			int row = i * colCount;
+			float xi = x[i];
+			for (int j = 0; j < colCount; j++) {
+				y[j] += matrix[row + j] * xi;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Multiply this matrix with many column vectors (y = Ax for each x).
+	 * The vectors are packed one after the other, so vector v of xs
+	 * starts at v * colCount and its product in ys starts at v * rowCount.
+	 * Four vectors are processed per pass over a row so that each row
+	 * is loaded once for all of them.
+	 * @param xs	The packed vectors to multiply. Must not be the same array as ys.
+	 * @param ys	The packed vectors receiving the products
+	 * @param count	The amount of vectors
+	 * @return	true if it succeeded,
+	 * 			false if the arrays are too small for the amount of vectors
+	 */
+	public final boolean multiply(float xs[], float ys[], int count) {
+		
+		if (count < 0 || 
+			xs.length < count * colCount || 
+			ys.length < count * rowCount) {
+			return false;
+		}
+		
+		int v = 0;
+		for (; v + 4 <= count; v += 4) {
+			
+			int x0 = v * colCount;
+			int x1 = x0 + colCount;
+			int x2 = x1 + colCount;
+			int x3 = x2 + colCount;
+			int y0 = v * rowCount;
+			
+			for (int i = 0; i < rowCount; i++) {
+				
+				int row = i * colCount;
+				float sum0 = 0;
+				float sum1 = 0;
+				float sum2 = 0;
+				float sum3 = 0;
+				
+				for (int j = 0; j < colCount; j++) {
+					float entry = matrix[row + j];
+					sum0 += entry * xs[x0 + j];
+					sum1 += entry * xs[x1 + j];
+					sum2 += entry * xs[x2 + j];
+					sum3 += entry * xs[x3 + j];
+				}
+				
+				ys[y0 + i] = sum0;
+				ys[y0 + rowCount + i] = sum1;
+				ys[y0 + 2*rowCount + i] = sum2;
+				ys[y0 + 3*rowCount + i] = sum3;
+			}
+		}
+		
+		// remaining vectors
+		for (; v < count; v++) {
+			
+			int x0 = v * colCount;
+			int y0 = v * rowCount;
+			
+			for (int i = 0; i < rowCount; i++) {
+				
+				int row = i * colCount;
+				float sum = 0;
+				for (int j = 0; j < colCount; j++) {
+					sum += matrix[row + j] * xs[x0 + j];
+				}
+				
+				ys[y0 + i] = sum;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Multiply the transpose of this matrix with many column vectors
+	 * (y = A'x for each x) without transposing this matrix.
+	 * The vectors are packed one after the other, so vector v of xs
+	 * starts at v * rowCount and its product in ys starts at v * colCount.
+	 * @param xs	The packed vectors to multiply. Must not be the same array as ys.
+	 * @param ys	The packed vectors receiving the products
+	 * @param count	The amount of vectors
+	 * @return	true if it succeeded,
+	 * 			false if the arrays are too small for the amount of vectors
+	 */
+	public final boolean multiplyTransposed(float xs[], float ys[], int count) {
+		
+		if (count < 0 || 
+			xs.length < count * rowCount || 
+			ys.length < count * colCount) {
+			return false;
+		}
+		
+		for (int l = count * colCount - 1; l >= 0; l--) {
+			ys[l] = 0;
+		}
+		
+		// each row is read once and scattered into every product
+		for (int i = 0; i < rowCount; i++) {
+			
+			int row = i * colCount;
+			for (int v = 0; v < count; v++) {
+				
+				int y0 = v * colCount;
+				float xi = xs[v * rowCount + i];
+				for (int j = 0; j < colCount; j++) {
+					ys[y0 + j] += matrix[row + j] * xi;
+				}
+			}
+		}
+		
+		return true;
+	}
+	
 	/**
 	 * The power of this matrix is the product of the multiplication 
 	 * of this matrix N times. The matrix must be square for this to work,
@@ -426,6 +708,8 @@ public class Matrix {
 	 */
 	public final Matrix power(int exponent) {
 		
+		long start = Metrics.isTiming() ? Metrics.start() : 0;
+		
 		// can only perform a power if the matrix is square
 		if (rowCount != colCount && exponent <= 0) {
 			return this;
@@ -436,6 +720,10 @@ public class Matrix {
 			multiply(mat);
 		}
 		
+		if (start != 0) {
+			Metrics.record(Metrics.MATRIX_POWER, start, 4L * matrix.length, rowCount, colCount);
+		}
+		
 		return this;
 	}
 	
@@ -450,13 +738,26 @@ public class Matrix {
 	 */
 	public final Matrix solve() {
 		
+		long start = Metrics.isTiming() ? Metrics.start() : 0;
+		
+		int cleanup = Compute.getCleanup();
 		int j = 0;
 		float entry = 0;
 		
+		EliminateRange parallel = null;
+		int grain = 0;
+		
+		if (rowCount >= PARALLEL_ROWS && Parallel.THREADS > 1) {
+			parallel = new EliminateRange();
+			grain = Math.max(1, PARALLEL_GRAIN / Math.max(1, colCount));
+		}
+		
 		for (int i = 0; i < rowCount; i++) {
 			
+			int pivotRow = i * colCount;
+			
 			// 1. set to valid leading column entry
-			if (matrix[i][j] == 0) {
+			if (matrix[pivotRow + j] == 0) {
 				if (!swapRowForValidPivot(i, j)) {
 					j++;
 					continue;
@@ -464,38 +765,150 @@ public class Matrix {
 			}
 				
 			// 2. divide the row to make the leading entry 1
-			entry = matrix[i][j];
+			entry = matrix[pivotRow + j];
 			if (entry != 1) {
 				
 				for (int l = 0; l < colCount; l++) {
-					matrix[i][l] /= entry;
-					if (matrix[i][l] == -0.0f) {
-						matrix[i][l] = 0.0f;
-					}
+					matrix[pivotRow + l] /= entry;
 				}
 			}
 			
-			// 3. eliminate all other entries
-			for (int k = 0; k < rowCount; k++) {
-				
-				entry = matrix[k][j];				
-				if (k != i) {
-					for (int l = 0; l < colCount; l++) {
-						matrix[k][l] -= matrix[i][l] * entry;
-						if (matrix[k][l] == -0.0f) {
-							matrix[k][l] = 0.0f;
-						}
-					}
-				}
+			// 3. eliminate all other entries, rows are independent
+			if (parallel != null) {
+				parallel.i = i;
+				parallel.j = j;
+				Parallel.forRange(0, rowCount, grain, parallel);
+			} else {
+				eliminateRows(0, rowCount, i, j);
 			}
 			
 			// 4. increase i and j by 1 for new pivot point
 			j++;
 		}
 		
+		if ((cleanup & Compute.CLEANUP_NEGATIVE_ZERO) != 0) {
+			MatrixOps.clearNegativeZero(matrix, rowCount * colCount);
+		}
+		
+		if (start != 0) {
+			Metrics.record(Metrics.MATRIX_SOLVE, start, 0, rowCount, colCount);
+		}
+		
 		return this;
 	}
 	
+	/**
+	 * Subtract the pivot row from rows [from, to), excluding the pivot row,
+	 * so that column j of each of them becomes zero.
+	 * @param from	The first row
+	 * @param to	One past the last row
+	 * @param i		The pivot row
+	 * @param j		The pivot column
+	 */
+	private final void eliminateRows(int from, int to, int i, int j) {
+		
+		int pivotRow = i * colCount;
+		
+		for (int k = from; k < to; k++) {
+			
+			int row = k * colCount;
+			float entry = matrix[row + j];
+			if (k != i) {
+				for (int l = 0; l < colCount; l++) {
+					matrix[row + l] -= matrix[pivotRow + l] * entry;
+				}
+			}
+		}
+	}
+	
+	// eliminates the rows of one pivot, the pivot is set before each use
+	private final class EliminateRange extends Parallel.Range {
+		
+		int i;
+		int j;
+		
+		@Override
+		public void run(int from, int to) {
+			eliminateRows(from, to, i, j);
+		}
+	}
+	
+	/**
+	 * Solve this square matrix for several right hand sides with a
+	 * single elimination, each column of b being one right hand side.
+	 * Once solved, this matrix becomes an identity matrix and b
+	 * holds the solutions.
+	 * @param b	The right hand sides, as many rows as this matrix
+	 * @return	true if it succeeded,
+	 * 			false if this matrix is not square, the row counts differ
+	 * 			or this matrix is singular, in which case neither changes.
+	 */
+	public final boolean solve(Matrix b) {
+		
+		long start = Metrics.isTiming() ? Metrics.start() : 0;
+		
+		if (!isSquareMatrix() || b.rowCount != rowCount || matrix == null || b.matrix == null) {
+			return false;
+		}
+		
+		float a[] = matrix.clone();
+		float x[] = b.matrix.clone();
+		
+		MatrixOps.reduce(a, rowCount, x, b.colCount);
+		
+		if (!MatrixOps.isIdentity(a, rowCount)) {
+			if (start != 0) {
+				Metrics.record(Metrics.MATRIX_SOLVE, start, 4L * (a.length + x.length), rowCount, colCount);
+			}
+			return false;
+		}
+		
+		matrix = a;
+		b.matrix = x;
+		
+		if (start != 0) {
+			Metrics.record(Metrics.MATRIX_SOLVE, start, 4L * (a.length + x.length), rowCount, colCount);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Solve this square matrix for several right hand sides with a
+	 * single elimination. Once solved, this matrix becomes an identity
+	 * matrix and each right hand side is replaced by its solution.
+	 * @param rhs	The right hand sides, one array of rowCount entries each
+	 * @return	true if it succeeded,
+	 * 			false if this matrix is not square, a right hand side is
+	 * 			too short or this matrix is singular, in which case
+	 * 			nothing changes.
+	 */
+	public final boolean solve(float rhs[][]) {
+		
+		long start = Metrics.isTiming() ? Metrics.start() : 0;
+		
+		if (!isSquareMatrix() || matrix == null) {
+			return false;
+		}
+		
+		float a[] = matrix.clone();
+		
+		if (!MatrixOps.solve(a, rowCount, rhs)) {
+			if (start != 0) {
+				Metrics.record(Metrics.MATRIX_SOLVE, start, 4L * (a.length + rowCount * rhs.length), rowCount, colCount);
+			}
+			return false;
+		}
+		
+		matrix = a;
+		
+		if (start != 0) {
+			Metrics.record(Metrics.MATRIX_SOLVE, start, 4L * (a.length + rowCount * rhs.length), rowCount, colCount);
+		}
+		
+		return true;
+	}
+	
 	/**
 	 * Compute the inverse of this matrix using Gaussian Elimination,
 	 * but with an augmented matrix alongside it starting off as
@@ -508,6 +921,8 @@ public class Matrix {
 	 */
 	public final Matrix inverse() {
 		
+		long start = Metrics.isTiming() ? Metrics.start() : 0;
+		
 		if (!isSquareMatrix()) {
 			return this;
 		}
@@ -516,16 +931,21 @@ public class Matrix {
 		Matrix augmented = new Matrix(rowCount, colCount);
 		
 		for (int i = 0; i < rowCount; i++) {
-			augmented.matrix[i][i] = 1;
+			augmented.matrix[i * colCount + i] = 1;
 		}
 		
+		int cleanup = Compute.getCleanup();
+		float inv[] = invMat.matrix;
+		float aug[] = augmented.matrix;
 		float entry = 0;
 		int j = 0;
 		
 		for (int i = 0; i < rowCount; i++) {
 			
+			int pivotRow = i * colCount;
+			
 			// 1. set to valid leading column entry
-			if (invMat.matrix[i][j] == 0) {
+			if (inv[pivotRow + j] == 0) {
 				
 				if (!invMat.swapWithValidColumnPivot(i, j, augmented)) {
 					j++;
@@ -534,41 +954,26 @@ public class Matrix {
 			}
 				
 			// 2. divide the row to make the leading entry 1
-			entry = invMat.matrix[i][j];
+			entry = inv[pivotRow + j];
 			if (entry != 1) {
 				
 				for (int l = 0; l < colCount; l++) {
 					
-					invMat.matrix[i][l] /= entry;
-					augmented.matrix[i][l] /= entry;
-					
-					if (invMat.matrix[i][l] == -0.0f) {
-						invMat.matrix[i][l] = 0.0f;
-					}
-					
-					if (augmented.matrix[i][l] == -0.0f) {
-						augmented.matrix[i][l] = 0.0f;
-					}
+					inv[pivotRow + l] /= entry;
+					aug[pivotRow + l] /= entry;
 				}
 			}
 			
 			// 3. eliminate all other entries
 			for (int k = 0; k < rowCount; k++) {
 				
-				entry = invMat.matrix[k][j];
+				int row = k * colCount;
+				entry = inv[row + j];
 				if (k != i) {
 					for (int l = 0; l < colCount; l++) {
 						
-						invMat.matrix[k][l] -= invMat.matrix[i][l] * entry;
-						augmented.matrix[k][l] -= augmented.matrix[i][l] * entry;
-						
-						if (invMat.matrix[k][l] == -0.0f) {
-							invMat.matrix[k][l] = 0.0f;
-						}
-						
-						if (augmented.matrix[k][l] == -0.0f) {
-							augmented.matrix[k][l] = 0.0f;
-						}
+						inv[row + l] -= inv[pivotRow + l] * entry;
+						aug[row + l] -= aug[pivotRow + l] * entry;
 					}
 				}
 			}
@@ -580,13 +985,20 @@ public class Matrix {
 		// if the solved matrix is not an identity matrix at the end,
 		// no inverse matrix exists, so the matrix does not change.
 		if (!invMat.isIdentityMatrix()) {
+			if (start != 0) {
+				Metrics.record(Metrics.MATRIX_INVERSE, start, 8L * inv.length, rowCount, colCount);
+			}
 			return this;
 		}
 		
-		for (int i = 0; i < rowCount; i++) {
-			for (j = 0;  j < colCount; j++) {
-				matrix[i][j] = augmented.matrix[i][j];
-			}
+		if ((cleanup & Compute.CLEANUP_NEGATIVE_ZERO) != 0) {
+			MatrixOps.clearNegativeZero(aug, rowCount * colCount);
+		}
+		
+		matrix = aug;
+		
+		if (start != 0) {
+			Metrics.record(Metrics.MATRIX_INVERSE, start, 8L * inv.length, rowCount, colCount);
 		}
 		
 		return this;
@@ -613,11 +1025,10 @@ public class Matrix {
 	 */
 	public final boolean isZeroMatrix() {
 		
-		for (int i = 0; i < rowCount; i++) {
-			for (int j = 0; j < colCount; j++) {
-				if (matrix[i][j] != 0) {
-					return false;
-				}
+		int size = rowCount * colCount;
+		for (int i = 0; i < size; i++) {
+			if (matrix[i] != 0) {
+				return false;
 			}
 		}
 		
@@ -643,7 +1054,7 @@ public class Matrix {
 		int size = rowCount - 1;
 		for (int i = 0; i < size; i++ ) {
 			for (int j = i+1; j < colCount; j++) {
-				if (matrix[i][j] != 0) {
+				if (matrix[i * colCount + j] != 0) {
 					return false;
 				}
 			}
@@ -661,7 +1072,7 @@ public class Matrix {
 		
 		for (int i = 1; i < rowCount; i++) {
 			for (int j = 0; j < i; j++) {
-				if (matrix[i][j] != 0) {
+				if (matrix[i * colCount + j] != 0) {
 					return false;
 				}
 			}
@@ -679,7 +1090,7 @@ public class Matrix {
 		int size = rowCount - 1;
 		for (int i = 0; i < size; i++ ) {
 			for (int j = i+1; j < colCount; j++) {
-				if (matrix[i][j] != matrix[j][i]) {
+				if (matrix[i * colCount + j] != matrix[j * colCount + i]) {
 					return false;
 				}
 			}
@@ -706,7 +1117,7 @@ public class Matrix {
 			for (int j = 0; j < colCount; j++) {
 				
 				if (i != j) {
-					if (matrix[i][j] != 0) {
+					if (matrix[i * colCount + j] != 0) {
 						return false;
 					}
 				}
@@ -728,11 +1139,11 @@ public class Matrix {
 			for (int j = 0; j < colCount; j++) {
 				
 				if (i == j) {
-					if (matrix[i][j] != 1) {
+					if (matrix[i * colCount + j] != 1) {
 						return false;
 					}
 				} else {
-					if (matrix[i][j] != 0) {
+					if (matrix[i * colCount + j] != 0) {
 						return false;
 					}
 				}
@@ -777,6 +1188,12 @@ public class Matrix {
 		return true;
 	}
 	
+	/**
+	 * Test for equality, allowing Compute.ERROR of difference between
+	 * elements. Identical matrices have the same hashCode(), but matrices
+	 * that are only within the tolerance of each other usually do not,
+	 * so only exact copies reliably match as hash keys.
+	 */
 	@Override
 	public boolean equals(Object o) {
 		
@@ -793,11 +1210,10 @@ public class Matrix {
 			return false;
 		}
 		
-		for (int i = 0; i < rowCount; i++) {
-			for (int j = 0; j < colCount; j++) {
-				if (equals(m.matrix[i][j], matrix[i][j], Compute.ERROR)) {
-					return false;
-				}
+		int size = rowCount * colCount;
+		for (int i = 0; i < size; i++) {
+			if (!equals(m.matrix[i], matrix[i], Compute.ERROR)) {
+				return false;
 			}
 		}
 		
@@ -805,17 +1221,36 @@ public class Matrix {
 	}
 	
 	@Override
-	public String toString() {
-		
-		String strMatrix = new String();
-		for (int i = 0; i < rowCount; i++) {
-			for (int j = 0; j < colCount; j++) {
-				strMatrix += matrix[i][j] + " ";
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + rowCount;
+		result = prime * result + colCount;
+		
+		if (matrix != null) {
+			int size = rowCount * colCount;
+			for (int i = 0; i < size; i++) {
+				result = prime * result + Float.floatToIntBits(matrix[i]);
 			}
-			strMatrix += "\n";
 		}
 		
-		return strMatrix;
+		return result;
+	}
+	
+	/**
+	 * Write this matrix in the toString format, one row per line.
+	 * Rows are formatted into a small buffer and appended one at a time,
+	 * so large matrices stream without building one huge string.
+	 * @param out	The destination, such as a Writer or StringBuilder
+	 * @throws IOException	if the destination fails to append
+	 */
+	public final void writeTo(Appendable out) throws IOException {
+		MatrixOps.write(out, matrix, rowCount, colCount);
+	}
+	
+	@Override
+	public String toString() {
+		return MatrixOps.toString(matrix, rowCount, colCount);
 	}
 	
 	@Override
@@ -39,21 +39,26 @@
 
 package com.bulletdave.math.matrix;
 
+import java.io.IOException;
+
 import com.bulletdave.math.Compute;
+import com.bulletdave.math.Metrics;
 import com.bulletdave.math.vector.Vec2F;
 
 
+
 public class Matrix2x2 {
 	
 	public static final int SIZE = 2;	// matrix size
-	private float matrix[][]; 			// the 2D matrix
+	
+	// matrix entries, mRC is the entry at row R and column C
+	public float m00, m01;
+	public float m10, m11;
 
 	/**
 	 * Default constructor sets values to 0.
 	 */
 	public Matrix2x2() {
-		matrix = new float[SIZE][SIZE];
-		clearTo(0);
 	}
 	
 	/**
@@ -64,9 +69,7 @@ public class Matrix2x2 {
 	 * @param m11	entry (1, 1)
 	 */
 	public Matrix2x2(float m00, float m01, float m10, float m11) {
-		matrix = new float[SIZE][SIZE];
-		matrix[0][0] = m00;		matrix[0][1] = m01;
-		matrix[1][0] = m10;		matrix[1][1] = m11;
+		set(m00, m01, m10, m11);
 	}
 	
 	/**
@@ -75,9 +78,8 @@ public class Matrix2x2 {
 	 * @param r2	Row 2
 	 */
 	public Matrix2x2(Vec2F r1, Vec2F r2) {
-		matrix = new float[SIZE][SIZE];
-		matrix[0][0] = r1.x;	matrix[0][1] = r1.y;
-		matrix[1][0] = r2.x;	matrix[1][1] = r2.y;
+		m00 = r1.x;		m01 = r1.y;
+		m10 = r2.x;		m11 = r2.y;
 	}
 	
 	/**
@@ -85,7 +87,6 @@ public class Matrix2x2 {
 	 * @param mat	The array containing matrix entries
 	 */
 	public Matrix2x2(float mat[]) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
@@ -94,7 +95,6 @@ public class Matrix2x2 {
 	 * @param mat	The 2D entry array
 	 */
 	public Matrix2x2(float mat[][]) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
@@ -103,7 +103,6 @@ public class Matrix2x2 {
 	 * @param mat	An array of 2D Vec2F
 	 */
 	public Matrix2x2(Vec2F mat[]) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
@@ -112,24 +111,30 @@ public class Matrix2x2 {
 	 * @param mat	The target matrix to be copied
 	 */
 	public Matrix2x2(Matrix2x2 mat) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
+	/**
+	 * Set this matrix using individual floats
+	 * @param m00	entry (0, 0)
+	 * @param m01	entry (0, 1)
+	 * @param m10	entry (1, 0)
+	 * @param m11	entry (1, 1)
+	 * @return	A reference to this matrix
+	 */
+	public final Matrix2x2 set(float m00, float m01, float m10, float m11) {
+		this.m00 = m00;		this.m01 = m01;
+		this.m10 = m10;		this.m11 = m11;
+		return this;
+	}
+	
 	/**
 	 * Set this matrix using a float array
 	 * @param mat[] 	The float array containing matrix entries
 	 */
 	public void set(float mat[]) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		int index = 0;
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = mat[index];
-				index++;
-			}
-		}
+		m00 = mat[0];	m01 = mat[1];
+		m10 = mat[2];	m11 = mat[3];
 	}
 	
 	/**
@@ -137,27 +142,17 @@ public class Matrix2x2 {
 	 * @param mat[][] 	The 2D float array containing matrix entries
 	 */
 	public void set(float mat[][]) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = mat[i][j];
-			}
-		}
+		m00 = mat[0][0];	m01 = mat[0][1];
+		m10 = mat[1][0];	m11 = mat[1][1];
 	}
 	
-	
 	/**
 	 * Set this matrix using a 2D Vec2F array
 	 * @param mat[]	An array of Vec2F
 	 */
 	public void set(Vec2F mat[]) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		for (int i = 0; i < SIZE; i++) {
-			matrix[i][0] = mat[i].x;
-			matrix[i][1] = mat[i].y;
-		}
+		m00 = mat[0].x;		m01 = mat[0].y;
+		m10 = mat[1].x;		m11 = mat[1].y;
 	}
 	
 	/**
@@ -165,13 +160,19 @@ public class Matrix2x2 {
 	 * @param mat	The target matrix's elements to copy over
 	 */
 	public void set(Matrix2x2 mat) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = mat.matrix[i][j];
-			}
-		}
+		m00 = mat.m00;	m01 = mat.m01;
+		m10 = mat.m10;	m11 = mat.m11;
+	}
+	
+	/**
+	 * Copy the elements of this matrix into a float array, row by row
+	 * @param mat	The array receiving the 4 entries
+	 * @return	A reference to mat
+	 */
+	public final float[] get(float mat[]) {
+		mat[0] = m00;	mat[1] = m01;
+		mat[2] = m10;	mat[3] = m11;
+		return mat;
 	}
 	
 	/**
@@ -187,7 +188,12 @@ public class Matrix2x2 {
 			return;
 		}
 		
-		matrix[row][col] = val;
+		switch (row * SIZE + col) {
+		case 0:		m00 = val;	break;
+		case 1:		m01 = val;	break;
+		case 2:		m10 = val;	break;
+		default:	m11 = val;	break;
+		}
 	}
 	
 	/**
@@ -204,7 +210,12 @@ public class Matrix2x2 {
 			return 0;
 		}
 		
-		return matrix[i][j];
+		switch (i * SIZE + j) {
+		case 0:		return m00;
+		case 1:		return m01;
+		case 2:		return m10;
+		default:	return m11;
+		}
 	}
 	
 	/**
@@ -214,97 +225,11 @@ public class Matrix2x2 {
 	 */
 	public final Vec2F getRow(int i) {
 		
-		if (i < 0 || i >= SIZE) {
-			return null;
-		}
-		
-		return new Vec2F(matrix[i][0], matrix[i][1]);
-	}
-	
-	/**
-	 * Swap a row of this matrix with another
-	 * @param r1	Target row to swap
-	 * @param r2	Destination row to swap
-	 * @param augmented 	optional augmented matrix to swap
-	 * @return	true if it succeeded,
-	 * 			false if invalid row specified,
-	 * 			false if no swap occurs
-	 */
-	private final boolean swapRow(int r1, int r2, Vec2F augmented) {
-		
-		if (r1 < 0 || r1 >= SIZE || 
-			r2 < 0 || r2 >= SIZE || 
-			r1 == r2) {
-			return false;
-		}
-		
-		for (int j = 0; j < SIZE; j++) {
-			float temp = matrix[r1][j];
-			matrix[r1][j] = matrix[r2][j];
-			matrix[r2][j] = temp;
-		}
-		
-		if (augmented != null) {
-			float temp = augmented.x;
-			augmented.x = augmented.y;
-			augmented.y = temp;
-		}
-		
-		return true;
-	}
-
-	/**
-	 * Find a valid leading entry at a specified location
-	 * within the matrix. Above rows are ignored.
-	 * @param i	The target row
-	 * @param j	The target column
-	 * @param augmented 	optional augmented matrix to swap
-	 * @return	true on success,
-	 * 			false if no valid row found to swap with,
-	 * 			false if (i, j) index is out of bound.
-	 */
-	private final boolean swapRowForValidPivot(int i, int j, Vec2F augmented) {
-		
-		if (i < 0 || j < 0 || i >= SIZE || j >= SIZE) {
-			return false;
-		}
-		
-		for (int y = i+1; y < SIZE; y++) {
-			if (matrix[y][j] != 0) {
-				swapRow(i, y, augmented);
-				return true;
-			}
+		switch (i) {
+		case 0:		return new Vec2F(m00, m01);
+		case 1:		return new Vec2F(m10, m11);
+		default:	return null;
 		}
-		
-		return false;
-	}
-	
-	/**
-	 * Find a valid leading entry at a specified location
-	 * within the matrix. Above rows are ignored. Performs
-	 * the same row swap for an augmented matrix
-	 * @param i	The target row
-	 * @param j	The target column
-	 * @param augmented	An augmented matrix
-	 * @return	true on success,
-	 * 			false if no valid row found to swap with,
-	 * 			false if (i, j) index is out of bound.
-	 */
-	private final boolean swapWithValidColumnPivot(int i, int j, Matrix2x2 augmented) {
-		
-		if (i < 0 || j < 0 || i >= SIZE || j >= SIZE) {
-			return false;
-		}
-		
-		for (int y = i+1; y < SIZE; y++) {
-			if (matrix[y][j] != 0) {
-				swapRow(i, y, null);
-				augmented.swapRow(i, y, null);
-				return true;
-			}
-		}
-		
-		return false;
 	}
 	
 	/**
@@ -313,15 +238,10 @@ public class Matrix2x2 {
 	 * @return	A reference to this matrix
 	 */
 	public final Matrix2x2 transpose() {
-			
-		float temp = 0;
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = i+1; j < SIZE; j++) {
-				temp = matrix[i][j];
-				matrix[i][j] = matrix[j][i];
-				matrix[j][i] = temp;
-			}
-		}
+		
+		float temp = m01;
+		m01 = m10;
+		m10 = temp;
 		
 		return this;
 	}
@@ -333,11 +253,8 @@ public class Matrix2x2 {
 	 */
 	public final Matrix2x2 add(Matrix2x2 m) {
 		
-		for (int j = 0; j < SIZE; j++) {
-			for (int i = 0; i < SIZE; i++) {
-				matrix[i][j] += m.matrix[i][j];
-			}
-		}
+		m00 += m.m00;	m01 += m.m01;
+		m10 += m.m10;	m11 += m.m11;
 		
 		return this;
 	}
@@ -349,11 +266,8 @@ public class Matrix2x2 {
 	 */
 	public final Matrix2x2 subtract(Matrix2x2 m) {
 		
-		for (int j = 0; j < SIZE; j++) {
-			for (int i = 0; i < SIZE; i++) {
-				matrix[i][j] -= m.matrix[i][j];
-			}
-		}
+		m00 -= m.m00;	m01 -= m.m01;
+		m10 -= m.m10;	m11 -= m.m11;
 		
 		return this;
 	}
@@ -366,11 +280,8 @@ public class Matrix2x2 {
 	 */
 	public final Matrix2x2 scale(float value) {
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] *= value;
-			}
-		}
+		m00 *= value;	m01 *= value;
+		m10 *= value;	m11 *= value;
 		
 		return this;
 	}
@@ -382,30 +293,35 @@ public class Matrix2x2 {
 	 */
 	public final Matrix2x2 multiply(Matrix2x2 m) {
 		
-		float mat[][] = new float[SIZE][SIZE];
-
-		float sum = 0;
-		for (int k = 0; k < SIZE; k++) {
-			for (int i = 0; i < SIZE; i++) {
-				for (int j = 0; j < SIZE; j++) {
-					sum += matrix[i][j] * m.matrix[j][k];
-				}
-				
-				float decVal = sum < 0 ? -sum : sum;
-				decVal = decVal - (int)decVal;
-				if (decVal <= Compute.ERROR || (decVal+Compute.ERROR) >= 1.0f) {
-					sum = Math.round(sum);
-				}
-				
-				mat[i][k] = sum;
-				sum = 0;
-			}
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a00 = m00, a01 = m01;
+		float a10 = m10, a11 = m11;
+		
+		m00 = a00*m.m00 + a01*m.m10;
+		m01 = a00*m.m01 + a01*m.m11;
+		m10 = a10*m.m00 + a11*m.m10;
+		m11 = a10*m.m01 + a11*m.m11;
+		
+		if ((Compute.getCleanup() & Compute.CLEANUP_SNAP_INTEGER) != 0) {
+			snap();
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_MULTIPLY, start);
 		}
 		
-		matrix = mat;
 		return this;
 	}
 	
+	/**
+	 * Round every element within Compute.ERROR of an integer
+	 */
+	private void snap() {
+		m00 = MatrixOps.snap(m00);	m01 = MatrixOps.snap(m01);
+		m10 = MatrixOps.snap(m10);	m11 = MatrixOps.snap(m11);
+	}
+	
 	// returns the product of an augmentation vector from this matrix
 	public final Vec2F multiply(Vec2F augmentation) {
 		
@@ -444,68 +360,147 @@ public class Matrix2x2 {
 	 * Once solved, this matrix should become an identity matrix,
 	 * otherwise, if it is not an identity matrix, it is not possible
 	 * to fully reduce this set of linear equations.
+	 * The elimination is unrolled over local copies of the entries;
+	 * a zero pivot falls back to the general elimination with row swaps.
 	 * @param x	augmented column x value
 	 * @param y augmented column y value
 	 * @return	an solved augmented Vec2F
 	 */
 	public final Vec2F solve(float x, float y) {
 		
-		int j = 0;
-		float entry = 0;
-		Vec2F augmented = new Vec2F(x, y);
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
 		
-		for (int i = 0; i < SIZE; i++) {
-			
-			// 1. set to valid leading column entry
-			if (matrix[i][j] == 0) {
-				if (!swapRowForValidPivot(i, j, augmented)) {
-					j++;
-					continue;
-				}
-			}
-				
-			// 2. divide the row to make the leading entry 1
-			entry = matrix[i][j];
-			if (entry != 1) {
-				
-				if (i == 0) 		augmented.x /= entry;
-				else if (i == 1) 	augmented.y /= entry;
-				
-				for (int l = 0; l < SIZE; l++) {
-					
-					matrix[i][l] /= entry;
-					
-					if (matrix[i][l] == -0.0f) {
-						matrix[i][l] = 0.0f;
-					}
-				}
+		float a00 = m00, a01 = m01;
+		float a10 = m10, a11 = m11;
+		float rx = x, ry = y;
+		float entry;
+		
+		// pivot 0: divide the row, then eliminate the column
+		if (a00 == 0) {
+			return solveReduced(x, y);
+		}
+		entry = a00;
+		a01 /= entry;	rx /= entry;
+		entry = a10;
+		a11 -= a01 * entry;	ry -= rx * entry;
+		
+		// pivot 1: divide the row, then eliminate the column
+		if (a11 == 0) {
+			return solveReduced(x, y);
+		}
+		entry = a11;
+		ry /= entry;
+		entry = a01;
+		rx -= ry * entry;
+		
+		set(1, 0,
+			0, 1);
+		
+		// -0.0f + 0.0f is 0.0f
+		if ((Compute.getCleanup() & Compute.CLEANUP_NEGATIVE_ZERO) != 0) {
+			rx += 0.0f;	ry += 0.0f;
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start);
+		}
+		
+		return new Vec2F(rx, ry);
+	}
+	
+	/**
+	 * Solve this matrix with the general elimination, which swaps
+	 * rows for zero pivots and reduces a singular matrix as far as it can.
+	 * @param x	augmented column x value
+	 * @param y	augmented column y value
+	 * @return	an solved augmented Vec2F
+	 */
+	private Vec2F solveReduced(float x, float y) {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a[] = get(new float[SIZE * SIZE]);
+		float b[] = {x, y};
+		MatrixOps.reduce(a, SIZE, b, 1);
+		set(a);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start, 4L * (a.length + b.length));
+		}
+		
+		return new Vec2F(b[0], b[1]);
+	}
+	
+	/**
+	 * Solve this matrix for several right hand sides with a single
+	 * elimination, each column of b being one right hand side.
+	 * Once solved, this matrix becomes an identity matrix and b
+	 * holds the solutions.
+	 * @param b	The right hand sides, SIZE rows by any amount of columns
+	 * @return	true if it succeeded,
+	 * 			false if b does not have SIZE rows or this matrix is
+	 * 			singular, in which case neither matrix changes.
+	 */
+	public final boolean solve(Matrix b) {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		int cols = b.getColCount();
+		if (b.getRowCount() != SIZE) {
+			return false;
+		}
+		
+		float a[] = get(new float[SIZE * SIZE]);
+		float x[] = b.get(new float[SIZE * cols]);
+		
+		MatrixOps.reduce(a, SIZE, x, cols);
+		
+		if (!MatrixOps.isIdentity(a, SIZE)) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_SOLVE, start, 4L * (a.length + x.length));
 			}
-			
-			// 3. eliminate all other entries
-			for (int k = 0; k < SIZE; k++) {
-				
-				entry = matrix[k][j];				
-				if (k != i) {
-					
-					if (k == 0) 		augmented.x -= augmented.y * entry;
-					else if (k == 1) 	augmented.y -= augmented.x * entry;
-					
-					for (int l = 0; l < SIZE; l++) {
-						
-						matrix[k][l] -= matrix[i][l] * entry;
-						
-						if (matrix[k][l] == -0.0f) {
-							matrix[k][l] = 0.0f;
-						}
-					}
-				}
+			return false;
+		}
+		
+		set(a);
+		b.set(x, SIZE, cols);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start, 4L * (a.length + x.length));
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Solve this matrix for several right hand sides with a single
+	 * elimination. Once solved, this matrix becomes an identity matrix
+	 * and each right hand side is replaced by its solution.
+	 * @param rhs	The right hand sides, one array of SIZE entries each
+	 * @return	true if it succeeded,
+	 * 			false if a right hand side is too short or this matrix
+	 * 			is singular, in which case nothing changes.
+	 */
+	public final boolean solve(float rhs[][]) {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a[] = get(new float[SIZE * SIZE]);
+		
+		if (!MatrixOps.solve(a, SIZE, rhs)) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_SOLVE, start, 4L * SIZE * (SIZE + rhs.length));
 			}
-			
-			// 4. increase i and j by 1 for new pivot point
-			j++;
+			return false;
+		}
+		
+		set(a);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start, 4L * SIZE * (SIZE + rhs.length));
 		}
 		
-		return augmented;
+		return true;
 	}
 	
 	/**
@@ -520,81 +515,29 @@ public class Matrix2x2 {
 	 */
 	public final Matrix2x2 inverse() {
 
-		Matrix2x2 invMat = clone();
-		Matrix2x2 augmented = new Matrix2x2();
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
 		
-		for (int i = 0; i < SIZE; i++) {
-			augmented.matrix[i][i] = 1;
-		}
+		float invMat[] = get(new float[SIZE * SIZE]);
+		float augmented[] = {
+			1, 0,
+			0, 1
+		};
 		
-		float entry = 0;
-		int j = 0;
-		
-		for (int i = 0; i < SIZE; i++) {
-			
-			// 1. set to valid leading column entry
-			if (invMat.matrix[i][j] == 0) {
-				
-				if (!invMat.swapWithValidColumnPivot(i, j, augmented)) {
-					j++;
-					continue;
-				}
-			}
-				
-			// 2. divide the row to make the leading entry 1
-			entry = invMat.matrix[i][j];
-			if (entry != 1) {
-				
-				for (int l = 0; l < SIZE; l++) {
-					
-					invMat.matrix[i][l] /= entry;
-					augmented.matrix[i][l] /= entry;
-					
-					if (invMat.matrix[i][l] == -0.0f) {
-						invMat.matrix[i][l] = 0.0f;
-					}
-					
-					if (augmented.matrix[i][l] == -0.0f) {
-						augmented.matrix[i][l] = 0.0f;
-					}
-				}
-			}
-			
-			// 3. eliminate all other entries
-			for (int k = 0; k < SIZE; k++) {
-				
-				entry = invMat.matrix[k][j];
-				if (k != i) {
-					for (int l = 0; l < SIZE; l++) {
-						
-						invMat.matrix[k][l] -= invMat.matrix[i][l] * entry;
-						augmented.matrix[k][l] -= augmented.matrix[i][l] * entry;
-						
-						if (invMat.matrix[k][l] == -0.0f) {
-							invMat.matrix[k][l] = 0.0f;
-						}
-						
-						if (augmented.matrix[k][l] == -0.0f) {
-							augmented.matrix[k][l] = 0.0f;
-						}
-					}
-				}
-			}
-			
-			// 4. increase i and j by 1 for new pivot point
-			j++;
-		}
+		MatrixOps.reduce(invMat, SIZE, augmented, SIZE);
 		
 		// if the solved matrix is not an identity matrix at the end,
 		// no inverse matrix exists, so the matrix does not change.
-		if (!invMat.isIdentityMatrix()) {
+		if (!MatrixOps.isIdentity(invMat, SIZE)) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_INVERSE, start, 8L * invMat.length);
+			}
 			return this;
 		}
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (j = 0;  j < SIZE; j++) {
-				matrix[i][j] = augmented.matrix[i][j];
-			}
+		set(augmented);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_INVERSE, start, 8L * invMat.length);
 		}
 		
 		return this;
@@ -605,12 +548,8 @@ public class Matrix2x2 {
 	 * @param val 	The value to set this matrix's elements to
 	 */
 	public final void clearTo(float val) {
-		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = val;
-			}
-		}
+		set(val, val,
+			val, val);
 	}
 	
 	/**
@@ -620,15 +559,8 @@ public class Matrix2x2 {
 	 */
 	public final boolean isZeroMatrix() {
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				if (matrix[i][j] != 0) {
-					return false;
-				}
-			}
-		}
-		
-		return true;
+		return m00 == 0 && m01 == 0 &&
+			   m10 == 0 && m11 == 0;
 	}
 	
 	/**
@@ -638,16 +570,10 @@ public class Matrix2x2 {
 	 */
 	public final boolean isLowerTriangleMatrix() {
 		
-		int size = SIZE - 1;
-		for (int i = 0; i < size; i++ ) {
-			for (int j = i+1; j < SIZE; j++) {
-				if (matrix[i][j] != 0) {
-					return false;
-				}
-			}
-		}
+		// only top right are zeros
+		// diagonal and bottom are non-zero
 		
-		return true;
+		return m01 == 0;
 	}
 	
 	/**
@@ -657,15 +583,9 @@ public class Matrix2x2 {
 	 */
 	public final boolean isUpperTriangleMatrix() {
 		
-		for (int i = 1; i < SIZE; i++) {
-			for (int j = 0; j < i; j++) {
-				if (matrix[i][j] != 0) {
-					return false;
-				}
-			}
-		}
+		// bottom left are zeros
 		
-		return true;
+		return m10 == 0;
 	}
 	
 	/**
@@ -673,17 +593,7 @@ public class Matrix2x2 {
 	 * @return	true if the matrix is symmetric along the diagonal.
 	 */
 	public final boolean isSymmetricMatrix() {
-		
-		int size = SIZE - 1;
-		for (int i = 0; i < size; i++ ) {
-			for (int j = i+1; j < SIZE; j++) {
-				if (matrix[i][j] != matrix[j][i]) {
-					return false;
-				}
-			}
-		}
-		
-		return true;
+		return m01 == m10;
 	}
 	
 	/**
@@ -700,18 +610,7 @@ public class Matrix2x2 {
 			return false;
 		}
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				
-				if (i != j) {
-					if (matrix[i][j] != 0) {
-						return false;
-					}
-				}
-			}
-		}
-		
-		return true;
+		return m01 == 0 && m10 == 0;
 	}
 	
 	/**
@@ -722,22 +621,8 @@ public class Matrix2x2 {
 	 */
 	public final boolean isIdentityMatrix() {
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				
-				if (i == j) {
-					if (matrix[i][j] != 1) {
-						return false;
-					}
-				} else {
-					if (matrix[i][j] != 0) {
-						return false;
-					}
-				}
-			}
-		}
-		
-		return true;
+		return m00 == 1 && m01 == 0 &&
+			   m10 == 0 && m11 == 1;
 	}
 	
 	/**
@@ -759,6 +644,12 @@ public class Matrix2x2 {
 		return true;
 	}
 	
+	/**
+	 * Test for equality, allowing Compute.ERROR of difference between
+	 * elements. Identical matrices have the same hashCode(), but matrices
+	 * that are only within the tolerance of each other usually do not,
+	 * so only exact copies reliably match as hash keys.
+	 */
 	@Override
 	public boolean equals(Object obj) {
 		
@@ -774,7 +665,7 @@ public class Matrix2x2 {
 		
 		for (int i = 0; i < SIZE; i++) {
 			for (int j = 0; j < SIZE; j++) {
-				if (equals(m.matrix[i][j], matrix[i][j], Compute.ERROR)) {
+				if (!equals(m.get(i, j), get(i, j), Compute.ERROR)) {
 					return false;
 				}
 			}
@@ -783,18 +674,29 @@ public class Matrix2x2 {
 		return true;
 	}
 	
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Float.floatToIntBits(m00);
+		result = prime * result + Float.floatToIntBits(m01);
+		result = prime * result + Float.floatToIntBits(m10);
+		result = prime * result + Float.floatToIntBits(m11);
+		return result;
+	}
+	
+	/**
+	 * Write this matrix in the toString format, one row per line.
+	 * @param out	The destination, such as a Writer or StringBuilder
+	 * @throws IOException	if the destination fails to append
+	 */
+	public final void writeTo(Appendable out) throws IOException {
+		MatrixOps.write(out, get(new float[SIZE * SIZE]), SIZE, SIZE);
+	}
+	
 	@Override
 	public String toString() {
-		
-		String strMatrix = new String();
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				strMatrix += matrix[i][j] + " ";
-			}
-			strMatrix += "\n";
-		}
-		
-		return strMatrix;
+		return MatrixOps.toString(get(new float[SIZE * SIZE]), SIZE, SIZE);
 	}
 	
 	@Override
@@ -39,21 +39,27 @@
 
 package com.bulletdave.math.matrix;
 
+import java.io.IOException;
+
 import com.bulletdave.math.Compute;
+import com.bulletdave.math.Metrics;
 import com.bulletdave.math.vector.Vec3F;
 
 
+
 public class Matrix3x3 {
 
 	public static final int SIZE = 3;	// matrix size
-	private float matrix[][]; 			// the 2D matrix
+	
+	// matrix entries, mRC is the entry at row R and column C
+	public float m00, m01, m02;
+	public float m10, m11, m12;
+	public float m20, m21, m22;
 
 	/**
 	 * Default constructor sets values to 0.
 	 */
 	public Matrix3x3() {
-		matrix = new float[SIZE][SIZE];
-		clearTo(0);
 	}
 	
 	/**
@@ -71,10 +77,9 @@ public class Matrix3x3 {
 	public Matrix3x3(float m00, float m01, float m02, 
 					 float m10, float m11, float m12,
 					 float m20, float m21, float m22) {
-		matrix = new float[SIZE][SIZE];
-		matrix[0][0] = m00;		matrix[0][1] = m01; 	matrix[0][2] = m02;
-		matrix[1][0] = m10;		matrix[1][1] = m11;		matrix[1][2] = m12;
-		matrix[2][0] = m20;		matrix[2][1] = m21;		matrix[2][2] = m22;
+		set(m00, m01, m02,
+			m10, m11, m12,
+			m20, m21, m22);
 	}
 	
 	/**
@@ -84,10 +89,9 @@ public class Matrix3x3 {
 	 * @param r3	Row 3
 	 */
 	public Matrix3x3(Vec3F r1, Vec3F r2, Vec3F r3) {
-		matrix = new float[SIZE][SIZE];
-		matrix[0][0] = r1.x;	matrix[0][1] = r1.y;	matrix[0][2] = r1.z;
-		matrix[1][0] = r2.x;	matrix[1][1] = r2.y;	matrix[1][2] = r2.z;
-		matrix[2][0] = r3.x;	matrix[2][1] = r3.y;	matrix[2][2] = r3.z;
+		m00 = r1.x;		m01 = r1.y;		m02 = r1.z;
+		m10 = r2.x;		m11 = r2.y;		m12 = r2.z;
+		m20 = r3.x;		m21 = r3.y;		m22 = r3.z;
 	}
 	
 	/**
@@ -95,7 +99,6 @@ public class Matrix3x3 {
 	 * @param mat	The array containing matrix entries
 	 */
 	public Matrix3x3(float mat[]) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
@@ -104,7 +107,6 @@ public class Matrix3x3 {
 	 * @param mat	The 2D entry array
 	 */
 	public Matrix3x3(float mat[][]) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
@@ -113,7 +115,6 @@ public class Matrix3x3 {
 	 * @param mat	An array of 2D Vec3F
 	 */
 	public Matrix3x3(Vec3F mat[]) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
@@ -122,24 +123,39 @@ public class Matrix3x3 {
 	 * @param mat	The target matrix to be copied
 	 */
 	public Matrix3x3(Matrix3x3 mat) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
+	/**
+	 * Set this matrix using individual floats
+	 * @param m00	entry (0, 0)
+	 * @param m01	entry (0, 1)
+	 * @param m02	entry (0, 2)
+	 * @param m10	entry (1, 0)
+	 * @param m11	entry (1, 1)
+	 * @param m12	entry (1, 2)
+	 * @param m20	entry (2, 0)
+	 * @param m21	entry (2, 1)
+	 * @param m22	entry (2, 2)
+	 * @return	A reference to this matrix
+	 */
+	public final Matrix3x3 set(float m00, float m01, float m02,
+							   float m10, float m11, float m12,
+							   float m20, float m21, float m22) {
+		this.m00 = m00;		this.m01 = m01;		this.m02 = m02;
+		this.m10 = m10;		this.m11 = m11;		this.m12 = m12;
+		this.m20 = m20;		this.m21 = m21;		this.m22 = m22;
+		return this;
+	}
+	
 	/**
 	 * Set this matrix using a float array
 	 * @param mat[] 	The float array containing matrix entries
 	 */
 	public void set(float mat[]) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		int index = 0;
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = mat[index];
-				index++;
-			}
-		}
+		m00 = mat[0];	m01 = mat[1];	m02 = mat[2];
+		m10 = mat[3];	m11 = mat[4];	m12 = mat[5];
+		m20 = mat[6];	m21 = mat[7];	m22 = mat[8];
 	}
 	
 	/**
@@ -147,13 +163,9 @@ public class Matrix3x3 {
 	 * @param mat[][] 	The 2D float array containing matrix entries
 	 */
 	public void set(float mat[][]) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = mat[i][j];
-			}
-		}
+		m00 = mat[0][0];	m01 = mat[0][1];	m02 = mat[0][2];
+		m10 = mat[1][0];	m11 = mat[1][1];	m12 = mat[1][2];
+		m20 = mat[2][0];	m21 = mat[2][1];	m22 = mat[2][2];
 	}
 	
 	/**
@@ -161,13 +173,9 @@ public class Matrix3x3 {
 	 * @param mat[]	An array of Vec3F
 	 */
 	public void set(Vec3F mat[]) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		for (int i = 0; i < SIZE; i++) {
-			matrix[i][0] = mat[i].x;
-			matrix[i][1] = mat[i].y;
-			matrix[i][2] = mat[i].z;
-		}
+		m00 = mat[0].x;		m01 = mat[0].y;		m02 = mat[0].z;
+		m10 = mat[1].x;		m11 = mat[1].y;		m12 = mat[1].z;
+		m20 = mat[2].x;		m21 = mat[2].y;		m22 = mat[2].z;
 	}
 	
 	/**
@@ -175,13 +183,21 @@ public class Matrix3x3 {
 	 * @param mat	The target matrix's elements to copy over
 	 */
 	public void set(Matrix3x3 mat) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = mat.matrix[i][j];
-			}
-		}
+		m00 = mat.m00;	m01 = mat.m01;	m02 = mat.m02;
+		m10 = mat.m10;	m11 = mat.m11;	m12 = mat.m12;
+		m20 = mat.m20;	m21 = mat.m21;	m22 = mat.m22;
+	}
+	
+	/**
+	 * Copy the elements of this matrix into a float array, row by row
+	 * @param mat	The array receiving the 9 entries
+	 * @return	A reference to mat
+	 */
+	public final float[] get(float mat[]) {
+		mat[0] = m00;	mat[1] = m01;	mat[2] = m02;
+		mat[3] = m10;	mat[4] = m11;	mat[5] = m12;
+		mat[6] = m20;	mat[7] = m21;	mat[8] = m22;
+		return mat;
 	}
 	
 	/**
@@ -197,7 +213,17 @@ public class Matrix3x3 {
 			return;
 		}
 		
-		matrix[row][col] = val;
+		switch (row * SIZE + col) {
+		case 0:		m00 = val;	break;
+		case 1:		m01 = val;	break;
+		case 2:		m02 = val;	break;
+		case 3:		m10 = val;	break;
+		case 4:		m11 = val;	break;
+		case 5:		m12 = val;	break;
+		case 6:		m20 = val;	break;
+		case 7:		m21 = val;	break;
+		default:	m22 = val;	break;
+		}
 	}
 	
 	/**
@@ -214,7 +240,17 @@ public class Matrix3x3 {
 			return 0;
 		}
 		
-		return matrix[i][j];
+		switch (i * SIZE + j) {
+		case 0:		return m00;
+		case 1:		return m01;
+		case 2:		return m02;
+		case 3:		return m10;
+		case 4:		return m11;
+		case 5:		return m12;
+		case 6:		return m20;
+		case 7:		return m21;
+		default:	return m22;
+		}
 	}
 	
 	/**
@@ -224,111 +260,12 @@ public class Matrix3x3 {
 	 */
 	public final Vec3F getRow(int i) {
 		
-		if (i < 0 || i >= SIZE) {
-			return null;
-		}
-		
-		return new Vec3F(matrix[i][0], matrix[i][1], matrix[i][2]);
-	}
-	
-	/**
-	 * Swap a row of this matrix with another
-	 * @param r1	Target row to swap
-	 * @param r2	Destination row to swap
-	 * @param augmented 	optional augmented matrix to swap
-	 * @return	true if it succeeded,
-	 * 			false if invalid row specified,
-	 * 			false if no swap occurs
-	 */
-	private final boolean swapRow(int r1, int r2, Vec3F augmented) {
-		
-		if (r1 < 0 || r1 >= SIZE || 
-			r2 < 0 || r2 >= SIZE || 
-			r1 == r2) {
-			return false;
-		}
-		
-		for (int j = 0; j < SIZE; j++) {
-			float temp = matrix[r1][j];
-			matrix[r1][j] = matrix[r2][j];
-			matrix[r2][j] = temp;
-		}
-		
-		if (augmented != null) {
-			
-			float temp1 = 0;
-			float temp2 = 0;
-			
-			if (r1 == 0) 		temp1 = augmented.x;
-			else if (r1 == 1) 	temp1 = augmented.y;
-			else if (r1 == 2) 	temp1 = augmented.z;
-			if (r2 == 0) 		temp2 = augmented.x;
-			else if (r2 == 1) 	temp2 = augmented.y;
-			else if (r2 == 2) 	temp2 = augmented.z;
-			
-			if (r1 == 0) 		augmented.x = temp2;
-			else if (r1 == 1) 	augmented.y = temp2;
-			else if (r1 == 2) 	augmented.z = temp2;
-			if (r2 == 0) 		augmented.x = temp1;
-			else if (r2 == 1) 	augmented.y = temp1;
-			else if (r2 == 2) 	augmented.z = temp1;
-		}
-		
-		return true;
-	}
-
-	/**
-	 * Find a valid leading entry at a specified location
-	 * within the matrix. Above rows are ignored.
-	 * @param i	The target row
-	 * @param j	The target column
-	 * @param augmented 	optional augmented matrix to swap
-	 * @return	true on success,
-	 * 			false if no valid row found to swap with,
-	 * 			false if (i, j) index is out of bound.
-	 */
-	private final boolean swapRowForValidPivot(int i, int j, Vec3F augmented) {
-		
-		if (i < 0 || j < 0 || i >= SIZE || j >= SIZE) {
-			return false;
-		}
-		
-		for (int y = i+1; y < SIZE; y++) {
-			if (matrix[y][j] != 0) {
-				swapRow(i, y, augmented);
-				return true;
-			}
+		switch (i) {
+		case 0:		return new Vec3F(m00, m01, m02);
+		case 1:		return new Vec3F(m10, m11, m12);
+		case 2:		return new Vec3F(m20, m21, m22);
+		default:	return null;
 		}
-		
-		return false;
-	}
-	
-	/**
-	 * Find a valid leading entry at a specified location
-	 * within the matrix. Above rows are ignored. Performs
-	 * the same row swap for an augmented matrix
-	 * @param i	The target row
-	 * @param j	The target column
-	 * @param augmented	An augmented matrix
-	 * @return	true on success,
-	 * 			false if no valid row found to swap with,
-	 * 			false if (i, j) index is out of bound.
-	 */
-	private final boolean swapWithValidColumnPivot(int i, int j, Matrix3x3 augmented) {
-		
-		if (i < 0 || j < 0 || i >= SIZE || j >= SIZE) {
-			return false;
-		}
-		
-		for (int y = i+1; y < SIZE; y++) {
-			if (matrix[y][j] != 0) {
-				swapRow(i, y, null);
-				augmented.swapRow(i, y, null);
-				return true;
-			}
-		}
-		
-		return false;
 	}
 	
 	/**
@@ -337,15 +274,11 @@ public class Matrix3x3 {
 	 * @return	A reference to this matrix
 	 */
 	public final Matrix3x3 transpose() {
-			
+		
 		float temp = 0;
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = i+1; j < SIZE; j++) {
-				temp = matrix[i][j];
-				matrix[i][j] = matrix[j][i];
-				matrix[j][i] = temp;
-			}
-		}
+		temp = m01;	m01 = m10;	m10 = temp;
+		temp = m02;	m02 = m20;	m20 = temp;
+		temp = m12;	m12 = m21;	m21 = temp;
 		
 		return this;
 	}
@@ -357,11 +290,9 @@ public class Matrix3x3 {
 	 */
 	public final Matrix3x3 add(Matrix3x3 m) {
 		
-		for (int j = 0; j < SIZE; j++) {
-			for (int i = 0; i < SIZE; i++) {
-				matrix[i][j] += m.matrix[i][j];
-			}
-		}
+		m00 += m.m00;	m01 += m.m01;	m02 += m.m02;
+		m10 += m.m10;	m11 += m.m11;	m12 += m.m12;
+		m20 += m.m20;	m21 += m.m21;	m22 += m.m22;
 		
 		return this;
 	}
@@ -373,11 +304,9 @@ public class Matrix3x3 {
 	 */
 	public final Matrix3x3 subtract(Matrix3x3 m) {
 		
-		for (int j = 0; j < SIZE; j++) {
-			for (int i = 0; i < SIZE; i++) {
-				matrix[i][j] -= m.matrix[i][j];
-			}
-		}
+		m00 -= m.m00;	m01 -= m.m01;	m02 -= m.m02;
+		m10 -= m.m10;	m11 -= m.m11;	m12 -= m.m12;
+		m20 -= m.m20;	m21 -= m.m21;	m22 -= m.m22;
 		
 		return this;
 	}
@@ -390,11 +319,9 @@ public class Matrix3x3 {
 	 */
 	public final Matrix3x3 scale(float value) {
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] *= value;
-			}
-		}
+		m00 *= value;	m01 *= value;	m02 *= value;
+		m10 *= value;	m11 *= value;	m12 *= value;
+		m20 *= value;	m21 *= value;	m22 *= value;
 		
 		return this;
 	}
@@ -406,30 +333,48 @@ public class Matrix3x3 {
 	 */
 	public final Matrix3x3 multiply(Matrix3x3 m) {
 		
-		float mat[][] = new float[SIZE][SIZE];
-
-		float sum = 0;
-		for (int k = 0; k < SIZE; k++) {
-			for (int i = 0; i < SIZE; i++) {
-				for (int j = 0; j < SIZE; j++) {
-					sum += matrix[i][j] * m.matrix[j][k];
-				}
-				
-				float decVal = sum < 0 ? -sum : sum;
-				decVal = decVal - (int)decVal;
-				if (decVal <= Compute.ERROR || (decVal+Compute.ERROR) >= 1.0f) {
-					sum = Math.round(sum);
-				}
-				
-				mat[i][k] = sum;
-				sum = 0;
-			}
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a00 = m00, a01 = m01, a02 = m02;
+		float a10 = m10, a11 = m11, a12 = m12;
+		float a20 = m20, a21 = m21, a22 = m22;
+		
+		float b00 = m.m00, b01 = m.m01, b02 = m.m02;
+		float b10 = m.m10, b11 = m.m11, b12 = m.m12;
+		float b20 = m.m20, b21 = m.m21, b22 = m.m22;
+		
+		m00 = a00*b00 + a01*b10 + a02*b20;
+		m01 = a00*b01 + a01*b11 + a02*b21;
+		m02 = a00*b02 + a01*b12 + a02*b22;
+		
+		m10 = a10*b00 + a11*b10 + a12*b20;
+		m11 = a10*b01 + a11*b11 + a12*b21;
+		m12 = a10*b02 + a11*b12 + a12*b22;
+		
+		m20 = a20*b00 + a21*b10 + a22*b20;
+		m21 = a20*b01 + a21*b11 + a22*b21;
+		m22 = a20*b02 + a21*b12 + a22*b22;
+		
+		if ((Compute.getCleanup() & Compute.CLEANUP_SNAP_INTEGER) != 0) {
+			snap();
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_MULTIPLY, start);
 		}
 		
-		matrix = mat;
 		return this;
 	}
 	
+	/**
+	 * Round every element within Compute.ERROR of an integer
+	 */
+	private void snap() {
+		m00 = MatrixOps.snap(m00);	m01 = MatrixOps.snap(m01);	m02 = MatrixOps.snap(m02);
+		m10 = MatrixOps.snap(m10);	m11 = MatrixOps.snap(m11);	m12 = MatrixOps.snap(m12);
+		m20 = MatrixOps.snap(m20);	m21 = MatrixOps.snap(m21);	m22 = MatrixOps.snap(m22);
+	}
+	
 	/**
 	 * The power of this matrix is the product of the multiplication 
 	 * of this matrix N times.
@@ -458,6 +403,8 @@ public class Matrix3x3 {
 	 * Once solved, this matrix should become an identity matrix,
 	 * otherwise, if it is not an identity matrix, it is not possible
 	 * to fully reduce this set of linear equations.
+	 * The elimination is unrolled over local copies of the entries;
+	 * a zero pivot falls back to the general elimination with row swaps.
 	 * @param x	augmented column x value
 	 * @param y augmented column y value
 	 * @param z augmented column z value
@@ -465,70 +412,157 @@ public class Matrix3x3 {
 	 */
 	public final Vec3F solve(float x, float y, float z) {
 		
-		int j = 0;
-		float entry = 0;
-		Vec3F augmented = new Vec3F(x, y, z);
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
 		
-		for (int i = 0; i < SIZE; i++) {
-			
-			// 1. set to valid leading column entry
-			if (matrix[i][j] == 0) {
-				if (!swapRowForValidPivot(i, j, augmented)) {
-					j++;
-					continue;
-				}
-			}
-				
-			// 2. divide the row to make the leading entry 1
-			entry = matrix[i][j];
-			if (entry != 1) {
-				
-				if (i == 0)		 	augmented.x /= entry;
-				else if (i == 1) 	augmented.y /= entry;
-				else if (i == 2) 	augmented.z /= entry;
-				
-				for (int l = 0; l < SIZE; l++) {
-					
-					matrix[i][l] /= entry;
-					
-					if (matrix[i][l] == -0.0f) {
-						matrix[i][l] = 0.0f;
-					}
-				}
+		float a00 = m00, a01 = m01, a02 = m02;
+		float a10 = m10, a11 = m11, a12 = m12;
+		float a20 = m20, a21 = m21, a22 = m22;
+		float rx = x, ry = y, rz = z;
+		float entry;
+		
+		// pivot 0: divide the row, then eliminate the column
+		if (a00 == 0) {
+			return solveReduced(x, y, z);
+		}
+		entry = a00;
+		a01 /= entry;	a02 /= entry;	rx /= entry;
+		entry = a10;
+		a11 -= a01 * entry;	a12 -= a02 * entry;	ry -= rx * entry;
+		entry = a20;
+		a21 -= a01 * entry;	a22 -= a02 * entry;	rz -= rx * entry;
+		
+		// pivot 1: divide the row, then eliminate the column
+		if (a11 == 0) {
+			return solveReduced(x, y, z);
+		}
+		entry = a11;
+		a12 /= entry;	ry /= entry;
+		entry = a01;
+		a02 -= a12 * entry;	rx -= ry * entry;
+		entry = a21;
+		a22 -= a12 * entry;	rz -= ry * entry;
+		
+		// pivot 2: divide the row, then eliminate the column
+		if (a22 == 0) {
+			return solveReduced(x, y, z);
+		}
+		entry = a22;
+		rz /= entry;
+		entry = a02;
+		rx -= rz * entry;
+		entry = a12;
+		ry -= rz * entry;
+		
+		set(1, 0, 0,
+			0, 1, 0,
+			0, 0, 1);
+		
+		// -0.0f + 0.0f is 0.0f
+		if ((Compute.getCleanup() & Compute.CLEANUP_NEGATIVE_ZERO) != 0) {
+			rx += 0.0f;	ry += 0.0f;	rz += 0.0f;
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start);
+		}
+		
+		return new Vec3F(rx, ry, rz);
+	}
+	
+	/**
+	 * Solve this matrix with the general elimination, which swaps
+	 * rows for zero pivots and reduces a singular matrix as far as it can.
+	 * @param x	augmented column x value
+	 * @param y	augmented column y value
+	 * @param z	augmented column z value
+	 * @return	an solved augmented Vec3F
+	 */
+	private Vec3F solveReduced(float x, float y, float z) {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a[] = get(new float[SIZE * SIZE]);
+		float b[] = {x, y, z};
+		MatrixOps.reduce(a, SIZE, b, 1);
+		set(a);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start, 4L * (a.length + b.length));
+		}
+		
+		return new Vec3F(b[0], b[1], b[2]);
+	}
+	
+	/**
+	 * Solve this matrix for several right hand sides with a single
+	 * elimination, each column of b being one right hand side.
+	 * Once solved, this matrix becomes an identity matrix and b
+	 * holds the solutions.
+	 * @param b	The right hand sides, SIZE rows by any amount of columns
+	 * @return	true if it succeeded,
+	 * 			false if b does not have SIZE rows or this matrix is
+	 * 			singular, in which case neither matrix changes.
+	 */
+	public final boolean solve(Matrix b) {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		int cols = b.getColCount();
+		if (b.getRowCount() != SIZE) {
+			return false;
+		}
+		
+		float a[] = get(new float[SIZE * SIZE]);
+		float x[] = b.get(new float[SIZE * cols]);
+		
+		MatrixOps.reduce(a, SIZE, x, cols);
+		
+		if (!MatrixOps.isIdentity(a, SIZE)) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_SOLVE, start, 4L * (a.length + x.length));
 			}
-			
-			float av = 0;
-			
-			if (i == 0) 		av = augmented.x;
-			else if (i == 1) 	av = augmented.y;
-			else if (i == 2) 	av = augmented.z;
-			
-			// 3. eliminate all other entries
-			for (int k = 0; k < SIZE; k++) {
-				
-				entry = matrix[k][j];				
-				if (k != i) {
-					
-					if (k == 0) 	augmented.x -= av * entry;
-					if (k == 1) 	augmented.y -= av * entry;
-					if (k == 2) 	augmented.z -= av * entry;
-					
-					for (int l = 0; l < SIZE; l++) {
-						
-						matrix[k][l] -= matrix[i][l] * entry;
-						
-						if (matrix[k][l] == -0.0f) {
-							matrix[k][l] = 0.0f;
-						}
-					}
-				}
+			return false;
+		}
+		
+		set(a);
+		b.set(x, SIZE, cols);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start, 4L * (a.length + x.length));
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Solve this matrix for several right hand sides with a single
+	 * elimination. Once solved, this matrix becomes an identity matrix
+	 * and each right hand side is replaced by its solution.
+	 * @param rhs	The right hand sides, one array of SIZE entries each
+	 * @return	true if it succeeded,
+	 * 			false if a right hand side is too short or this matrix
+	 * 			is singular, in which case nothing changes.
+	 */
+	public final boolean solve(float rhs[][]) {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a[] = get(new float[SIZE * SIZE]);
+		
+		if (!MatrixOps.solve(a, SIZE, rhs)) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_SOLVE, start, 4L * SIZE * (SIZE + rhs.length));
 			}
-			
-			// 4. increase i and j by 1 for new pivot point
-			j++;
+			return false;
 		}
 		
-		return augmented;
+		set(a);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start, 4L * SIZE * (SIZE + rhs.length));
+		}
+		
+		return true;
 	}
 	
 	/**
@@ -543,81 +577,30 @@ public class Matrix3x3 {
 	 */
 	public final Matrix3x3 inverse() {
 
-		Matrix3x3 invMat = clone();
-		Matrix3x3 augmented = new Matrix3x3();
-		
-		for (int i = 0; i < SIZE; i++) {
-			augmented.matrix[i][i] = 1;
-		}
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
 		
-		float entry = 0;
-		int j = 0;
+		float invMat[] = get(new float[SIZE * SIZE]);
+		float augmented[] = {
+			1, 0, 0,
+			0, 1, 0,
+			0, 0, 1
+		};
 		
-		for (int i = 0; i < SIZE; i++) {
-			
-			// 1. set to valid leading column entry
-			if (invMat.matrix[i][j] == 0) {
-				
-				if (!invMat.swapWithValidColumnPivot(i, j, augmented)) {
-					j++;
-					continue;
-				}
-			}
-				
-			// 2. divide the row to make the leading entry 1
-			entry = invMat.matrix[i][j];
-			if (entry != 1) {
-				
-				for (int l = 0; l < SIZE; l++) {
-					
-					invMat.matrix[i][l] /= entry;
-					augmented.matrix[i][l] /= entry;
-					
-					if (invMat.matrix[i][l] == -0.0f) {
-						invMat.matrix[i][l] = 0.0f;
-					}
-					
-					if (augmented.matrix[i][l] == -0.0f) {
-						augmented.matrix[i][l] = 0.0f;
-					}
-				}
-			}
-			
-			// 3. eliminate all other entries
-			for (int k = 0; k < SIZE; k++) {
-				
-				entry = invMat.matrix[k][j];
-				if (k != i) {
-					for (int l = 0; l < SIZE; l++) {
-						
-						invMat.matrix[k][l] -= invMat.matrix[i][l] * entry;
-						augmented.matrix[k][l] -= augmented.matrix[i][l] * entry;
-						
-						if (invMat.matrix[k][l] == -0.0f) {
-							invMat.matrix[k][l] = 0.0f;
-						}
-						
-						if (augmented.matrix[k][l] == -0.0f) {
-							augmented.matrix[k][l] = 0.0f;
-						}
-					}
-				}
-			}
-			
-			// 4. increase i and j by 1 for new pivot point
-			j++;
-		}
+		MatrixOps.reduce(invMat, SIZE, augmented, SIZE);
 		
 		// if the solved matrix is not an identity matrix at the end,
 		// no inverse matrix exists, so the matrix does not change.
-		if (!invMat.isIdentityMatrix()) {
+		if (!MatrixOps.isIdentity(invMat, SIZE)) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_INVERSE, start, 8L * invMat.length);
+			}
 			return this;
 		}
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (j = 0;  j < SIZE; j++) {
-				matrix[i][j] = augmented.matrix[i][j];
-			}
+		set(augmented);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_INVERSE, start, 8L * invMat.length);
 		}
 		
 		return this;
@@ -628,12 +611,9 @@ public class Matrix3x3 {
 	 * @param val 	The value to set this matrix's elements to
 	 */
 	public final void clearTo(float val) {
-		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = val;
-			}
-		}
+		set(val, val, val,
+			val, val, val,
+			val, val, val);
 	}
 	
 	/**
@@ -643,18 +623,11 @@ public class Matrix3x3 {
 	 */
 	public final boolean isZeroMatrix() {
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				if (matrix[i][j] != 0) {
-					return false;
-				}
-			}
-		}
-		
-		return true;
+		return m00 == 0 && m01 == 0 && m02 == 0 &&
+			   m10 == 0 && m11 == 0 && m12 == 0 &&
+			   m20 == 0 && m21 == 0 && m22 == 0;
 	}
 	
-	
 	/**
 	 * Verify if this matrix is a lower triangle matrix.
 	 * Top-right entries are zero, excluding diagonal.
@@ -665,16 +638,8 @@ public class Matrix3x3 {
 		// only top right are zeros
 		// diagonal and bottom are non-zero
 		
-		int size = SIZE - 1;
-		for (int i = 0; i < size; i++ ) {
-			for (int j = i+1; j < SIZE; j++) {
-				if (matrix[i][j] != 0) {
-					return false;
-				}
-			}
-		}
-		
-		return true;
+		return m01 == 0 && m02 == 0 &&
+			   m12 == 0;
 	}
 	
 	/**
@@ -686,15 +651,8 @@ public class Matrix3x3 {
 		
 		// bottom left are zeros
 		
-		for (int i = 1; i < SIZE; i++) {
-			for (int j = 0; j < i; j++) {
-				if (matrix[i][j] != 0) {
-					return false;
-				}
-			}
-		}
-		
-		return true;
+		return m10 == 0 &&
+			   m20 == 0 && m21 == 0;
 	}
 	
 	/**
@@ -703,16 +661,8 @@ public class Matrix3x3 {
 	 */
 	public final boolean isSymmetricMatrix() {
 		
-		int size = SIZE - 1;
-		for (int i = 0; i < size; i++ ) {
-			for (int j = i+1; j < SIZE; j++) {
-				if (matrix[i][j] != matrix[j][i]) {
-					return false;
-				}
-			}
-		}
-		
-		return true;
+		return m01 == m10 && m02 == m20 &&
+			   m12 == m21;
 	}
 	
 	/**
@@ -729,18 +679,7 @@ public class Matrix3x3 {
 			return false;
 		}
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				
-				if (i != j) {
-					if (matrix[i][j] != 0) {
-						return false;
-					}
-				}
-			}
-		}
-		
-		return true;
+		return isLowerTriangleMatrix() && isUpperTriangleMatrix();
 	}
 	
 	/**
@@ -751,22 +690,8 @@ public class Matrix3x3 {
 	 */
 	public final boolean isIdentityMatrix() {
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				
-				if (i == j) {
-					if (matrix[i][j] != 1) {
-						return false;
-					}
-				} else {
-					if (matrix[i][j] != 0) {
-						return false;
-					}
-				}
-			}
-		}
-		
-		return true;
+		return m00 == 1 && m11 == 1 && m22 == 1 &&
+			   isLowerTriangleMatrix() && isUpperTriangleMatrix();
 	}
 	
 	/**
@@ -788,6 +713,12 @@ public class Matrix3x3 {
 		return true;
 	}
 	
+	/**
+	 * Test for equality, allowing Compute.ERROR of difference between
+	 * elements. Identical matrices have the same hashCode(), but matrices
+	 * that are only within the tolerance of each other usually do not,
+	 * so only exact copies reliably match as hash keys.
+	 */
 	@Override
 	public boolean equals(Object obj) {
 		
@@ -803,7 +734,7 @@ public class Matrix3x3 {
 		
 		for (int i = 0; i < SIZE; i++) {
 			for (int j = 0; j < SIZE; j++) {
-				if (equals(m.matrix[i][j], matrix[i][j], Compute.ERROR)) {
+				if (!equals(m.get(i, j), get(i, j), Compute.ERROR)) {
 					return false;
 				}
 			}
@@ -812,18 +743,34 @@ public class Matrix3x3 {
 		return true;
 	}
 	
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Float.floatToIntBits(m00);
+		result = prime * result + Float.floatToIntBits(m01);
+		result = prime * result + Float.floatToIntBits(m02);
+		result = prime * result + Float.floatToIntBits(m10);
+		result = prime * result + Float.floatToIntBits(m11);
+		result = prime * result + Float.floatToIntBits(m12);
+		result = prime * result + Float.floatToIntBits(m20);
+		result = prime * result + Float.floatToIntBits(m21);
+		result = prime * result + Float.floatToIntBits(m22);
+		return result;
+	}
+	
+	/**
+	 * Write this matrix in the toString format, one row per line.
+	 * @param out	The destination, such as a Writer or StringBuilder
+	 * @throws IOException	if the destination fails to append
+	 */
+	public final void writeTo(Appendable out) throws IOException {
+		MatrixOps.write(out, get(new float[SIZE * SIZE]), SIZE, SIZE);
+	}
+	
 	@Override
 	public String toString() {
-		
-		String strMatrix = new String();
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				strMatrix += matrix[i][j] + " ";
-			}
-			strMatrix += "\n";
-		}
-		
-		return strMatrix;
+		return MatrixOps.toString(get(new float[SIZE * SIZE]), SIZE, SIZE);
 	}
 	
 	@Override
@@ -39,21 +39,30 @@
 
 package com.bulletdave.math.matrix;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
 import com.bulletdave.math.Compute;
+import com.bulletdave.math.Metrics;
 import com.bulletdave.math.vector.Vec4F;
 
 
+
 public class Matrix4x4 {
 
 	public static final int SIZE = 4;	// matrix size
-	private float matrix[][]; 			// the 2D matrix
+	
+	// matrix entries, mRC is the entry at row R and column C
+	public float m00, m01, m02, m03;
+	public float m10, m11, m12, m13;
+	public float m20, m21, m22, m23;
+	public float m30, m31, m32, m33;
 
 	/**
 	 * Default constructor sets values to 0.
 	 */
 	public Matrix4x4() {
-		matrix = new float[SIZE][SIZE];
-		clearTo(0);
 	}
 	
 	/**
@@ -79,11 +88,10 @@ public class Matrix4x4 {
 					 float m10, float m11, float m12, float m13,
 					 float m20, float m21, float m22, float m23,
 					 float m30, float m31, float m32, float m33) {
-		matrix = new float[SIZE][SIZE];
-		matrix[0][0] = m00;		matrix[0][1] = m01; 	matrix[0][2] = m02; 	matrix[0][3] = m03;
-		matrix[1][0] = m10;		matrix[1][1] = m11;		matrix[1][2] = m12;		matrix[1][3] = m13;
-		matrix[2][0] = m20;		matrix[2][1] = m21;		matrix[2][2] = m22;		matrix[2][3] = m23;
-		matrix[3][0] = m30;		matrix[3][1] = m31;		matrix[3][2] = m32;		matrix[3][3] = m33;
+		set(m00, m01, m02, m03,
+			m10, m11, m12, m13,
+			m20, m21, m22, m23,
+			m30, m31, m32, m33);
 	}
 	
 	/**
@@ -94,11 +102,10 @@ public class Matrix4x4 {
 	 * @param r4	Row 4
 	 */
 	public Matrix4x4(Vec4F r1, Vec4F r2, Vec4F r3, Vec4F r4) {
-		matrix = new float[SIZE][SIZE];
-		matrix[0][0] = r1.x;	matrix[0][1] = r1.y;	matrix[0][2] = r1.z;	matrix[0][3] = r1.w;
-		matrix[1][0] = r2.x;	matrix[1][1] = r2.y;	matrix[1][2] = r2.z;	matrix[1][3] = r2.w;
-		matrix[2][0] = r3.x;	matrix[2][1] = r3.y;	matrix[2][2] = r3.z;	matrix[2][3] = r3.w;
-		matrix[3][0] = r4.x;	matrix[3][1] = r4.y;	matrix[3][2] = r4.z;	matrix[3][3] = r4.w;
+		m00 = r1.x;		m01 = r1.y;		m02 = r1.z;		m03 = r1.w;
+		m10 = r2.x;		m11 = r2.y;		m12 = r2.z;		m13 = r2.w;
+		m20 = r3.x;		m21 = r3.y;		m22 = r3.z;		m23 = r3.w;
+		m30 = r4.x;		m31 = r4.y;		m32 = r4.z;		m33 = r4.w;
 	}
 	
 	/**
@@ -106,7 +113,6 @@ public class Matrix4x4 {
 	 * @param mat	The array containing matrix entries
 	 */
 	public Matrix4x4(float mat[]) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
@@ -115,7 +121,6 @@ public class Matrix4x4 {
 	 * @param mat	The 2D entry array
 	 */
 	public Matrix4x4(float mat[][]) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
@@ -124,7 +129,6 @@ public class Matrix4x4 {
 	 * @param mat	An array of 2D Vec4F
 	 */
 	public Matrix4x4(Vec4F mat[]) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
@@ -133,24 +137,49 @@ public class Matrix4x4 {
 	 * @param mat	The target matrix to be copied
 	 */
 	public Matrix4x4(Matrix4x4 mat) {
-		matrix = new float[SIZE][SIZE];
 		set(mat);
 	}
 	
+	/**
+	 * Set this matrix using individual floats
+	 * @param m00	entry (0, 0)
+	 * @param m01	entry (0, 1)
+	 * @param m02	entry (0, 2)
+	 * @param m03	entry (0, 3)
+	 * @param m10	entry (1, 0)
+	 * @param m11	entry (1, 1)
+	 * @param m12	entry (1, 2)
+	 * @param m13	entry (1, 3)
+	 * @param m20	entry (2, 0)
+	 * @param m21	entry (2, 1)
+	 * @param m22	entry (2, 2)
+	 * @param m23	entry (2, 3)
+	 * @param m30	entry (3, 0)
+	 * @param m31	entry (3, 1)
+	 * @param m32	entry (3, 2)
+	 * @param m33	entry (3, 3)
+	 * @return	A reference to this matrix
+	 */
+	public final Matrix4x4 set(float m00, float m01, float m02, float m03,
+							   float m10, float m11, float m12, float m13,
+							   float m20, float m21, float m22, float m23,
+							   float m30, float m31, float m32, float m33) {
+		this.m00 = m00;		this.m01 = m01;		this.m02 = m02;		this.m03 = m03;
+		this.m10 = m10;		this.m11 = m11;		this.m12 = m12;		this.m13 = m13;
+		this.m20 = m20;		this.m21 = m21;		this.m22 = m22;		this.m23 = m23;
+		this.m30 = m30;		this.m31 = m31;		this.m32 = m32;		this.m33 = m33;
+		return this;
+	}
+	
 	/**
 	 * Set this matrix using a float array
 	 * @param mat[] 	The float array containing matrix entries
 	 */
 	public void set(float mat[]) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		int index = 0;
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = mat[index];
-				index++;
-			}
-		}
+		m00 = mat[0];	m01 = mat[1];	m02 = mat[2];	m03 = mat[3];
+		m10 = mat[4];	m11 = mat[5];	m12 = mat[6];	m13 = mat[7];
+		m20 = mat[8];	m21 = mat[9];	m22 = mat[10];	m23 = mat[11];
+		m30 = mat[12];	m31 = mat[13];	m32 = mat[14];	m33 = mat[15];
 	}
 	
 	/**
@@ -158,13 +187,10 @@ public class Matrix4x4 {
 	 * @param mat[][] 	The 2D float array containing matrix entries
 	 */
 	public void set(float mat[][]) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = mat[i][j];
-			}
-		}
+		m00 = mat[0][0];	m01 = mat[0][1];	m02 = mat[0][2];	m03 = mat[0][3];
+		m10 = mat[1][0];	m11 = mat[1][1];	m12 = mat[1][2];	m13 = mat[1][3];
+		m20 = mat[2][0];	m21 = mat[2][1];	m22 = mat[2][2];	m23 = mat[2][3];
+		m30 = mat[3][0];	m31 = mat[3][1];	m32 = mat[3][2];	m33 = mat[3][3];
 	}
 	
 	/**
@@ -172,14 +198,10 @@ public class Matrix4x4 {
 	 * @param mat[]	An array of Vec4F
 	 */
 	public void set(Vec4F mat[]) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		for (int i = 0; i < SIZE; i++) {
-			matrix[i][0] = mat[i].x;
-			matrix[i][1] = mat[i].y;
-			matrix[i][2] = mat[i].z;
-			matrix[i][3] = mat[i].w;
-		}
+		m00 = mat[0].x;		m01 = mat[0].y;		m02 = mat[0].z;		m03 = mat[0].w;
+		m10 = mat[1].x;		m11 = mat[1].y;		m12 = mat[1].z;		m13 = mat[1].w;
+		m20 = mat[2].x;		m21 = mat[2].y;		m22 = mat[2].z;		m23 = mat[2].w;
+		m30 = mat[3].x;		m31 = mat[3].y;		m32 = mat[3].z;		m33 = mat[3].w;
 	}
 	
 	/**
@@ -187,13 +209,67 @@ public class Matrix4x4 {
 	 * @param mat	The target matrix's elements to copy over
 	 */
 	public void set(Matrix4x4 mat) {
-		
-		// perform a deep copy of the contents of m to our matrix
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = mat.matrix[i][j];
-			}
-		}
+		m00 = mat.m00;	m01 = mat.m01;	m02 = mat.m02;	m03 = mat.m03;
+		m10 = mat.m10;	m11 = mat.m11;	m12 = mat.m12;	m13 = mat.m13;
+		m20 = mat.m20;	m21 = mat.m21;	m22 = mat.m22;	m23 = mat.m23;
+		m30 = mat.m30;	m31 = mat.m31;	m32 = mat.m32;	m33 = mat.m33;
+	}
+	
+	/**
+	 * Copy the elements of this matrix into a float array, row by row
+	 * @param mat	The array receiving the 16 entries
+	 * @return	A reference to mat
+	 */
+	public final float[] get(float mat[]) {
+		mat[0] = m00;	mat[1] = m01;	mat[2] = m02;	mat[3] = m03;
+		mat[4] = m10;	mat[5] = m11;	mat[6] = m12;	mat[7] = m13;
+		mat[8] = m20;	mat[9] = m21;	mat[10] = m22;	mat[11] = m23;
+		mat[12] = m30;	mat[13] = m31;	mat[14] = m32;	mat[15] = m33;
+		return mat;
+	}
+	
+	/**
+	 * Copy the elements of this matrix into a float array, column by column,
+	 * the order OpenGL and most native renderers expect
+	 * @param mat	The array receiving the 16 entries
+	 * @return	A reference to mat
+	 */
+	public final float[] getColumnMajor(float mat[]) {
+		mat[0] = m00;	mat[1] = m10;	mat[2] = m20;	mat[3] = m30;
+		mat[4] = m01;	mat[5] = m11;	mat[6] = m21;	mat[7] = m31;
+		mat[8] = m02;	mat[9] = m12;	mat[10] = m22;	mat[11] = m32;
+		mat[12] = m03;	mat[13] = m13;	mat[14] = m23;	mat[15] = m33;
+		return mat;
+	}
+	
+	/**
+	 * Write the elements of this matrix into a buffer, column by column.
+	 * The buffer's position is not changed.
+	 * @param buf	The buffer receiving the 16 entries
+	 * @param index	The index of the first entry
+	 * @return	A reference to buf
+	 */
+	public final FloatBuffer getColumnMajor(FloatBuffer buf, int index) {
+		buf.put(index, m00);		buf.put(index + 1, m10);	buf.put(index + 2, m20);	buf.put(index + 3, m30);
+		buf.put(index + 4, m01);	buf.put(index + 5, m11);	buf.put(index + 6, m21);	buf.put(index + 7, m31);
+		buf.put(index + 8, m02);	buf.put(index + 9, m12);	buf.put(index + 10, m22);	buf.put(index + 11, m32);
+		buf.put(index + 12, m03);	buf.put(index + 13, m13);	buf.put(index + 14, m23);	buf.put(index + 15, m33);
+		return buf;
+	}
+	
+	/**
+	 * Write the elements of this matrix into a buffer as floats of the
+	 * buffer's byte order, column by column. The buffer's position is not changed.
+	 * @param buf	The buffer receiving the 64 bytes
+	 * @param offset	The byte offset of the first entry
+	 * @return	A reference to buf
+	 */
+	public final ByteBuffer getColumnMajor(ByteBuffer buf, int offset) {
+		buf.putFloat(offset, m00);		buf.putFloat(offset + 4, m10);	buf.putFloat(offset + 8, m20);	buf.putFloat(offset + 12, m30);
+		buf.putFloat(offset + 16, m01);	buf.putFloat(offset + 20, m11);	buf.putFloat(offset + 24, m21);	buf.putFloat(offset + 28, m31);
+		buf.putFloat(offset + 32, m02);	buf.putFloat(offset + 36, m12);	buf.putFloat(offset + 40, m22);	buf.putFloat(offset + 44, m32);
+		buf.putFloat(offset + 48, m03);	buf.putFloat(offset + 52, m13);	buf.putFloat(offset + 56, m23);	buf.putFloat(offset + 60, m33);
+		return buf;
 	}
 	
 	/**
@@ -209,7 +285,24 @@ public class Matrix4x4 {
 			return;
 		}
 		
-		matrix[row][col] = val;
+		switch (row * SIZE + col) {
+		case 0:		m00 = val;	break;
+		case 1:		m01 = val;	break;
+		case 2:		m02 = val;	break;
+		case 3:		m03 = val;	break;
+		case 4:		m10 = val;	break;
+		case 5:		m11 = val;	break;
+		case 6:		m12 = val;	break;
+		case 7:		m13 = val;	break;
+		case 8:		m20 = val;	break;
+		case 9:		m21 = val;	break;
+		case 10:	m22 = val;	break;
+		case 11:	m23 = val;	break;
+		case 12:	m30 = val;	break;
+		case 13:	m31 = val;	break;
+		case 14:	m32 = val;	break;
+		default:	m33 = val;	break;
+		}
 	}
 	
 	/**
@@ -226,7 +319,24 @@ public class Matrix4x4 {
 			return 0;
 		}
 		
-		return matrix[i][j];
+		switch (i * SIZE + j) {
+		case 0:		return m00;
+		case 1:		return m01;
+		case 2:		return m02;
+		case 3:		return m03;
+		case 4:		return m10;
+		case 5:		return m11;
+		case 6:		return m12;
+		case 7:		return m13;
+		case 8:		return m20;
+		case 9:		return m21;
+		case 10:	return m22;
+		case 11:	return m23;
+		case 12:	return m30;
+		case 13:	return m31;
+		case 14:	return m32;
+		default:	return m33;
+		}
 	}
 	
 	/**
@@ -236,115 +346,13 @@ public class Matrix4x4 {
 	 */
 	public final Vec4F getRow(int i) {
 		
-		if (i < 0 || i >= SIZE) {
-			return null;
-		}
-		
-		return new Vec4F(matrix[i][0], matrix[i][1], matrix[i][2], matrix[i][3]);
-	}
-	
-	/**
-	 * Swap a row of this matrix with another
-	 * @param r1	Target row to swap
-	 * @param r2	Destination row to swap
-	 * @param augmented 	optional augmented matrix to swap
-	 * @return	true if it succeeded,
-	 * 			false if invalid row specified,
-	 * 			false if no swap occurs
-	 */
-	private final boolean swapRow(int r1, int r2, Vec4F augmented) {
-		
-		if (r1 < 0 || r1 >= SIZE || 
-			r2 < 0 || r2 >= SIZE || 
-			r1 == r2) {
-			return false;
-		}
-		
-		for (int j = 0; j < SIZE; j++) {
-			float temp = matrix[r1][j];
-			matrix[r1][j] = matrix[r2][j];
-			matrix[r2][j] = temp;
-		}
-		
-		if (augmented != null) {
-			
-			float temp1 = 0;
-			float temp2 = 0;
-			
-			if (r1 == 0) 		temp1 = augmented.x;
-			else if (r1 == 1) 	temp1 = augmented.y;
-			else if (r1 == 2) 	temp1 = augmented.z;
-			else if (r1 == 3) 	temp1 = augmented.w;
-			if (r2 == 0) 		temp2 = augmented.x;
-			else if (r2 == 1) 	temp2 = augmented.y;
-			else if (r2 == 2) 	temp2 = augmented.z;
-			else if (r2 == 3) 	temp2 = augmented.w;
-			
-			if (r1 == 0) 		augmented.x = temp2;
-			else if (r1 == 1) 	augmented.y = temp2;
-			else if (r1 == 2) 	augmented.z = temp2;
-			else if (r1 == 3) 	augmented.w = temp2;
-			if (r2 == 0) 		augmented.x = temp1;
-			else if (r2 == 1) 	augmented.y = temp1;
-			else if (r2 == 2) 	augmented.z = temp1;
-			else if (r2 == 3) 	augmented.w = temp1;
-		}
-		
-		return true;
-	}
-
-	/**
-	 * Find a valid leading entry at a specified location
-	 * within the matrix. Above rows are ignored.
-	 * @param i	The target row
-	 * @param j	The target column
-	 * @param augmented 	optional augmented matrix to swap
-	 * @return	true on success,
-	 * 			false if no valid row found to swap with,
-	 * 			false if (i, j) index is out of bound.
-	 */
-	private final boolean swapRowForValidPivot(int i, int j, Vec4F augmented) {
-		
-		if (i < 0 || j < 0 || i >= SIZE || j >= SIZE) {
-			return false;
-		}
-		
-		for (int y = i+1; y < SIZE; y++) {
-			if (matrix[y][j] != 0) {
-				swapRow(i, y, augmented);
-				return true;
-			}
-		}
-		
-		return false;
-	}
-	
-	/**
-	 * Find a valid leading entry at a specified location
-	 * within the matrix. Above rows are ignored. Performs
-	 * the same row swap for an augmented matrix
-	 * @param i	The target row
-	 * @param j	The target column
-	 * @param augmented	An augmented matrix
-	 * @return	true on success,
-	 * 			false if no valid row found to swap with,
-	 * 			false if (i, j) index is out of bound.
-	 */
-	private final boolean swapWithValidColumnPivot(int i, int j, Matrix4x4 augmented) {
-		
-		if (i < 0 || j < 0 || i >= SIZE || j >= SIZE) {
-			return false;
-		}
-		
-		for (int y = i+1; y < SIZE; y++) {
-			if (matrix[y][j] != 0) {
-				swapRow(i, y, null);
-				augmented.swapRow(i, y, null);
-				return true;
-			}
+		switch (i) {
+		case 0:		return new Vec4F(m00, m01, m02, m03);
+		case 1:		return new Vec4F(m10, m11, m12, m13);
+		case 2:		return new Vec4F(m20, m21, m22, m23);
+		case 3:		return new Vec4F(m30, m31, m32, m33);
+		default:	return null;
 		}
-		
-		return false;
 	}
 	
 	/**
@@ -353,15 +361,14 @@ public class Matrix4x4 {
 	 * @return	A reference to this matrix
 	 */
 	public final Matrix4x4 transpose() {
-			
+		
 		float temp = 0;
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = i+1; j < SIZE; j++) {
-				temp = matrix[i][j];
-				matrix[i][j] = matrix[j][i];
-				matrix[j][i] = temp;
-			}
-		}
+		temp = m01;	m01 = m10;	m10 = temp;
+		temp = m02;	m02 = m20;	m20 = temp;
+		temp = m03;	m03 = m30;	m30 = temp;
+		temp = m12;	m12 = m21;	m21 = temp;
+		temp = m13;	m13 = m31;	m31 = temp;
+		temp = m23;	m23 = m32;	m32 = temp;
 		
 		return this;
 	}
@@ -373,11 +380,10 @@ public class Matrix4x4 {
 	 */
 	public final Matrix4x4 add(Matrix4x4 m) {
 		
-		for (int j = 0; j < SIZE; j++) {
-			for (int i = 0; i < SIZE; i++) {
-				matrix[i][j] += m.matrix[i][j];
-			}
-		}
+		m00 += m.m00;	m01 += m.m01;	m02 += m.m02;	m03 += m.m03;
+		m10 += m.m10;	m11 += m.m11;	m12 += m.m12;	m13 += m.m13;
+		m20 += m.m20;	m21 += m.m21;	m22 += m.m22;	m23 += m.m23;
+		m30 += m.m30;	m31 += m.m31;	m32 += m.m32;	m33 += m.m33;
 		
 		return this;
 	}
@@ -389,11 +395,10 @@ public class Matrix4x4 {
 	 */
 	public final Matrix4x4 subtract(Matrix4x4 m) {
 		
-		for (int j = 0; j < SIZE; j++) {
-			for (int i = 0; i < SIZE; i++) {
-				matrix[i][j] -= m.matrix[i][j];
-			}
-		}
+		m00 -= m.m00;	m01 -= m.m01;	m02 -= m.m02;	m03 -= m.m03;
+		m10 -= m.m10;	m11 -= m.m11;	m12 -= m.m12;	m13 -= m.m13;
+		m20 -= m.m20;	m21 -= m.m21;	m22 -= m.m22;	m23 -= m.m23;
+		m30 -= m.m30;	m31 -= m.m31;	m32 -= m.m32;	m33 -= m.m33;
 		
 		return this;
 	}
@@ -406,11 +411,10 @@ public class Matrix4x4 {
 	 */
 	public final Matrix4x4 scale(float value) {
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] *= value;
-			}
-		}
+		m00 *= value;	m01 *= value;	m02 *= value;	m03 *= value;
+		m10 *= value;	m11 *= value;	m12 *= value;	m13 *= value;
+		m20 *= value;	m21 *= value;	m22 *= value;	m23 *= value;
+		m30 *= value;	m31 *= value;	m32 *= value;	m33 *= value;
 		
 		return this;
 	}
@@ -422,30 +426,59 @@ public class Matrix4x4 {
 	 */
 	public final Matrix4x4 multiply(Matrix4x4 m) {
 		
-		float mat[][] = new float[SIZE][SIZE];
-
-		float sum = 0;
-		for (int k = 0; k < SIZE; k++) {
-			for (int i = 0; i < SIZE; i++) {
-				for (int j = 0; j < SIZE; j++) {
-					sum += matrix[i][j] * m.matrix[j][k];
-				}
-				
-				float decVal = sum < 0 ? -sum : sum;
-				decVal = decVal - (int)decVal;
-				if (decVal <= Compute.ERROR || (decVal+Compute.ERROR) >= 1.0f) {
-					sum = Math.round(sum);
-				}
-				
-				mat[i][k] = sum;
-				sum = 0;
-			}
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a00 = m00, a01 = m01, a02 = m02, a03 = m03;
+		float a10 = m10, a11 = m11, a12 = m12, a13 = m13;
+		float a20 = m20, a21 = m21, a22 = m22, a23 = m23;
+		float a30 = m30, a31 = m31, a32 = m32, a33 = m33;
+		
+		float b00 = m.m00, b01 = m.m01, b02 = m.m02, b03 = m.m03;
+		float b10 = m.m10, b11 = m.m11, b12 = m.m12, b13 = m.m13;
+		float b20 = m.m20, b21 = m.m21, b22 = m.m22, b23 = m.m23;
+		float b30 = m.m30, b31 = m.m31, b32 = m.m32, b33 = m.m33;
+		
+		m00 = a00*b00 + a01*b10 + a02*b20 + a03*b30;
+		m01 = a00*b01 + a01*b11 + a02*b21 + a03*b31;
+		m02 = a00*b02 + a01*b12 + a02*b22 + a03*b32;
+		m03 = a00*b03 + a01*b13 + a02*b23 + a03*b33;
+		
+		m10 = a10*b00 + a11*b10 + a12*b20 + a13*b30;
+		m11 = a10*b01 + a11*b11 + a12*b21 + a13*b31;
+		m12 = a10*b02 + a11*b12 + a12*b22 + a13*b32;
+		m13 = a10*b03 + a11*b13 + a12*b23 + a13*b33;
+		
+		m20 = a20*b00 + a21*b10 + a22*b20 + a23*b30;
+		m21 = a20*b01 + a21*b11 + a22*b21 + a23*b31;
+		m22 = a20*b02 + a21*b12 + a22*b22 + a23*b32;
+		m23 = a20*b03 + a21*b13 + a22*b23 + a23*b33;
+		
+		m30 = a30*b00 + a31*b10 + a32*b20 + a33*b30;
+		m31 = a30*b01 + a31*b11 + a32*b21 + a33*b31;
+		m32 = a30*b02 + a31*b12 + a32*b22 + a33*b32;
+		m33 = a30*b03 + a31*b13 + a32*b23 + a33*b33;
+		
+		if ((Compute.getCleanup() & Compute.CLEANUP_SNAP_INTEGER) != 0) {
+			snap();
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_MULTIPLY, start);
 		}
 		
-		matrix = mat;
 		return this;
 	}
 	
+	/**
+	 * Round every element within Compute.ERROR of an integer
+	 */
+	private void snap() {
+		m00 = MatrixOps.snap(m00);	m01 = MatrixOps.snap(m01);	m02 = MatrixOps.snap(m02);	m03 = MatrixOps.snap(m03);
+		m10 = MatrixOps.snap(m10);	m11 = MatrixOps.snap(m11);	m12 = MatrixOps.snap(m12);	m13 = MatrixOps.snap(m13);
+		m20 = MatrixOps.snap(m20);	m21 = MatrixOps.snap(m21);	m22 = MatrixOps.snap(m22);	m23 = MatrixOps.snap(m23);
+		m30 = MatrixOps.snap(m30);	m31 = MatrixOps.snap(m31);	m32 = MatrixOps.snap(m32);	m33 = MatrixOps.snap(m33);
+	}
+	
 	/**
 	 * The power of this matrix is the product of the multiplication 
 	 * of this matrix N times.
@@ -474,6 +507,8 @@ public class Matrix4x4 {
 	 * Once solved, this matrix should become an identity matrix,
 	 * otherwise, if it is not an identity matrix, it is not possible
 	 * to fully reduce this set of linear equations.
+	 * The elimination is unrolled over local copies of the entries;
+	 * a zero pivot falls back to the general elimination with row swaps.
 	 * @param x	augmented column x value
 	 * @param y augmented column y value
 	 * @param z augmented column z value
@@ -482,73 +517,179 @@ public class Matrix4x4 {
 	 */
 	public final Vec4F solve(float x, float y, float z, float w) {
 		
-		int j = 0;
-		float entry = 0;
-		Vec4F augmented = new Vec4F(x, y, z, w);
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
 		
-		for (int i = 0; i < SIZE; i++) {
-			
-			// 1. set to valid leading column entry
-			if (matrix[i][j] == 0) {
-				if (!swapRowForValidPivot(i, j, augmented)) {
-					j++;
-					continue;
-				}
-			}
-				
-			// 2. divide the row to make the leading entry 1
-			entry = matrix[i][j];
-			if (entry != 1) {
-				
-				if (i == 0)		 	augmented.x /= entry;
-				else if (i == 1) 	augmented.y /= entry;
-				else if (i == 2) 	augmented.z /= entry;
-				else if (i == 3) 	augmented.w /= entry;
-				
-				for (int l = 0; l < SIZE; l++) {
-					
-					matrix[i][l] /= entry;
-					
-					if (matrix[i][l] == -0.0f) {
-						matrix[i][l] = 0.0f;
-					}
-				}
+		float a00 = m00, a01 = m01, a02 = m02, a03 = m03;
+		float a10 = m10, a11 = m11, a12 = m12, a13 = m13;
+		float a20 = m20, a21 = m21, a22 = m22, a23 = m23;
+		float a30 = m30, a31 = m31, a32 = m32, a33 = m33;
+		float rx = x, ry = y, rz = z, rw = w;
+		float entry;
+		
+		// pivot 0: divide the row, then eliminate the column
+		if (a00 == 0) {
+			return solveReduced(x, y, z, w);
+		}
+		entry = a00;
+		a01 /= entry;	a02 /= entry;	a03 /= entry;	rx /= entry;
+		entry = a10;
+		a11 -= a01 * entry;	a12 -= a02 * entry;	a13 -= a03 * entry;	ry -= rx * entry;
+		entry = a20;
+		a21 -= a01 * entry;	a22 -= a02 * entry;	a23 -= a03 * entry;	rz -= rx * entry;
+		entry = a30;
+		a31 -= a01 * entry;	a32 -= a02 * entry;	a33 -= a03 * entry;	rw -= rx * entry;
+		
+		// pivot 1: divide the row, then eliminate the column
+		if (a11 == 0) {
+			return solveReduced(x, y, z, w);
+		}
+		entry = a11;
+		a12 /= entry;	a13 /= entry;	ry /= entry;
+		entry = a01;
+		a02 -= a12 * entry;	a03 -= a13 * entry;	rx -= ry * entry;
+		entry = a21;
+		a22 -= a12 * entry;	a23 -= a13 * entry;	rz -= ry * entry;
+		entry = a31;
+		a32 -= a12 * entry;	a33 -= a13 * entry;	rw -= ry * entry;
+		
+		// pivot 2: divide the row, then eliminate the column
+		if (a22 == 0) {
+			return solveReduced(x, y, z, w);
+		}
+		entry = a22;
+		a23 /= entry;	rz /= entry;
+		entry = a02;
+		a03 -= a23 * entry;	rx -= rz * entry;
+		entry = a12;
+		a13 -= a23 * entry;	ry -= rz * entry;
+		entry = a32;
+		a33 -= a23 * entry;	rw -= rz * entry;
+		
+		// pivot 3: divide the row, then eliminate the column
+		if (a33 == 0) {
+			return solveReduced(x, y, z, w);
+		}
+		entry = a33;
+		rw /= entry;
+		entry = a03;
+		rx -= rw * entry;
+		entry = a13;
+		ry -= rw * entry;
+		entry = a23;
+		rz -= rw * entry;
+		
+		set(1, 0, 0, 0,
+			0, 1, 0, 0,
+			0, 0, 1, 0,
+			0, 0, 0, 1);
+		
+		// -0.0f + 0.0f is 0.0f
+		if ((Compute.getCleanup() & Compute.CLEANUP_NEGATIVE_ZERO) != 0) {
+			rx += 0.0f;	ry += 0.0f;	rz += 0.0f;	rw += 0.0f;
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start);
+		}
+		
+		return new Vec4F(rx, ry, rz, rw);
+	}
+	
+	/**
+	 * Solve this matrix with the general elimination, which swaps
+	 * rows for zero pivots and reduces a singular matrix as far as it can.
+	 * @param x	augmented column x value
+	 * @param y	augmented column y value
+	 * @param z	augmented column z value
+	 * @param w	augmented column w value
+	 * @return	an solved augmented Vec4F
+	 */
+	private Vec4F solveReduced(float x, float y, float z, float w) {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a[] = get(new float[SIZE * SIZE]);
+		float b[] = {x, y, z, w};
+		MatrixOps.reduce(a, SIZE, b, 1);
+		set(a);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start, 4L * (a.length + b.length));
+		}
+		
+		return new Vec4F(b[0], b[1], b[2], b[3]);
+	}
+	
+	/**
+	 * Solve this matrix for several right hand sides with a single
+	 * elimination, each column of b being one right hand side.
+	 * Once solved, this matrix becomes an identity matrix and b
+	 * holds the solutions.
+	 * @param b	The right hand sides, SIZE rows by any amount of columns
+	 * @return	true if it succeeded,
+	 * 			false if b does not have SIZE rows or this matrix is
+	 * 			singular, in which case neither matrix changes.
+	 */
+	public final boolean solve(Matrix b) {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		int cols = b.getColCount();
+		if (b.getRowCount() != SIZE) {
+			return false;
+		}
+		
+		float a[] = get(new float[SIZE * SIZE]);
+		float x[] = b.get(new float[SIZE * cols]);
+		
+		MatrixOps.reduce(a, SIZE, x, cols);
+		
+		if (!MatrixOps.isIdentity(a, SIZE)) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_SOLVE, start, 4L * (a.length + x.length));
 			}
-			
-			float av = 0;
-			
-			if (i == 0) 		av = augmented.x;
-			else if (i == 1) 	av = augmented.y;
-			else if (i == 2) 	av = augmented.z;
-			else if (i == 3) 	av = augmented.w;
-			
-			// 3. eliminate all other entries
-			for (int k = 0; k < SIZE; k++) {
-				
-				entry = matrix[k][j];				
-				if (k != i) {
-					
-					if (k == 0) 	augmented.x -= av * entry;
-					if (k == 1) 	augmented.y -= av * entry;
-					if (k == 2) 	augmented.z -= av * entry;
-					if (k == 3) 	augmented.w -= av * entry;
-					
-					for (int l = 0; l < SIZE; l++) {
-						
-						matrix[k][l] -= matrix[i][l] * entry;
-						
-						if (matrix[k][l] == -0.0f) {
-							matrix[k][l] = 0.0f;
-						}
-					}
-				}
+			return false;
+		}
+		
+		set(a);
+		b.set(x, SIZE, cols);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start, 4L * (a.length + x.length));
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Solve this matrix for several right hand sides with a single
+	 * elimination. Once solved, this matrix becomes an identity matrix
+	 * and each right hand side is replaced by its solution.
+	 * @param rhs	The right hand sides, one array of SIZE entries each
+	 * @return	true if it succeeded,
+	 * 			false if a right hand side is too short or this matrix
+	 * 			is singular, in which case nothing changes.
+	 */
+	public final boolean solve(float rhs[][]) {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a[] = get(new float[SIZE * SIZE]);
+		
+		if (!MatrixOps.solve(a, SIZE, rhs)) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_SOLVE, start, 4L * SIZE * (SIZE + rhs.length));
 			}
-			
-			// 4. increase i and j by 1 for new pivot point
-			j++;
+			return false;
 		}
 		
-		return augmented;
+		set(a);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_SOLVE, start, 4L * SIZE * (SIZE + rhs.length));
+		}
+		
+		return true;
 	}
 	
 	/**
@@ -563,81 +704,186 @@ public class Matrix4x4 {
 	 */
 	public final Matrix4x4 inverse() {
 
-		Matrix4x4 invMat = clone();
-		Matrix4x4 augmented = new Matrix4x4();
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
 		
-		for (int i = 0; i < SIZE; i++) {
-			augmented.matrix[i][i] = 1;
-		}
+		float invMat[] = get(new float[SIZE * SIZE]);
+		float augmented[] = {
+			1, 0, 0, 0,
+			0, 1, 0, 0,
+			0, 0, 1, 0,
+			0, 0, 0, 1
+		};
 		
-		float entry = 0;
-		int j = 0;
+		MatrixOps.reduce(invMat, SIZE, augmented, SIZE);
 		
-		for (int i = 0; i < SIZE; i++) {
-			
-			// 1. set to valid leading column entry
-			if (invMat.matrix[i][j] == 0) {
-				
-				if (!invMat.swapWithValidColumnPivot(i, j, augmented)) {
-					j++;
-					continue;
-				}
-			}
-				
-			// 2. divide the row to make the leading entry 1
-			entry = invMat.matrix[i][j];
-			if (entry != 1) {
-				
-				for (int l = 0; l < SIZE; l++) {
-					
-					invMat.matrix[i][l] /= entry;
-					augmented.matrix[i][l] /= entry;
-					
-					if (invMat.matrix[i][l] == -0.0f) {
-						invMat.matrix[i][l] = 0.0f;
-					}
-					
-					if (augmented.matrix[i][l] == -0.0f) {
-						augmented.matrix[i][l] = 0.0f;
-					}
-				}
-			}
-			
-			// 3. eliminate all other entries
-			for (int k = 0; k < SIZE; k++) {
-				
-				entry = invMat.matrix[k][j];
-				if (k != i) {
-					for (int l = 0; l < SIZE; l++) {
-						
-						invMat.matrix[k][l] -= invMat.matrix[i][l] * entry;
-						augmented.matrix[k][l] -= augmented.matrix[i][l] * entry;
-						
-						if (invMat.matrix[k][l] == -0.0f) {
-							invMat.matrix[k][l] = 0.0f;
-						}
-						
-						if (augmented.matrix[k][l] == -0.0f) {
-							augmented.matrix[k][l] = 0.0f;
-						}
-					}
-				}
+		// if the solved matrix is not an identity matrix at the end,
+		// no inverse matrix exists, so the matrix does not change.
+		if (!MatrixOps.isIdentity(invMat, SIZE)) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_INVERSE, start, 8L * invMat.length);
 			}
-			
-			// 4. increase i and j by 1 for new pivot point
-			j++;
+			return this;
 		}
 		
-		// if the solved matrix is not an identity matrix at the end,
-		// no inverse matrix exists, so the matrix does not change.
-		if (!invMat.isIdentityMatrix()) {
+		set(augmented);
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_INVERSE, start, 8L * invMat.length);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Compute the inverse of this matrix using the closed form
+	 * cofactor expansion instead of Gaussian Elimination. The 2x2
+	 * sub-determinants of the two top rows and the two bottom rows
+	 * are shared by all sixteen cofactors and nothing is allocated.
+	 * @return	A reference to this matrix.
+	 * 			If the determinant is zero, no change occurs.
+	 */
+	public final Matrix4x4 inverseClosedForm() {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a00 = m00, a01 = m01, a02 = m02, a03 = m03;
+		float a10 = m10, a11 = m11, a12 = m12, a13 = m13;
+		float a20 = m20, a21 = m21, a22 = m22, a23 = m23;
+		float a30 = m30, a31 = m31, a32 = m32, a33 = m33;
+		
+		float s0 = a00*a11 - a10*a01;
+		float s1 = a00*a12 - a10*a02;
+		float s2 = a00*a13 - a10*a03;
+		float s3 = a01*a12 - a11*a02;
+		float s4 = a01*a13 - a11*a03;
+		float s5 = a02*a13 - a12*a03;
+		
+		float c5 = a22*a33 - a32*a23;
+		float c4 = a21*a33 - a31*a23;
+		float c3 = a21*a32 - a31*a22;
+		float c2 = a20*a33 - a30*a23;
+		float c1 = a20*a32 - a30*a22;
+		float c0 = a20*a31 - a30*a21;
+		
+		float det = s0*c5 - s1*c4 + s2*c3 + s3*c2 - s4*c1 + s5*c0;
+		if (det == 0) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_INVERSE, start);
+			}
 			return this;
 		}
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (j = 0;  j < SIZE; j++) {
-				matrix[i][j] = augmented.matrix[i][j];
+		float inv = 1.0f / det;
+		
+		m00 = ( a11*c5 - a12*c4 + a13*c3) * inv;
+		m01 = (-a01*c5 + a02*c4 - a03*c3) * inv;
+		m02 = ( a31*s5 - a32*s4 + a33*s3) * inv;
+		m03 = (-a21*s5 + a22*s4 - a23*s3) * inv;
+		
+		m10 = (-a10*c5 + a12*c2 - a13*c1) * inv;
+		m11 = ( a00*c5 - a02*c2 + a03*c1) * inv;
+		m12 = (-a30*s5 + a32*s2 - a33*s1) * inv;
+		m13 = ( a20*s5 - a22*s2 + a23*s1) * inv;
+		
+		m20 = ( a10*c4 - a11*c2 + a13*c0) * inv;
+		m21 = (-a00*c4 + a01*c2 - a03*c0) * inv;
+		m22 = ( a30*s4 - a31*s2 + a33*s0) * inv;
+		m23 = (-a20*s4 + a21*s2 - a23*s0) * inv;
+		
+		m30 = (-a10*c3 + a11*c1 - a12*c0) * inv;
+		m31 = ( a00*c3 - a01*c1 + a02*c0) * inv;
+		m32 = (-a30*s3 + a31*s1 - a32*s0) * inv;
+		m33 = ( a20*s3 - a21*s1 + a22*s0) * inv;
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_INVERSE, start);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Compute the inverse of an affine transform, where the upper 3x3
+	 * holds rotation and scale, the last column holds the translation
+	 * and the bottom row is (0, 0, 0, 1). Only the 3x3 part is inverted,
+	 * the translation becomes the inverted 3x3 applied to the negated
+	 * translation. The bottom row is not read.
+	 * @return	A reference to this matrix.
+	 * 			If the 3x3 part is singular, no change occurs.
+	 */
+	public final Matrix4x4 inverseAffine() {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a00 = m00, a01 = m01, a02 = m02;
+		float a10 = m10, a11 = m11, a12 = m12;
+		float a20 = m20, a21 = m21, a22 = m22;
+		float tx = m03, ty = m13, tz = m23;
+		
+		float c00 = a11*a22 - a12*a21;
+		float c01 = a12*a20 - a10*a22;
+		float c02 = a10*a21 - a11*a20;
+		
+		float det = a00*c00 + a01*c01 + a02*c02;
+		if (det == 0) {
+			if (Metrics.ENABLED) {
+				Metrics.record(Metrics.FIXED_INVERSE, start);
 			}
+			return this;
+		}
+		
+		float inv = 1.0f / det;
+		
+		float b00 = c00 * inv;
+		float b01 = (a02*a21 - a01*a22) * inv;
+		float b02 = (a01*a12 - a02*a11) * inv;
+		float b10 = c01 * inv;
+		float b11 = (a00*a22 - a02*a20) * inv;
+		float b12 = (a02*a10 - a00*a12) * inv;
+		float b20 = c02 * inv;
+		float b21 = (a01*a20 - a00*a21) * inv;
+		float b22 = (a00*a11 - a01*a10) * inv;
+		
+		m00 = b00;	m01 = b01;	m02 = b02;	m03 = -(b00*tx + b01*ty + b02*tz);
+		m10 = b10;	m11 = b11;	m12 = b12;	m13 = -(b10*tx + b11*ty + b12*tz);
+		m20 = b20;	m21 = b21;	m22 = b22;	m23 = -(b20*tx + b21*ty + b22*tz);
+		m30 = 0;	m31 = 0;	m32 = 0;	m33 = 1;
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_INVERSE, start);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Compute the inverse of a rigid transform, where the upper 3x3
+	 * is a pure rotation (orthonormal, no scale), the last column holds
+	 * the translation and the bottom row is (0, 0, 0, 1). The rotation
+	 * is inverted by transposing it, so no determinant is needed.
+	 * Use inverseAffine() if the transform may contain scale.
+	 * @return	A reference to this matrix.
+	 */
+	public final Matrix4x4 inverseRigid() {
+		
+		long start = Metrics.ENABLED ? Metrics.start() : 0;
+		
+		float a01 = m01, a02 = m02;
+		float a10 = m10, a12 = m12;
+		float a20 = m20, a21 = m21;
+		float tx = m03, ty = m13, tz = m23;
+		
+		m01 = a10;	m02 = a20;
+		m10 = a01;	m12 = a21;
+		m20 = a02;	m21 = a12;
+		
+		m03 = -(m00*tx + a10*ty + a20*tz);
+		m13 = -(a01*tx + m11*ty + a21*tz);
+		m23 = -(a02*tx + a12*ty + m22*tz);
+		m30 = 0;	m31 = 0;	m32 = 0;	m33 = 1;
+		
+		if (Metrics.ENABLED) {
+			Metrics.record(Metrics.FIXED_INVERSE, start);
 		}
 		
 		return this;
@@ -648,12 +894,10 @@ public class Matrix4x4 {
 	 * @param val 	The value to set this matrix's elements to
 	 */
 	public final void clearTo(float val) {
-		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				matrix[i][j] = val;
-			}
-		}
+		set(val, val, val, val,
+			val, val, val, val,
+			val, val, val, val,
+			val, val, val, val);
 	}
 	
 	/**
@@ -663,15 +907,10 @@ public class Matrix4x4 {
 	 */
 	public final boolean isZeroMatrix() {
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				if (matrix[i][j] != 0) {
-					return false;
-				}
-			}
-		}
-		
-		return true;
+		return m00 == 0 && m01 == 0 && m02 == 0 && m03 == 0 &&
+			   m10 == 0 && m11 == 0 && m12 == 0 && m13 == 0 &&
+			   m20 == 0 && m21 == 0 && m22 == 0 && m23 == 0 &&
+			   m30 == 0 && m31 == 0 && m32 == 0 && m33 == 0;
 	}
 	
 	/**
@@ -684,16 +923,9 @@ public class Matrix4x4 {
 		// only top right are zeros
 		// diagonal and bottom are non-zero
 		
-		int size = SIZE - 1;
-		for (int i = 0; i < size; i++ ) {
-			for (int j = i+1; j < SIZE; j++) {
-				if (matrix[i][j] != 0) {
-					return false;
-				}
-			}
-		}
-		
-		return true;
+		return m01 == 0 && m02 == 0 && m03 == 0 &&
+			   m12 == 0 && m13 == 0 &&
+			   m23 == 0;
 	}
 	
 	/**
@@ -705,15 +937,9 @@ public class Matrix4x4 {
 		
 		// bottom left are zeros
 		
-		for (int i = 1; i < SIZE; i++) {
-			for (int j = 0; j < i; j++) {
-				if (matrix[i][j] != 0) {
-					return false;
-				}
-			}
-		}
-		
-		return true;
+		return m10 == 0 &&
+			   m20 == 0 && m21 == 0 &&
+			   m30 == 0 && m31 == 0 && m32 == 0;
 	}
 	
 	/**
@@ -722,16 +948,9 @@ public class Matrix4x4 {
 	 */
 	public final boolean isSymmetricMatrix() {
 		
-		int size = SIZE - 1;
-		for (int i = 0; i < size; i++ ) {
-			for (int j = i+1; j < SIZE; j++) {
-				if (matrix[i][j] != matrix[j][i]) {
-					return false;
-				}
-			}
-		}
-		
-		return true;
+		return m01 == m10 && m02 == m20 && m03 == m30 &&
+			   m12 == m21 && m13 == m31 &&
+			   m23 == m32;
 	}
 	
 	/**
@@ -748,18 +967,7 @@ public class Matrix4x4 {
 			return false;
 		}
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				
-				if (i != j) {
-					if (matrix[i][j] != 0) {
-						return false;
-					}
-				}
-			}
-		}
-		
-		return true;
+		return isLowerTriangleMatrix() && isUpperTriangleMatrix();
 	}
 	
 	/**
@@ -770,22 +978,8 @@ public class Matrix4x4 {
 	 */
 	public final boolean isIdentityMatrix() {
 		
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				
-				if (i == j) {
-					if (matrix[i][j] != 1) {
-						return false;
-					}
-				} else {
-					if (matrix[i][j] != 0) {
-						return false;
-					}
-				}
-			}
-		}
-		
-		return true;
+		return m00 == 1 && m11 == 1 && m22 == 1 && m33 == 1 &&
+			   isLowerTriangleMatrix() && isUpperTriangleMatrix();
 	}
 	
 	/**
@@ -807,6 +1001,12 @@ public class Matrix4x4 {
 		return true;
 	}
 	
+	/**
+	 * Test for equality, allowing Compute.ERROR of difference between
+	 * elements. Identical matrices have the same hashCode(), but matrices
+	 * that are only within the tolerance of each other usually do not,
+	 * so only exact copies reliably match as hash keys.
+	 */
 	@Override
 	public boolean equals(Object obj) {
 		
@@ -822,7 +1022,7 @@ public class Matrix4x4 {
 		
 		for (int i = 0; i < SIZE; i++) {
 			for (int j = 0; j < SIZE; j++) {
-				if (equals(m.matrix[i][j], matrix[i][j], Compute.ERROR)) {
+				if (!equals(m.get(i, j), get(i, j), Compute.ERROR)) {
 					return false;
 				}
 			}
@@ -831,18 +1031,41 @@ public class Matrix4x4 {
 		return true;
 	}
 	
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Float.floatToIntBits(m00);
+		result = prime * result + Float.floatToIntBits(m01);
+		result = prime * result + Float.floatToIntBits(m02);
+		result = prime * result + Float.floatToIntBits(m03);
+		result = prime * result + Float.floatToIntBits(m10);
+		result = prime * result + Float.floatToIntBits(m11);
+		result = prime * result + Float.floatToIntBits(m12);
+		result = prime * result + Float.floatToIntBits(m13);
+		result = prime * result + Float.floatToIntBits(m20);
+		result = prime * result + Float.floatToIntBits(m21);
+		result = prime * result + Float.floatToIntBits(m22);
+		result = prime * result + Float.floatToIntBits(m23);
+		result = prime * result + Float.floatToIntBits(m30);
+		result = prime * result + Float.floatToIntBits(m31);
+		result = prime * result + Float.floatToIntBits(m32);
+		result = prime * result + Float.floatToIntBits(m33);
+		return result;
+	}
+	
+	/**
+	 * Write this matrix in the toString format, one row per line.
+	 * @param out	The destination, such as a Writer or StringBuilder
+	 * @throws IOException	if the destination fails to append
+	 */
+	public final void writeTo(Appendable out) throws IOException {
+		MatrixOps.write(out, get(new float[SIZE * SIZE]), SIZE, SIZE);
+	}
+	
 	@Override
 	public String toString() {
-		
-		String strMatrix = new String();
-		for (int i = 0; i < SIZE; i++) {
-			for (int j = 0; j < SIZE; j++) {
-				strMatrix += matrix[i][j] + " ";
-			}
-			strMatrix += "\n";
-		}
-		
-		return strMatrix;
+		return MatrixOps.toString(get(new float[SIZE * SIZE]), SIZE, SIZE);
 	}
 	
 	@Override
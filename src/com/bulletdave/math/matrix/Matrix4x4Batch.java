@@ -0,0 +1,544 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: A batch of 4x4 matrices stored as structure of arrays
+ */
+
+package com.bulletdave.math.matrix;
+
+
+public class Matrix4x4Batch {
+
+	public static final int SIZE = Matrix4x4.SIZE;	// matrix size
+	private int capacity;							// amount of matrices
+	
+	// one lane per element, lane mRC holds the element (R, C)
+	// of every matrix in the batch so that a kernel can walk
+	// all of the lanes with the same index at the same time
+	private float m00[], m01[], m02[], m03[];
+	private float m10[], m11[], m12[], m13[];
+	private float m20[], m21[], m22[], m23[];
+	private float m30[], m31[], m32[], m33[];
+	
+	/**
+	 * Construct a batch of zero matrices
+	 * @param capacity	The amount of matrices in the batch
+	 */
+	public Matrix4x4Batch(int capacity) {
+		
+		this.capacity = capacity;
+		
+		m00 = new float[capacity];	m01 = new float[capacity];	m02 = new float[capacity];	m03 = new float[capacity];
+		m10 = new float[capacity];	m11 = new float[capacity];	m12 = new float[capacity];	m13 = new float[capacity];
+		m20 = new float[capacity];	m21 = new float[capacity];	m22 = new float[capacity];	m23 = new float[capacity];
+		m30 = new float[capacity];	m31 = new float[capacity];	m32 = new float[capacity];	m33 = new float[capacity];
+	}
+	
+	/**
+	 * Get the amount of matrices in this batch
+	 * @return	The capacity of this batch
+	 */
+	public final int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Set a matrix of this batch to the elements of a Matrix4x4
+	 * @param index	The index of the matrix within the batch
+	 * @param mat	The matrix to copy
+	 */
+	public final void set(int index, Matrix4x4 mat) {
+		
+		m00[index] = mat.m00;	m01[index] = mat.m01;	m02[index] = mat.m02;	m03[index] = mat.m03;
+		m10[index] = mat.m10;	m11[index] = mat.m11;	m12[index] = mat.m12;	m13[index] = mat.m13;
+		m20[index] = mat.m20;	m21[index] = mat.m21;	m22[index] = mat.m22;	m23[index] = mat.m23;
+		m30[index] = mat.m30;	m31[index] = mat.m31;	m32[index] = mat.m32;	m33[index] = mat.m33;
+	}
+	
+	/**
+	 * Copy a matrix of this batch into a Matrix4x4
+	 * @param index	The index of the matrix within the batch
+	 * @param dest	The matrix to copy the elements into
+	 * @return	A reference to dest
+	 */
+	public final Matrix4x4 get(int index, Matrix4x4 dest) {
+		
+		dest.m00 = m00[index];	dest.m01 = m01[index];	dest.m02 = m02[index];	dest.m03 = m03[index];
+		dest.m10 = m10[index];	dest.m11 = m11[index];	dest.m12 = m12[index];	dest.m13 = m13[index];
+		dest.m20 = m20[index];	dest.m21 = m21[index];	dest.m22 = m22[index];	dest.m23 = m23[index];
+		dest.m30 = m30[index];	dest.m31 = m31[index];	dest.m32 = m32[index];	dest.m33 = m33[index];
+		
+		return dest;
+	}
+	
+	/**
+	 * Copy a matrix of another batch into this batch
+	 * @param index	The index of the matrix within this batch
+	 * @param batch	The batch to copy from
+	 * @param batchIndex	The index of the matrix within the other batch
+	 */
+	public final void set(int index, Matrix4x4Batch batch, int batchIndex) {
+		
+		m00[index] = batch.m00[batchIndex];	m01[index] = batch.m01[batchIndex];	m02[index] = batch.m02[batchIndex];	m03[index] = batch.m03[batchIndex];
+		m10[index] = batch.m10[batchIndex];	m11[index] = batch.m11[batchIndex];	m12[index] = batch.m12[batchIndex];	m13[index] = batch.m13[batchIndex];
+		m20[index] = batch.m20[batchIndex];	m21[index] = batch.m21[batchIndex];	m22[index] = batch.m22[batchIndex];	m23[index] = batch.m23[batchIndex];
+		m30[index] = batch.m30[batchIndex];	m31[index] = batch.m31[batchIndex];	m32[index] = batch.m32[batchIndex];	m33[index] = batch.m33[batchIndex];
+	}
+	
+	/**
+	 * Set a target element of a matrix within the batch
+	 * @param index	The index of the matrix within the batch
+	 * @param row	The element's row
+	 * @param col	The element's column
+	 * @param val	The value to set the element by
+	 */
+	public final void set(int index, int row, int col, float val) {
+		
+		float lane[] = lane(row, col);
+		if (lane != null) {
+			lane[index] = val;
+		}
+	}
+	
+	/**
+	 * Get a particular element of a matrix within the batch
+	 * @param index	The index of the matrix within the batch
+	 * @param row	The element's row
+	 * @param col	The element's column
+	 * @return	The value of the element at (row, col)
+	 * 			0 if out of bound
+	 */
+	public final float get(int index, int row, int col) {
+		
+		float lane[] = lane(row, col);
+		if (lane == null) {
+			return 0;
+		}
+		
+		return lane[index];
+	}
+	
+	/**
+	 * Get the lane holding an element of every matrix
+	 * @param row	The element's row
+	 * @param col	The element's column
+	 * @return	The lane, null if out of bound
+	 */
+	private final float[] lane(int row, int col) {
+		
+		if (row < 0 || row >= SIZE ||
+			col < 0 || col >= SIZE) {
+			return null;
+		}
+		
+		switch (row * SIZE + col) {
+		case 0:		return m00;
+		case 1:		return m01;
+		case 2:		return m02;
+		case 3:		return m03;
+		case 4:		return m10;
+		case 5:		return m11;
+		case 6:		return m12;
+		case 7:		return m13;
+		case 8:		return m20;
+		case 9:		return m21;
+		case 10:	return m22;
+		case 11:	return m23;
+		case 12:	return m30;
+		case 13:	return m31;
+		case 14:	return m32;
+		default:	return m33;
+		}
+	}
+	
+	/**
+	 * Set a range of matrices to identity matrices
+	 * @param from	The first matrix index (inclusive)
+	 * @param to	The last matrix index (exclusive)
+	 */
+	public final void setIdentity(int from, int to) {
+		
+		for (int i = from; i < to; i++) {
+			m00[i] = 1;	m01[i] = 0;	m02[i] = 0;	m03[i] = 0;
+			m10[i] = 0;	m11[i] = 1;	m12[i] = 0;	m13[i] = 0;
+			m20[i] = 0;	m21[i] = 0;	m22[i] = 1;	m23[i] = 0;
+			m30[i] = 0;	m31[i] = 0;	m32[i] = 0;	m33[i] = 1;
+		}
+	}
+	
+	/**
+	 * Multiply every matrix of this batch with the matrix
+	 * at the same index of another batch (this = this * m).
+	 * @param m	The batch to multiply with, can be this batch
+	 */
+	public final void multiply(Matrix4x4Batch m) {
+		multiply(m, 0, capacity);
+	}
+	
+	/**
+	 * Multiply a range of matrices of this batch with the matrices
+	 * at the same indices of another batch (this = this * m).
+	 * Unlike Matrix4x4.multiply, the products are not rounded.
+	 * @param m	The batch to multiply with, can be this batch
+	 * @param from	The first matrix index (inclusive)
+	 * @param to	The last matrix index (exclusive)
+	 */
+	public final void multiply(Matrix4x4Batch m, int from, int to) {
+		
+		for (int i = from; i < to; i++) {
+			
+			float a00 = m00[i], a01 = m01[i], a02 = m02[i], a03 = m03[i];
+			float a10 = m10[i], a11 = m11[i], a12 = m12[i], a13 = m13[i];
+			float a20 = m20[i], a21 = m21[i], a22 = m22[i], a23 = m23[i];
+			float a30 = m30[i], a31 = m31[i], a32 = m32[i], a33 = m33[i];
+			
+			float b00 = m.m00[i], b01 = m.m01[i], b02 = m.m02[i], b03 = m.m03[i];
+			float b10 = m.m10[i], b11 = m.m11[i], b12 = m.m12[i], b13 = m.m13[i];
+			float b20 = m.m20[i], b21 = m.m21[i], b22 = m.m22[i], b23 = m.m23[i];
+			float b30 = m.m30[i], b31 = m.m31[i], b32 = m.m32[i], b33 = m.m33[i];
+			
+			m00[i] = a00*b00 + a01*b10 + a02*b20 + a03*b30;
+			m01[i] = a00*b01 + a01*b11 + a02*b21 + a03*b31;
+			m02[i] = a00*b02 + a01*b12 + a02*b22 + a03*b32;
+			m03[i] = a00*b03 + a01*b13 + a02*b23 + a03*b33;
+			
+			m10[i] = a10*b00 + a11*b10 + a12*b20 + a13*b30;
+			m11[i] = a10*b01 + a11*b11 + a12*b21 + a13*b31;
+			m12[i] = a10*b02 + a11*b12 + a12*b22 + a13*b32;
+			m13[i] = a10*b03 + a11*b13 + a12*b23 + a13*b33;
+			
+			m20[i] = a20*b00 + a21*b10 + a22*b20 + a23*b30;
+			m21[i] = a20*b01 + a21*b11 + a22*b21 + a23*b31;
+			m22[i] = a20*b02 + a21*b12 + a22*b22 + a23*b32;
+			m23[i] = a20*b03 + a21*b13 + a22*b23 + a23*b33;
+			
+			m30[i] = a30*b00 + a31*b10 + a32*b20 + a33*b30;
+			m31[i] = a30*b01 + a31*b11 + a32*b21 + a33*b31;
+			m32[i] = a30*b02 + a31*b12 + a32*b22 + a33*b32;
+			m33[i] = a30*b03 + a31*b13 + a32*b23 + a33*b33;
+		}
+	}
+	
+	/**
+	 * Store the product of two matrices, each taken from any index
+	 * of a batch, into a matrix of this batch (this[index] = a[ai] * b[bi]).
+	 * Unlike Matrix4x4.multiply, the product is not rounded.
+	 * @param index	The index of the matrix within this batch
+	 * @param a	The batch holding the left matrix, can be this batch
+	 * @param ai	The index of the left matrix
+	 * @param b	The batch holding the right matrix, can be this batch
+	 * @param bi	The index of the right matrix
+	 */
+	public final void multiply(int index, Matrix4x4Batch a, int ai, Matrix4x4Batch b, int bi) {
+		
+		float a00 = a.m00[ai], a01 = a.m01[ai], a02 = a.m02[ai], a03 = a.m03[ai];
+		float a10 = a.m10[ai], a11 = a.m11[ai], a12 = a.m12[ai], a13 = a.m13[ai];
+		float a20 = a.m20[ai], a21 = a.m21[ai], a22 = a.m22[ai], a23 = a.m23[ai];
+		float a30 = a.m30[ai], a31 = a.m31[ai], a32 = a.m32[ai], a33 = a.m33[ai];
+		
+		float b00 = b.m00[bi], b01 = b.m01[bi], b02 = b.m02[bi], b03 = b.m03[bi];
+		float b10 = b.m10[bi], b11 = b.m11[bi], b12 = b.m12[bi], b13 = b.m13[bi];
+		float b20 = b.m20[bi], b21 = b.m21[bi], b22 = b.m22[bi], b23 = b.m23[bi];
+		float b30 = b.m30[bi], b31 = b.m31[bi], b32 = b.m32[bi], b33 = b.m33[bi];
+		
+		m00[index] = a00*b00 + a01*b10 + a02*b20 + a03*b30;
+		m01[index] = a00*b01 + a01*b11 + a02*b21 + a03*b31;
+		m02[index] = a00*b02 + a01*b12 + a02*b22 + a03*b32;
+		m03[index] = a00*b03 + a01*b13 + a02*b23 + a03*b33;
+		
+		m10[index] = a10*b00 + a11*b10 + a12*b20 + a13*b30;
+		m11[index] = a10*b01 + a11*b11 + a12*b21 + a13*b31;
+		m12[index] = a10*b02 + a11*b12 + a12*b22 + a13*b32;
+		m13[index] = a10*b03 + a11*b13 + a12*b23 + a13*b33;
+		
+		m20[index] = a20*b00 + a21*b10 + a22*b20 + a23*b30;
+		m21[index] = a20*b01 + a21*b11 + a22*b21 + a23*b31;
+		m22[index] = a20*b02 + a21*b12 + a22*b22 + a23*b32;
+		m23[index] = a20*b03 + a21*b13 + a22*b23 + a23*b33;
+		
+		m30[index] = a30*b00 + a31*b10 + a32*b20 + a33*b30;
+		m31[index] = a30*b01 + a31*b11 + a32*b21 + a33*b31;
+		m32[index] = a30*b02 + a31*b12 + a32*b22 + a33*b32;
+		m33[index] = a30*b03 + a31*b13 + a32*b23 + a33*b33;
+	}
+	
+	/**
+	 * Multiply every matrix of this batch with the same matrix (this = this * m)
+	 * @param m	The matrix to multiply with
+	 */
+	public final void multiply(Matrix4x4 m) {
+		multiply(m, 0, capacity);
+	}
+	
+	/**
+	 * Multiply a range of matrices of this batch with the same matrix (this = this * m)
+	 * @param m	The matrix to multiply with
+	 * @param from	The first matrix index (inclusive)
+	 * @param to	The last matrix index (exclusive)
+	 */
+	public final void multiply(Matrix4x4 m, int from, int to) {
+		
+		float b00 = m.m00, b01 = m.m01, b02 = m.m02, b03 = m.m03;
+		float b10 = m.m10, b11 = m.m11, b12 = m.m12, b13 = m.m13;
+		float b20 = m.m20, b21 = m.m21, b22 = m.m22, b23 = m.m23;
+		float b30 = m.m30, b31 = m.m31, b32 = m.m32, b33 = m.m33;
+		
+		for (int i = from; i < to; i++) {
+			
+			float a00 = m00[i], a01 = m01[i], a02 = m02[i], a03 = m03[i];
+			float a10 = m10[i], a11 = m11[i], a12 = m12[i], a13 = m13[i];
+			float a20 = m20[i], a21 = m21[i], a22 = m22[i], a23 = m23[i];
+			float a30 = m30[i], a31 = m31[i], a32 = m32[i], a33 = m33[i];
+			
+			m00[i] = a00*b00 + a01*b10 + a02*b20 + a03*b30;
+			m01[i] = a00*b01 + a01*b11 + a02*b21 + a03*b31;
+			m02[i] = a00*b02 + a01*b12 + a02*b22 + a03*b32;
+			m03[i] = a00*b03 + a01*b13 + a02*b23 + a03*b33;
+			
+			m10[i] = a10*b00 + a11*b10 + a12*b20 + a13*b30;
+			m11[i] = a10*b01 + a11*b11 + a12*b21 + a13*b31;
+			m12[i] = a10*b02 + a11*b12 + a12*b22 + a13*b32;
+			m13[i] = a10*b03 + a11*b13 + a12*b23 + a13*b33;
+			
+			m20[i] = a20*b00 + a21*b10 + a22*b20 + a23*b30;
+			m21[i] = a20*b01 + a21*b11 + a22*b21 + a23*b31;
+			m22[i] = a20*b02 + a21*b12 + a22*b22 + a23*b32;
+			m23[i] = a20*b03 + a21*b13 + a22*b23 + a23*b33;
+			
+			m30[i] = a30*b00 + a31*b10 + a32*b20 + a33*b30;
+			m31[i] = a30*b01 + a31*b11 + a32*b21 + a33*b31;
+			m32[i] = a30*b02 + a31*b12 + a32*b22 + a33*b32;
+			m33[i] = a30*b03 + a31*b13 + a32*b23 + a33*b33;
+		}
+	}
+	
+	/**
+	 * Multiply the same matrix with every matrix of this batch (this = m * this)
+	 * @param m	The matrix to multiply with
+	 */
+	public final void preMultiply(Matrix4x4 m) {
+		preMultiply(m, 0, capacity);
+	}
+	
+	/**
+	 * Multiply the same matrix with a range of matrices of this batch (this = m * this)
+	 * @param m	The matrix to multiply with
+	 * @param from	The first matrix index (inclusive)
+	 * @param to	The last matrix index (exclusive)
+	 */
+	public final void preMultiply(Matrix4x4 m, int from, int to) {
+		
+		float a00 = m.m00, a01 = m.m01, a02 = m.m02, a03 = m.m03;
+		float a10 = m.m10, a11 = m.m11, a12 = m.m12, a13 = m.m13;
+		float a20 = m.m20, a21 = m.m21, a22 = m.m22, a23 = m.m23;
+		float a30 = m.m30, a31 = m.m31, a32 = m.m32, a33 = m.m33;
+		
+		for (int i = from; i < to; i++) {
+			
+			float b00 = m00[i], b01 = m01[i], b02 = m02[i], b03 = m03[i];
+			float b10 = m10[i], b11 = m11[i], b12 = m12[i], b13 = m13[i];
+			float b20 = m20[i], b21 = m21[i], b22 = m22[i], b23 = m23[i];
+			float b30 = m30[i], b31 = m31[i], b32 = m32[i], b33 = m33[i];
+			
+			m00[i] = a00*b00 + a01*b10 + a02*b20 + a03*b30;
+			m01[i] = a00*b01 + a01*b11 + a02*b21 + a03*b31;
+			m02[i] = a00*b02 + a01*b12 + a02*b22 + a03*b32;
+			m03[i] = a00*b03 + a01*b13 + a02*b23 + a03*b33;
+			
+			m10[i] = a10*b00 + a11*b10 + a12*b20 + a13*b30;
+			m11[i] = a10*b01 + a11*b11 + a12*b21 + a13*b31;
+			m12[i] = a10*b02 + a11*b12 + a12*b22 + a13*b32;
+			m13[i] = a10*b03 + a11*b13 + a12*b23 + a13*b33;
+			
+			m20[i] = a20*b00 + a21*b10 + a22*b20 + a23*b30;
+			m21[i] = a20*b01 + a21*b11 + a22*b21 + a23*b31;
+			m22[i] = a20*b02 + a21*b12 + a22*b22 + a23*b32;
+			m23[i] = a20*b03 + a21*b13 + a22*b23 + a23*b33;
+			
+			m30[i] = a30*b00 + a31*b10 + a32*b20 + a33*b30;
+			m31[i] = a30*b01 + a31*b11 + a32*b21 + a33*b31;
+			m32[i] = a30*b02 + a31*b12 + a32*b22 + a33*b32;
+			m33[i] = a30*b03 + a31*b13 + a32*b23 + a33*b33;
+		}
+	}
+	
+	/**
+	 * Invert every matrix of this batch
+	 * @return	The amount of singular matrices, which are left unchanged
+	 */
+	public final int inverse() {
+		return inverse(0, capacity);
+	}
+	
+	/**
+	 * Invert a range of matrices of this batch using the closed form
+	 * cofactor expansion. The 2x2 sub-determinants of the two top
+	 * and two bottom rows are shared by all of the cofactors.
+	 * @param from	The first matrix index (inclusive)
+	 * @param to	The last matrix index (exclusive)
+	 * @return	The amount of singular matrices, which are left unchanged
+	 */
+	public final int inverse(int from, int to) {
+		
+		int singular = 0;
+		for (int i = from; i < to; i++) {
+			
+			float a00 = m00[i], a01 = m01[i], a02 = m02[i], a03 = m03[i];
+			float a10 = m10[i], a11 = m11[i], a12 = m12[i], a13 = m13[i];
+			float a20 = m20[i], a21 = m21[i], a22 = m22[i], a23 = m23[i];
+			float a30 = m30[i], a31 = m31[i], a32 = m32[i], a33 = m33[i];
+			
+			float s0 = a00*a11 - a10*a01;
+			float s1 = a00*a12 - a10*a02;
+			float s2 = a00*a13 - a10*a03;
+			float s3 = a01*a12 - a11*a02;
+			float s4 = a01*a13 - a11*a03;
+			float s5 = a02*a13 - a12*a03;
+			
+			float c5 = a22*a33 - a32*a23;
+			float c4 = a21*a33 - a31*a23;
+			float c3 = a21*a32 - a31*a22;
+			float c2 = a20*a33 - a30*a23;
+			float c1 = a20*a32 - a30*a22;
+			float c0 = a20*a31 - a30*a21;
+			
+			float det = s0*c5 - s1*c4 + s2*c3 + s3*c2 - s4*c1 + s5*c0;
+			if (det == 0) {
+				singular++;
+				continue;
+			}
+			
+			float inv = 1.0f / det;
+			
+			m00[i] = ( a11*c5 - a12*c4 + a13*c3) * inv;
+			m01[i] = (-a01*c5 + a02*c4 - a03*c3) * inv;
+			m02[i] = ( a31*s5 - a32*s4 + a33*s3) * inv;
+			m03[i] = (-a21*s5 + a22*s4 - a23*s3) * inv;
+			
+			m10[i] = (-a10*c5 + a12*c2 - a13*c1) * inv;
+			m11[i] = ( a00*c5 - a02*c2 + a03*c1) * inv;
+			m12[i] = (-a30*s5 + a32*s2 - a33*s1) * inv;
+			m13[i] = ( a20*s5 - a22*s2 + a23*s1) * inv;
+			
+			m20[i] = ( a10*c4 - a11*c2 + a13*c0) * inv;
+			m21[i] = (-a00*c4 + a01*c2 - a03*c0) * inv;
+			m22[i] = ( a30*s4 - a31*s2 + a33*s0) * inv;
+			m23[i] = (-a20*s4 + a21*s2 - a23*s0) * inv;
+			
+			m30[i] = (-a10*c3 + a11*c1 - a12*c0) * inv;
+			m31[i] = ( a00*c3 - a01*c1 + a02*c0) * inv;
+			m32[i] = (-a30*s3 + a31*s1 - a32*s0) * inv;
+			m33[i] = ( a20*s3 - a21*s1 + a22*s0) * inv;
+		}
+		
+		return singular;
+	}
+	
+	/**
+	 * Transform one column vector per matrix (v = Mv). Vector i is
+	 * made of (xs[i], ys[i], zs[i], ws[i]) and is transformed by
+	 * matrix i of this batch.
+	 * @param xs	The x components, overwritten with the result
+	 * @param ys	The y components, overwritten with the result
+	 * @param zs	The z components, overwritten with the result
+	 * @param ws	The w components, overwritten with the result
+	 */
+	public final void transform(float xs[], float ys[], float zs[], float ws[]) {
+		transform(xs, ys, zs, ws, 0, capacity);
+	}
+	
+	/**
+	 * Transform a range of column vectors, one per matrix (v = Mv)
+	 * @param xs	The x components, overwritten with the result
+	 * @param ys	The y components, overwritten with the result
+	 * @param zs	The z components, overwritten with the result
+	 * @param ws	The w components, overwritten with the result
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void transform(float xs[], float ys[], float zs[], float ws[], int from, int to) {
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float z = zs[i];
+			float w = ws[i];
+			
+			xs[i] = m00[i]*x + m01[i]*y + m02[i]*z + m03[i]*w;
+			ys[i] = m10[i]*x + m11[i]*y + m12[i]*z + m13[i]*w;
+			zs[i] = m20[i]*x + m21[i]*y + m22[i]*z + m23[i]*w;
+			ws[i] = m30[i]*x + m31[i]*y + m32[i]*z + m33[i]*w;
+		}
+	}
+	
+	/**
+	 * Transform one point per matrix, treating the point as (x, y, z, 1).
+	 * The bottom row of each matrix is ignored, which is correct for
+	 * affine transforms (rotation, scale and translation).
+	 * @param xs	The x components, overwritten with the result
+	 * @param ys	The y components, overwritten with the result
+	 * @param zs	The z components, overwritten with the result
+	 */
+	public final void transformPoint(float xs[], float ys[], float zs[]) {
+		transformPoint(xs, ys, zs, 0, capacity);
+	}
+	
+	/**
+	 * Transform a range of points, one per matrix, treating the point as (x, y, z, 1).
+	 * The bottom row of each matrix is ignored, which is correct for
+	 * affine transforms (rotation, scale and translation).
+	 * @param xs	The x components, overwritten with the result
+	 * @param ys	The y components, overwritten with the result
+	 * @param zs	The z components, overwritten with the result
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void transformPoint(float xs[], float ys[], float zs[], int from, int to) {
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float z = zs[i];
+			
+			xs[i] = m00[i]*x + m01[i]*y + m02[i]*z + m03[i];
+			ys[i] = m10[i]*x + m11[i]*y + m12[i]*z + m13[i];
+			zs[i] = m20[i]*x + m21[i]*y + m22[i]*z + m23[i];
+		}
+	}
+}
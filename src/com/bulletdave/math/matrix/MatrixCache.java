@@ -0,0 +1,301 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: A bounded, thread safe cache of matrix inverses
+ */
+
+package com.bulletdave.math.matrix;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class MatrixCache {
+	
+	private static final int SEGMENTS = 16;		// independently locked parts
+	
+	private final int capacity;					// most entries held at once
+	private final Segment segments[];
+	
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	
+	/**
+	 * Construct a cache holding up to a given amount of inverses.
+	 * Each of the segments evicts its least recently used entry
+	 * once it holds its share of the capacity; the shares add up
+	 * to the capacity exactly.
+	 * @param capacity	The most entries held at once, at least SEGMENTS
+	 */
+	public MatrixCache(int capacity) {
+		
+		this.capacity = Math.max(capacity, SEGMENTS);
+		this.segments = new Segment[SEGMENTS];
+		
+		// the first capacity % SEGMENTS segments hold one extra entry
+		int share = this.capacity / SEGMENTS;
+		int extra = this.capacity % SEGMENTS;
+		for (int i = 0; i < SEGMENTS; i++) {
+			segments[i] = new Segment(i < extra ? share + 1 : share);
+		}
+	}
+	
+	/**
+	 * Get the most entries this cache holds at once
+	 * @return	The capacity of this cache
+	 */
+	public final int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Store the inverse of a matrix into a destination matrix,
+	 * computing it with Matrix4x4.inverse() only on a miss.
+	 * Like Matrix4x4.inverse(), a singular matrix is copied unchanged.
+	 * @param m		The matrix to invert, left unchanged
+	 * @param dest	The matrix receiving the inverse, can be m
+	 * @return	A reference to the destination matrix.
+	 */
+	public final Matrix4x4 inverse(Matrix4x4 m, Matrix4x4 dest) {
+		
+		Key key = new Key(m.get(new float[Matrix4x4.SIZE * Matrix4x4.SIZE]), Matrix4x4.SIZE, Matrix4x4.SIZE);
+		float inv[] = lookup(key);
+		
+		if (inv == null) {
+			inv = store(key, m.clone().inverse().get(new float[Matrix4x4.SIZE * Matrix4x4.SIZE]));
+		}
+		
+		dest.set(inv);
+		return dest;
+	}
+	
+	/**
+	 * Store the inverse of a matrix into a destination matrix,
+	 * computing it with Matrix3x3.inverse() only on a miss.
+	 * Like Matrix3x3.inverse(), a singular matrix is copied unchanged.
+	 * @param m		The matrix to invert, left unchanged
+	 * @param dest	The matrix receiving the inverse, can be m
+	 * @return	A reference to the destination matrix.
+	 */
+	public final Matrix3x3 inverse(Matrix3x3 m, Matrix3x3 dest) {
+		
+		Key key = new Key(m.get(new float[Matrix3x3.SIZE * Matrix3x3.SIZE]), Matrix3x3.SIZE, Matrix3x3.SIZE);
+		float inv[] = lookup(key);
+		
+		if (inv == null) {
+			inv = store(key, m.clone().inverse().get(new float[Matrix3x3.SIZE * Matrix3x3.SIZE]));
+		}
+		
+		dest.set(inv);
+		return dest;
+	}
+	
+	/**
+	 * Get the inverse of a matrix as a new matrix, computing it
+	 * with Matrix.inverse() only on a miss. Like Matrix.inverse(),
+	 * a singular or non-square matrix is copied unchanged.
+	 * @param m		The matrix to invert, left unchanged
+	 * @return	A new matrix holding the inverse.
+	 */
+	public final Matrix inverse(Matrix m) {
+		
+		int rows = m.getRowCount();
+		int cols = m.getColCount();
+		
+		Key key = new Key(m.get(new float[rows * cols]), rows, cols);
+		float inv[] = lookup(key);
+		
+		if (inv == null) {
+			inv = store(key, m.clone().inverse().get(new float[rows * cols]));
+		}
+		
+		return new Matrix(inv, rows, cols);
+	}
+	
+	/**
+	 * Get the amount of lookups answered from the cache
+	 * @return	The hit count
+	 */
+	public final long getHitCount() {
+		return hits.get();
+	}
+	
+	/**
+	 * Get the amount of lookups that had to compute an inverse
+	 * @return	The miss count
+	 */
+	public final long getMissCount() {
+		return misses.get();
+	}
+	
+	/**
+	 * Get the amount of entries dropped to respect the capacity
+	 * @return	The eviction count
+	 */
+	public final long getEvictionCount() {
+		return evictions.get();
+	}
+	
+	/**
+	 * Get the amount of entries currently held
+	 * @return	The size of this cache
+	 */
+	public final int size() {
+		
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		
+		return size;
+	}
+	
+	/**
+	 * Drop every entry. The counters are kept.
+	 */
+	public final void clear() {
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+	
+	private Segment segmentFor(Key key) {
+		
+		// spread the high bits so the low bits pick the segment well
+		int h = key.hash ^ (key.hash >>> 16);
+		return segments[h & (SEGMENTS - 1)];
+	}
+	
+	private float[] lookup(Key key) {
+		
+		Segment segment = segmentFor(key);
+		float value[];
+		
+		synchronized (segment) {
+			value = segment.get(key);
+		}
+		
+		if (value == null) {
+			misses.incrementAndGet();
+		} else {
+			hits.incrementAndGet();
+		}
+		
+		return value;
+	}
+	
+	// computed outside of the lock; two threads missing the same key
+	// both compute it and the first stored value is kept
+	private float[] store(Key key, float value[]) {
+		
+		Segment segment = segmentFor(key);
+		
+		synchronized (segment) {
+			float existing[] = segment.get(key);
+			if (existing != null) {
+				return existing;
+			}
+			segment.put(key, value);
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * An exact content key: elements are compared bit for bit, so
+	 * 0.0f and -0.0f differ and NaN matches NaN, unlike equals()
+	 * on the matrix classes which allows Compute.ERROR of tolerance.
+	 */
+	private static final class Key {
+		
+		final int rows;
+		final int cols;
+		final float data[];
+		final int hash;
+		
+		Key(float data[], int rows, int cols) {
+			this.rows = rows;
+			this.cols = cols;
+			this.data = data;
+			this.hash = 31 * (31 * rows + cols) + Arrays.hashCode(data);
+		}
+		
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			
+			if (this == obj) return true;
+			if (!(obj instanceof Key)) return false;
+			
+			Key key = (Key) obj;
+			return hash == key.hash && rows == key.rows && cols == key.cols &&
+				   Arrays.equals(data, key.data);
+		}
+	}
+	
+	private final class Segment extends LinkedHashMap<Key, float[]> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final int limit;
+		
+		Segment(int limit) {
+			super(16, 0.75f, true);		// access order for LRU
+			this.limit = limit;
+		}
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, float[]> eldest) {
+			
+			if (size() <= limit) return false;
+			
+			evictions.incrementAndGet();
+			return true;
+		}
+	}
+}
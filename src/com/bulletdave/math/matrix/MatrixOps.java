@@ -0,0 +1,332 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: Shared routines for the fixed size matrix classes
+ */
+
+package com.bulletdave.math.matrix;
+
+import java.io.IOException;
+
+import com.bulletdave.math.Compute;
+
+
+final class MatrixOps {
+	
+	// typical length of a formatted element and its separator,
+	// used to size text buffers up front
+	private static final int CHARS_PER_ELEMENT = 12;
+	
+	private MatrixOps() {
+	}
+	
+	/**
+	 * Round a product to the closest integer if it is within
+	 * Compute.ERROR of it, to remove the floating point noise
+	 * left over by a multiplication.
+	 * @param sum	The product to round
+	 * @return	The rounded product
+	 */
+	static final float snap(float sum) {
+		
+		float decVal = sum < 0 ? -sum : sum;
+		decVal = decVal - (int)decVal;
+		if (decVal <= Compute.ERROR || (decVal+Compute.ERROR) >= 1.0f) {
+			sum = Math.round(sum);
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * Round every element within Compute.ERROR of an integer
+	 * if the cleanup policy asks for it.
+	 * @param a	The elements
+	 * @param count	The amount of elements from the start
+	 */
+	static final void snap(float a[], int count) {
+		
+		if ((Compute.getCleanup() & Compute.CLEANUP_SNAP_INTEGER) == 0) {
+			return;
+		}
+		
+		for (int i = 0; i < count; i++) {
+			a[i] = snap(a[i]);
+		}
+	}
+	
+	/**
+	 * Replace every -0.0f with 0.0f
+	 * @param a	The elements
+	 * @param count	The amount of elements from the start
+	 */
+	static final void clearNegativeZero(float a[], int count) {
+		
+		for (int i = 0; i < count; i++) {
+			if (a[i] == 0) {
+				a[i] = 0.0f;
+			}
+		}
+	}
+	
+	/**
+	 * Swap two rows of a square matrix and of its augmented columns
+	 * @param a	The square matrix, stored row by row
+	 * @param n	The size of the square matrix
+	 * @param b	The augmented columns, stored row by row
+	 * @param bCols	The amount of augmented columns
+	 * @param r1	Target row to swap
+	 * @param r2	Destination row to swap
+	 */
+	private static final void swapRow(float a[], int n, float b[], int bCols, int r1, int r2) {
+		
+		for (int l = 0; l < n; l++) {
+			float temp = a[r1*n + l];
+			a[r1*n + l] = a[r2*n + l];
+			a[r2*n + l] = temp;
+		}
+		
+		for (int l = 0; l < bCols; l++) {
+			float temp = b[r1*bCols + l];
+			b[r1*bCols + l] = b[r2*bCols + l];
+			b[r2*bCols + l] = temp;
+		}
+	}
+	
+	/**
+	 * Reduce a square matrix using Gaussian Elimination, performing
+	 * the same row operations on a set of augmented columns. Once
+	 * reduced, the square matrix should be an identity matrix and
+	 * the augmented columns hold the solutions.
+	 * @param a	The square matrix, stored row by row
+	 * @param n	The size of the square matrix
+	 * @param b	The augmented columns, stored row by row
+	 * @param bCols	The amount of augmented columns
+	 */
+	static final void reduce(float a[], int n, float b[], int bCols) {
+		
+		int cleanup = Compute.getCleanup();
+		int j = 0;
+		float entry = 0;
+		
+		for (int i = 0; i < n; i++) {
+			
+			// 1. set to valid leading column entry
+			if (a[i*n + j] == 0) {
+				
+				int y = i+1;
+				while (y < n && a[y*n + j] == 0) {
+					y++;
+				}
+				
+				if (y == n) {
+					j++;
+					continue;
+				}
+				
+				swapRow(a, n, b, bCols, i, y);
+			}
+			
+			// 2. divide the row to make the leading entry 1
+			entry = a[i*n + j];
+			if (entry != 1) {
+				
+				for (int l = 0; l < n; l++) {
+					a[i*n + l] /= entry;
+				}
+				
+				for (int l = 0; l < bCols; l++) {
+					b[i*bCols + l] /= entry;
+				}
+			}
+			
+			// 3. eliminate all other entries
+			for (int k = 0; k < n; k++) {
+				
+				entry = a[k*n + j];
+				if (k != i) {
+					
+					for (int l = 0; l < n; l++) {
+						a[k*n + l] -= a[i*n + l] * entry;
+					}
+					
+					for (int l = 0; l < bCols; l++) {
+						b[k*bCols + l] -= b[i*bCols + l] * entry;
+					}
+				}
+			}
+			
+			// 4. increase i and j by 1 for new pivot point
+			j++;
+		}
+		
+		if ((cleanup & Compute.CLEANUP_NEGATIVE_ZERO) != 0) {
+			clearNegativeZero(a, n * n);
+			clearNegativeZero(b, n * bCols);
+		}
+	}
+	
+	/**
+	 * Solve a square matrix for several right hand sides at once.
+	 * The right hand sides are packed row by row so that every row
+	 * operation of the single elimination is one contiguous pass
+	 * over all of them; the solutions are written back in place.
+	 * @param a	The square matrix, stored row by row, reduced in place
+	 * @param n	The size of the square matrix
+	 * @param rhs	The right hand sides, one array of n entries each
+	 * @return	true if the matrix was reduced to an identity matrix,
+	 * 			false if it is singular or a right hand side is too short,
+	 * 			in which case the right hand sides are not changed.
+	 */
+	static final boolean solve(float a[], int n, float rhs[][]) {
+		
+		int count = rhs.length;
+		for (int c = 0; c < count; c++) {
+			if (rhs[c].length < n) {
+				return false;
+			}
+		}
+		
+		float b[] = new float[n * count];
+		for (int c = 0; c < count; c++) {
+			float col[] = rhs[c];
+			for (int i = 0; i < n; i++) {
+				b[i * count + c] = col[i];
+			}
+		}
+		
+		reduce(a, n, b, count);
+		
+		if (!isIdentity(a, n)) {
+			return false;
+		}
+		
+		for (int c = 0; c < count; c++) {
+			float col[] = rhs[c];
+			for (int i = 0; i < n; i++) {
+				col[i] = b[i * count + c];
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Format a matrix the way the matrix classes print themselves:
+	 * each row on its own line, each element followed by a space.
+	 * @param a	The elements, stored row by row, may be null when empty
+	 * @param rows	The row count
+	 * @param cols	The column count
+	 * @return	The formatted matrix
+	 */
+	static final String toString(float a[], int rows, int cols) {
+		
+		StringBuilder text = new StringBuilder(rows * (cols * CHARS_PER_ELEMENT + 1));
+		
+		if (a != null) {
+			for (int i = 0; i < rows; i++) {
+				appendRow(text, a, i, cols);
+			}
+		}
+		
+		return text.toString();
+	}
+	
+	/**
+	 * Stream a matrix in the toString format, one row at a time, so
+	 * a large matrix never has to be held as a single string.
+	 * @param out	The destination
+	 * @param a	The elements, stored row by row, may be null when empty
+	 * @param rows	The row count
+	 * @param cols	The column count
+	 * @throws IOException	if the destination fails to append
+	 */
+	static final void write(Appendable out, float a[], int rows, int cols) throws IOException {
+		
+		if (a == null) {
+			return;
+		}
+		
+		// a builder takes the floats directly without a row copy
+		if (out instanceof StringBuilder) {
+			
+			StringBuilder text = (StringBuilder) out;
+			text.ensureCapacity(text.length() + rows * (cols * CHARS_PER_ELEMENT + 1));
+			
+			for (int i = 0; i < rows; i++) {
+				appendRow(text, a, i, cols);
+			}
+			return;
+		}
+		
+		StringBuilder row = new StringBuilder(cols * CHARS_PER_ELEMENT + 1);
+		for (int i = 0; i < rows; i++) {
+			row.setLength(0);
+			appendRow(row, a, i, cols);
+			out.append(row);
+		}
+	}
+	
+	private static void appendRow(StringBuilder text, float a[], int i, int cols) {
+		
+		int row = i * cols;
+		for (int j = 0; j < cols; j++) {
+			text.append(a[row + j]).append(' ');
+		}
+		
+		text.append('\n');
+	}
+	
+	/**
+	 * Verify if a square matrix is an identity matrix
+	 * @param a	The square matrix, stored row by row
+	 * @param n	The size of the square matrix
+	 * @return	true if this is an identity matrix.
+	 */
+	static final boolean isIdentity(float a[], int n) {
+		
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				if (a[i*n + j] != (i == j ? 1 : 0)) {
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}
+}
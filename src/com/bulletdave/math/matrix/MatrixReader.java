@@ -0,0 +1,672 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: Reads matrices from delimited text and Matrix Market files
+ */
+
+package com.bulletdave.math.matrix;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.bulletdave.math.Parallel;
+
+
+public final class MatrixReader {
+	
+	public static final int PARALLEL_BYTES = 1 << 22;	// smallest file split into chunks
+	private static final int CHUNK_BYTES = 1 << 20;		// bytes per parallel chunk
+	
+	private static final Charset ASCII = Charset.forName("US-ASCII");
+	
+	// exactly representable powers of ten
+	private static final double POW10[] = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+		1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	
+	/**
+	 * Receives the entries of a sparse matrix as they are parsed.
+	 * When reading in parallel, add is called from several threads.
+	 */
+	public interface EntrySink {
+		
+		/**
+		 * Called once, before any entry
+		 * @param rows		The row count
+		 * @param cols		The column count
+		 * @param entries	The amount of stored entries, before symmetry
+		 */
+		void setSize(int rows, int cols, int entries);
+		
+		/**
+		 * Called for every entry, zero based
+		 * @param row	The entry's row
+		 * @param col	The entry's column
+		 * @param value	The entry's value
+		 */
+		void add(int row, int col, float value);
+	}
+	
+	private MatrixReader() {
+	}
+	
+	/**
+	 * Read a dense matrix from delimited text, such as CSV (',') or
+	 * TSV ('\t'). Every non blank line is one row and every row must
+	 * have the same amount of values. Spaces around values are ignored.
+	 * @param file		The file to read, at most 2 GB
+	 * @param delimiter	The character between values
+	 * @param parallel	true to parse large files in chunks across the shared pool
+	 * @return	A new matrix holding the values
+	 * @throws IOException	if the file cannot be read or is malformed
+	 */
+	public static Matrix readDelimited(File file, char delimiter, boolean parallel) throws IOException {
+		
+		final ByteBuffer buf = map(file);
+		final int end = buf.limit();
+		final byte delim = (byte) delimiter;
+		
+		// the first row decides the column count
+		Cursor first = new Cursor(buf, 0, end, delim);
+		first.skipBlankLines();
+		if (first.atEnd()) {
+			return new Matrix(0, 0);
+		}
+		
+		final int start = first.pos;
+		final int cols = first.countValues();
+		
+		try {
+			
+			// 1. count the rows of every chunk so each knows its first row
+			final int bounds[] = split(buf, start, end, parallel);
+			final int chunks = bounds.length - 1;
+			final int firstRow[] = new int[chunks + 1];
+			
+			run(chunks, new Parallel.Range() {
+				@Override
+				public void run(int from, int to) {
+					for (int c = from; c < to; c++) {
+						firstRow[c + 1] = new Cursor(buf, bounds[c], bounds[c + 1], delim).countLines();
+					}
+				}
+			});
+			
+			for (int c = 0; c < chunks; c++) {
+				firstRow[c + 1] += firstRow[c];
+			}
+			
+			// 2. parse every chunk straight into its rows
+			final Matrix m = new Matrix(firstRow[chunks], cols);
+			
+			run(chunks, new Parallel.Range() {
+				@Override
+				public void run(int from, int to) {
+					for (int c = from; c < to; c++) {
+						
+						Cursor cursor = new Cursor(buf, bounds[c], bounds[c + 1], delim);
+						int row = firstRow[c];
+						
+						for (cursor.skipBlankLines(); !cursor.atEnd(); cursor.skipBlankLines()) {
+							cursor.readRow(m, row++, cols);
+						}
+					}
+				}
+			});
+			
+			return m;
+			
+		} catch (RuntimeException e) {
+			throw malformed(file, e);
+		}
+	}
+	
+	/**
+	 * Read a Matrix Market file into a dense matrix. Coordinate and
+	 * array formats with real, integer or pattern values and general,
+	 * symmetric or skew-symmetric layouts are supported.
+	 * @param file		The file to read, at most 2 GB
+	 * @param parallel	true to parse large coordinate files in chunks
+	 * @return	A new matrix holding the values
+	 * @throws IOException	if the file cannot be read or is malformed
+	 */
+	public static Matrix readMatrixMarket(File file, boolean parallel) throws IOException {
+		
+		final AtomicReference<Matrix> result = new AtomicReference<Matrix>();
+		
+		readMatrixMarket(file, new EntrySink() {
+			
+			private Matrix m;
+			
+			@Override
+			public void setSize(int rows, int cols, int entries) {
+				m = new Matrix(rows, cols);
+				result.set(m);
+			}
+			
+			@Override
+			public void add(int row, int col, float value) {
+				m.set(row, col, value);
+			}
+		}, parallel);
+		
+		return result.get();
+	}
+	
+	/**
+	 * Read a Matrix Market file, handing every entry to a sink so
+	 * sparse data never has to be held as a dense matrix. Symmetric
+	 * files report the mirrored entries as well.
+	 * @param file		The file to read, at most 2 GB
+	 * @param sink		Receives the size and the entries
+	 * @param parallel	true to parse large coordinate files in chunks,
+	 * 					in which case the sink must be thread safe
+	 * @throws IOException	if the file cannot be read or is malformed
+	 */
+	public static void readMatrixMarket(File file, final EntrySink sink, boolean parallel) throws IOException {
+		
+		final ByteBuffer buf = map(file);
+		final int end = buf.limit();
+		
+		// Matrix Market has no delimiter; any whitespace separates values
+		Cursor cursor = new Cursor(buf, 0, end, (byte) '\n');
+		
+		// %%MatrixMarket matrix <format> <field> <symmetry>
+		String header[] = cursor.readLine().trim().toLowerCase().split("\\s+");
+		if (header.length < 5 || !header[0].equals("%%matrixmarket") || !header[1].equals("matrix")) {
+			throw new IOException(file + ": not a Matrix Market matrix");
+		}
+		
+		boolean coordinate = header[2].equals("coordinate");
+		if (!coordinate && !header[2].equals("array")) {
+			throw new IOException(file + ": unknown format " + header[2]);
+		}
+		
+		final boolean pattern = header[3].equals("pattern");
+		if (!pattern && !header[3].equals("real") && !header[3].equals("double") && !header[3].equals("integer")) {
+			throw new IOException(file + ": unsupported field " + header[3]);
+		}
+		
+		final int symmetry;
+		if (header[4].equals("general")) {
+			symmetry = 0;
+		} else if (header[4].equals("symmetric")) {
+			symmetry = 1;
+		} else if (header[4].equals("skew-symmetric")) {
+			symmetry = -1;
+		} else {
+			throw new IOException(file + ": unsupported symmetry " + header[4]);
+		}
+		
+		try {
+			
+			// comments, then the size line
+			cursor.skipComments();
+			
+			final int rows = cursor.readInt();
+			final int cols = cursor.readInt();
+			final int entries = coordinate ? cursor.readInt() : rows * cols;
+			cursor.nextLine();
+			
+			sink.setSize(rows, cols, entries);
+			
+			if (!coordinate) {
+				readArray(cursor, sink, rows, cols, symmetry);
+				return;
+			}
+			
+			// coordinate lines are independent, so chunks only count them
+			final int bounds[] = split(buf, cursor.pos, end, parallel);
+			final AtomicInteger read = new AtomicInteger();
+			
+			run(bounds.length - 1, new Parallel.Range() {
+				@Override
+				public void run(int from, int to) {
+					for (int c = from; c < to; c++) {
+						
+						Cursor chunk = new Cursor(buf, bounds[c], bounds[c + 1], (byte) '\n');
+						int lines = 0;
+						
+						for (chunk.skipComments(); !chunk.atEnd(); chunk.skipComments()) {
+							
+							int row = chunk.readInt() - 1;
+							int col = chunk.readInt() - 1;
+							float value = pattern ? 1 : chunk.readFloat();
+							chunk.nextLine();
+							
+							if (row < 0 || row >= rows || col < 0 || col >= cols) {
+								throw new MalformedException("entry (" + (row + 1) + ", " + (col + 1) +
+															 ") is outside " + rows + "x" + cols);
+							}
+							
+							lines++;
+							sink.add(row, col, value);
+							if (symmetry != 0 && row != col) {
+								sink.add(col, row, symmetry * value);
+							}
+						}
+						
+						read.addAndGet(lines);
+					}
+				}
+			});
+			
+			if (read.get() != entries) {
+				throw new MalformedException("expected " + entries + " entries, found " + read.get());
+			}
+			
+		} catch (RuntimeException e) {
+			throw malformed(file, e);
+		}
+	}
+	
+	// array values are listed column by column; symmetric files only
+	// list the lower triangle, and skew-symmetric ones skip the diagonal
+	private static void readArray(Cursor cursor, EntrySink sink, int rows, int cols, int symmetry) {
+		
+		for (int col = 0; col < cols; col++) {
+			
+			int row = symmetry == 0 ? 0 : (symmetry > 0 ? col : col + 1);
+			
+			for (; row < rows; row++) {
+				
+				cursor.skipComments();
+				float value = cursor.readFloat();
+				
+				sink.add(row, col, value);
+				if (symmetry != 0 && row != col) {
+					sink.add(col, row, symmetry * value);
+				}
+			}
+		}
+	}
+	
+	private static ByteBuffer map(File file) throws IOException {
+		
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		
+		try {
+			FileChannel channel = raf.getChannel();
+			long size = channel.size();
+			
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(file + ": larger than 2 GB");
+			}
+			
+			// the mapping stays valid after the channel is closed
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			
+		} finally {
+			raf.close();
+		}
+	}
+	
+	/**
+	 * Split [start, end) into chunks that each begin at a line start.
+	 * @return	The chunk boundaries, one more than the amount of chunks
+	 */
+	private static int[] split(ByteBuffer buf, int start, int end, boolean parallel) {
+		
+		int length = end - start;
+		int chunks = 1;
+		
+		if (parallel && length >= PARALLEL_BYTES && Parallel.THREADS > 1) {
+			chunks = (length + CHUNK_BYTES - 1) / CHUNK_BYTES;
+		}
+		
+		int bounds[] = new int[chunks + 1];
+		bounds[0] = start;
+		bounds[chunks] = end;
+		
+		for (int c = 1; c < chunks; c++) {
+			
+			int pos = Math.max(start + (int) ((long) length * c / chunks), bounds[c - 1]);
+			while (pos < end && buf.get(pos - 1) != '\n') {
+				pos++;
+			}
+			bounds[c] = pos;
+		}
+		
+		return bounds;
+	}
+	
+	private static void run(int chunks, Parallel.Range body) {
+		Parallel.forRange(0, chunks, 1, body);
+	}
+	
+	private static IOException malformed(File file, RuntimeException e) {
+		
+		// the pool may wrap the original failure
+		for (Throwable t = e; t != null; t = t.getCause()) {
+			if (t instanceof MalformedException) {
+				return new IOException(file + ": " + t.getMessage());
+			}
+		}
+		
+		throw e;
+	}
+	
+	private static final class MalformedException extends RuntimeException {
+		
+		private static final long serialVersionUID = 1L;
+		
+		MalformedException(String message) {
+			super(message);
+		}
+		
+		MalformedException(Throwable cause) {
+			super(cause.getMessage(), cause);
+		}
+	}
+	
+	/**
+	 * Walks the bytes of [pos, end) of a buffer, parsing numbers
+	 * in place without building strings.
+	 */
+	private static final class Cursor {
+		
+		private final ByteBuffer buf;
+		private final int end;
+		private final byte delim;
+		int pos;
+		
+		Cursor(ByteBuffer buf, int pos, int end, byte delim) {
+			this.buf = buf;
+			this.pos = pos;
+			this.end = end;
+			this.delim = delim;
+		}
+		
+		boolean atEnd() {
+			return pos >= end;
+		}
+		
+		// spaces, tabs and carriage returns, unless one is the delimiter
+		private boolean isBlank(byte b) {
+			return (b == ' ' || b == '\t' || b == '\r') && b != delim;
+		}
+		
+		private void skipBlanks() {
+			while (pos < end && isBlank(buf.get(pos))) {
+				pos++;
+			}
+		}
+		
+		// leaves pos at the start of the next line holding anything
+		void skipBlankLines() {
+			
+			while (pos < end) {
+				
+				int line = pos;
+				skipBlanks();
+				
+				if (pos < end && buf.get(pos) == '\n') {
+					pos++;
+					continue;
+				}
+				
+				if (pos < end) {
+					pos = line;
+				}
+				return;
+			}
+		}
+		
+		// like skipBlankLines, also skipping lines starting with '%'
+		void skipComments() {
+			
+			while (true) {
+				skipBlankLines();
+				skipBlanks();
+				
+				if (pos >= end || buf.get(pos) != '%') {
+					return;
+				}
+				nextLine();
+			}
+		}
+		
+		void nextLine() {
+			while (pos < end && buf.get(pos++) != '\n') {
+			}
+		}
+		
+		String readLine() {
+			
+			int start = pos;
+			nextLine();
+			
+			byte bytes[] = new byte[pos - start];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = buf.get(start + i);
+			}
+			
+			return new String(bytes, ASCII);
+		}
+		
+		int countLines() {
+			
+			int lines = 0;
+			for (skipBlankLines(); !atEnd(); skipBlankLines()) {
+				nextLine();
+				lines++;
+			}
+			
+			return lines;
+		}
+		
+		// the amount of delimited values on the current line
+		int countValues() {
+			
+			int values = 1;
+			for (int p = pos; p < end; p++) {
+				byte b = buf.get(p);
+				if (b == '\n') break;
+				if (b == delim) values++;
+			}
+			
+			return values;
+		}
+		
+		void readRow(Matrix m, int row, int cols) {
+			
+			for (int col = 0; col < cols; col++) {
+				
+				skipBlanks();
+				m.set(row, col, readFloat());
+				skipBlanks();
+				
+				byte expect = col + 1 < cols ? delim : (byte) '\n';
+				if (pos < end && buf.get(pos) == expect) {
+					pos++;
+				} else if (pos < end || expect != '\n') {
+					throw new MalformedException("row " + (row + 1) + " does not have " + cols + " values");
+				}
+			}
+		}
+		
+		int readInt() {
+			
+			skipBlanks();
+			
+			int value = 0;
+			int start = pos;
+			
+			while (pos < end) {
+				int d = buf.get(pos) - '0';
+				if (d < 0 || d > 9) break;
+				value = value * 10 + d;
+				pos++;
+			}
+			
+			if (pos == start) {
+				throw new MalformedException("expected an integer at byte " + start);
+			}
+			
+			return value;
+		}
+		
+		/**
+		 * Parse a decimal float. Up to 15 significant digits, which are
+		 * exact in a double, are scaled by an exact power of ten in one
+		 * correctly rounded step. Anything else (more digits, NaN, Infinity,
+		 * large exponents, or a double landing on a float rounding midpoint)
+		 * goes through Float.parseFloat.
+		 */
+		float readFloat() {
+			
+			skipBlanks();
+			
+			int start = pos;
+			boolean negative = false;
+			
+			if (pos < end && (buf.get(pos) == '-' || buf.get(pos) == '+')) {
+				negative = buf.get(pos) == '-';
+				pos++;
+			}
+			
+			long mantissa = 0;
+			int digits = 0;
+			int exponent = 0;
+			boolean any = false;
+			
+			// integer part, digits past 18 only scale
+			while (pos < end) {
+				int d = buf.get(pos) - '0';
+				if (d < 0 || d > 9) break;
+				if (digits < 18) {
+					mantissa = mantissa * 10 + d;
+					if (mantissa != 0) digits++;
+				} else {
+					exponent++;
+				}
+				any = true;
+				pos++;
+			}
+			
+			// fraction part
+			if (pos < end && buf.get(pos) == '.') {
+				pos++;
+				while (pos < end) {
+					int d = buf.get(pos) - '0';
+					if (d < 0 || d > 9) break;
+					if (digits < 18) {
+						mantissa = mantissa * 10 + d;
+						if (mantissa != 0) digits++;
+						exponent--;
+					}
+					any = true;
+					pos++;
+				}
+			}
+			
+			// exponent part
+			if (any && pos < end && (buf.get(pos) == 'e' || buf.get(pos) == 'E')) {
+				
+				pos++;
+				boolean negExp = false;
+				if (pos < end && (buf.get(pos) == '-' || buf.get(pos) == '+')) {
+					negExp = buf.get(pos) == '-';
+					pos++;
+				}
+				
+				int e = 0;
+				int expStart = pos;
+				while (pos < end) {
+					int d = buf.get(pos) - '0';
+					if (d < 0 || d > 9) break;
+					if (e < 100000) e = e * 10 + d;
+					pos++;
+				}
+				
+				if (pos == expStart) {
+					any = false;
+				}
+				exponent += negExp ? -e : e;
+			}
+			
+			if (!any || digits > 15 || exponent < -22 || exponent > 22) {
+				return slowFloat(start);
+			}
+			
+			double value = mantissa;
+			value = exponent < 0 ? value / POW10[-exponent] : value * POW10[exponent];
+			
+			// the double is correctly rounded, so rounding it again to a float
+			// is only wrong when it sits exactly halfway between two floats
+			float result = (float) value;
+			if (value != result) {
+				double down = (double) result + Math.nextAfter(result, Double.NEGATIVE_INFINITY);
+				double up = (double) result + Math.nextUp(result);
+				if (value * 2 == down || value * 2 == up) {
+					return slowFloat(start);
+				}
+			}
+			
+			return negative ? -result : result;
+		}
+		
+		// hands the whole token to Float.parseFloat
+		private float slowFloat(int start) {
+			
+			pos = start;
+			while (pos < end) {
+				byte b = buf.get(pos);
+				if (b == delim || b == '\n' || b == ' ' || b == '\t' || b == '\r') break;
+				pos++;
+			}
+			
+			byte bytes[] = new byte[pos - start];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = buf.get(start + i);
+			}
+			
+			try {
+				return Float.parseFloat(new String(bytes, ASCII));
+			} catch (NumberFormatException e) {
+				throw new MalformedException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,405 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: A preallocated stack of 4x4 transforms
+ */
+
+package com.bulletdave.math.matrix;
+
+import com.bulletdave.math.Quat4F;
+
+
+public class MatrixStack {
+	
+	private static final int STRIDE = Matrix4x4.SIZE * Matrix4x4.SIZE;
+	
+	private final int capacity;		// deepest amount of matrices
+	private final float stack[];	// row-major matrices, one per level
+	private final boolean affine[];	// bottom row of a level is (0, 0, 0, 1)
+	private int top;				// index of the current level
+	
+	/**
+	 * Construct a stack holding up to a given amount of matrices.
+	 * The base level starts as an identity matrix.
+	 * @param capacity	The amount of levels, at least 1
+	 */
+	public MatrixStack(int capacity) {
+		
+		this.capacity = capacity < 1 ? 1 : capacity;
+		this.stack = new float[this.capacity * STRIDE];
+		this.affine = new boolean[this.capacity];
+		
+		loadIdentity();
+	}
+	
+	/**
+	 * Get the amount of levels this stack can hold
+	 * @return	The capacity of this stack
+	 */
+	public final int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Get the current level, 0 being the base
+	 * @return	The depth of the current matrix
+	 */
+	public final int getDepth() {
+		return top;
+	}
+	
+	/**
+	 * Duplicate the current matrix onto a new level.
+	 * @return	true if pushed.
+	 * 			false if the stack is full, no change occurs.
+	 */
+	public final boolean push() {
+		
+		if (top + 1 >= capacity) return false;
+		
+		System.arraycopy(stack, top * STRIDE, stack, (top + 1) * STRIDE, STRIDE);
+		affine[top + 1] = affine[top];
+		top++;
+		
+		return true;
+	}
+	
+	/**
+	 * Discard the current matrix and return to the level below.
+	 * @return	true if popped.
+	 * 			false if at the base level, no change occurs.
+	 */
+	public final boolean pop() {
+		
+		if (top == 0) return false;
+		
+		top--;
+		return true;
+	}
+	
+	/**
+	 * Replace the current matrix with an identity matrix.
+	 * @return	A reference to this stack.
+	 */
+	public final MatrixStack loadIdentity() {
+		
+		int o = top * STRIDE;
+		
+		for (int i = 0; i < STRIDE; i++) {
+			stack[o + i] = 0;
+		}
+		
+		stack[o] = stack[o + 5] = stack[o + 10] = stack[o + 15] = 1;
+		affine[top] = true;
+		
+		return this;
+	}
+	
+	/**
+	 * Replace the current matrix with a given matrix.
+	 * @param m	The matrix to load
+	 * @return	A reference to this stack.
+	 */
+	public final MatrixStack load(Matrix4x4 m) {
+		
+		int o = top * STRIDE;
+		float s[] = stack;
+		
+		s[o] 	   = m.m00;	s[o + 1]  = m.m01;	s[o + 2]  = m.m02;	s[o + 3]  = m.m03;
+		s[o + 4]  = m.m10;	s[o + 5]  = m.m11;	s[o + 6]  = m.m12;	s[o + 7]  = m.m13;
+		s[o + 8]  = m.m20;	s[o + 9]  = m.m21;	s[o + 10] = m.m22;	s[o + 11] = m.m23;
+		s[o + 12] = m.m30;	s[o + 13] = m.m31;	s[o + 14] = m.m32;	s[o + 15] = m.m33;
+		
+		affine[top] = isAffine(m);
+		
+		return this;
+	}
+	
+	/**
+	 * Copy the current matrix into a given matrix.
+	 * @param dest	The matrix to copy into
+	 * @return	A reference to the given matrix.
+	 */
+	public final Matrix4x4 get(Matrix4x4 dest) {
+		
+		int o = top * STRIDE;
+		float s[] = stack;
+		
+		return dest.set(s[o], 	   s[o + 1],  s[o + 2],  s[o + 3],
+						s[o + 4],  s[o + 5],  s[o + 6],  s[o + 7],
+						s[o + 8],  s[o + 9],  s[o + 10], s[o + 11],
+						s[o + 12], s[o + 13], s[o + 14], s[o + 15]);
+	}
+	
+	/**
+	 * Multiply the current matrix by a given matrix (top = top * m),
+	 * so m is applied to vectors before the current matrix.
+	 * When both are affine the bottom row is skipped.
+	 * @param m	The matrix to multiply by
+	 * @return	A reference to this stack.
+	 */
+	public final MatrixStack multiply(Matrix4x4 m) {
+		
+		int o = top * STRIDE;
+		float s[] = stack;
+		
+		float b00 = m.m00, b01 = m.m01, b02 = m.m02, b03 = m.m03;
+		float b10 = m.m10, b11 = m.m11, b12 = m.m12, b13 = m.m13;
+		float b20 = m.m20, b21 = m.m21, b22 = m.m22, b23 = m.m23;
+		
+		if (affine[top] && isAffine(m)) {
+			
+			for (int r = o; r < o + 12; r += 4) {
+				
+				float a0 = s[r], a1 = s[r + 1], a2 = s[r + 2], a3 = s[r + 3];
+				
+				s[r] 	 = a0*b00 + a1*b10 + a2*b20;
+				s[r + 1] = a0*b01 + a1*b11 + a2*b21;
+				s[r + 2] = a0*b02 + a1*b12 + a2*b22;
+				s[r + 3] = a0*b03 + a1*b13 + a2*b23 + a3;
+			}
+			
+			return this;
+		}
+		
+		float b30 = m.m30, b31 = m.m31, b32 = m.m32, b33 = m.m33;
+		
+		for (int r = o; r < o + STRIDE; r += 4) {
+			
+			float a0 = s[r], a1 = s[r + 1], a2 = s[r + 2], a3 = s[r + 3];
+			
+			s[r] 	 = a0*b00 + a1*b10 + a2*b20 + a3*b30;
+			s[r + 1] = a0*b01 + a1*b11 + a2*b21 + a3*b31;
+			s[r + 2] = a0*b02 + a1*b12 + a2*b22 + a3*b32;
+			s[r + 3] = a0*b03 + a1*b13 + a2*b23 + a3*b33;
+		}
+		
+		affine[top] = s[o + 12] == 0 && s[o + 13] == 0 && s[o + 14] == 0 && s[o + 15] == 1;
+		
+		return this;
+	}
+	
+	/**
+	 * Apply a translation before the current matrix (top = top * T).
+	 * Only the last column changes.
+	 * @param x	The translation x
+	 * @param y	The translation y
+	 * @param z	The translation z
+	 * @return	A reference to this stack.
+	 */
+	public final MatrixStack translate(float x, float y, float z) {
+		
+		int o = top * STRIDE;
+		int end = o + (affine[top] ? 12 : STRIDE);
+		float s[] = stack;
+		
+		for (int r = o; r < end; r += 4) {
+			s[r + 3] += s[r]*x + s[r + 1]*y + s[r + 2]*z;
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Apply a scale before the current matrix (top = top * S).
+	 * Only the first three columns change.
+	 * @param x	The scale along x
+	 * @param y	The scale along y
+	 * @param z	The scale along z
+	 * @return	A reference to this stack.
+	 */
+	public final MatrixStack scale(float x, float y, float z) {
+		
+		int o = top * STRIDE;
+		int end = o + (affine[top] ? 12 : STRIDE);
+		float s[] = stack;
+		
+		for (int r = o; r < end; r += 4) {
+			s[r] 	 *= x;
+			s[r + 1] *= y;
+			s[r + 2] *= z;
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Apply a rotation around the x axis before the current matrix.
+	 * Only columns 1 and 2 change.
+	 * @param radians	The angle of rotation in radians
+	 * @return	A reference to this stack.
+	 */
+	public final MatrixStack rotateX(float radians) {
+		
+		float c = (float) Math.cos(radians);
+		float sn = (float) Math.sin(radians);
+		
+		int o = top * STRIDE;
+		int end = o + (affine[top] ? 12 : STRIDE);
+		float s[] = stack;
+		
+		for (int r = o; r < end; r += 4) {
+			float a1 = s[r + 1], a2 = s[r + 2];
+			s[r + 1] = a1*c + a2*sn;
+			s[r + 2] = a2*c - a1*sn;
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Apply a rotation around the y axis before the current matrix.
+	 * Only columns 0 and 2 change.
+	 * @param radians	The angle of rotation in radians
+	 * @return	A reference to this stack.
+	 */
+	public final MatrixStack rotateY(float radians) {
+		
+		float c = (float) Math.cos(radians);
+		float sn = (float) Math.sin(radians);
+		
+		int o = top * STRIDE;
+		int end = o + (affine[top] ? 12 : STRIDE);
+		float s[] = stack;
+		
+		for (int r = o; r < end; r += 4) {
+			float a0 = s[r], a2 = s[r + 2];
+			s[r] 	 = a0*c - a2*sn;
+			s[r + 2] = a0*sn + a2*c;
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Apply a rotation around the z axis before the current matrix.
+	 * Only columns 0 and 1 change.
+	 * @param radians	The angle of rotation in radians
+	 * @return	A reference to this stack.
+	 */
+	public final MatrixStack rotateZ(float radians) {
+		
+		float c = (float) Math.cos(radians);
+		float sn = (float) Math.sin(radians);
+		
+		int o = top * STRIDE;
+		int end = o + (affine[top] ? 12 : STRIDE);
+		float s[] = stack;
+		
+		for (int r = o; r < end; r += 4) {
+			float a0 = s[r], a1 = s[r + 1];
+			s[r] 	 = a0*c + a1*sn;
+			s[r + 1] = a1*c - a0*sn;
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Apply a rotation around an axis before the current matrix.
+	 * The axis does not need to be normalized.
+	 * @param radians	The angle of rotation in radians
+	 * @param ax		The axis x direction
+	 * @param ay		The axis y direction
+	 * @param az		The axis z direction
+	 * @return	A reference to this stack.
+	 * 			If the axis has no length, no change occurs.
+	 */
+	public final MatrixStack rotate(float radians, float ax, float ay, float az) {
+		
+		float mag = (float) Math.sqrt(ax*ax + ay*ay + az*az);
+		if (mag == 0) return this;
+		
+		ax /= mag;
+		ay /= mag;
+		az /= mag;
+		
+		float c = (float) Math.cos(radians);
+		float sn = (float) Math.sin(radians);
+		float t = 1 - c;
+		
+		return rotate(t*ax*ax + c, 	  t*ax*ay - sn*az, t*ax*az + sn*ay,
+					  t*ax*ay + sn*az, t*ay*ay + c, 	  t*ay*az - sn*ax,
+					  t*ax*az - sn*ay, t*ay*az + sn*ax, t*az*az + c);
+	}
+	
+	/**
+	 * Apply the rotation of a unit quaternion before the current matrix.
+	 * @param q	The rotation
+	 * @return	A reference to this stack.
+	 */
+	public final MatrixStack rotate(Quat4F q) {
+		
+		float xx = q.x*q.x, yy = q.y*q.y, zz = q.z*q.z;
+		float xy = q.x*q.y, xz = q.x*q.z, yz = q.y*q.z;
+		float wx = q.w*q.x, wy = q.w*q.y, wz = q.w*q.z;
+		
+		return rotate(1 - 2*(yy + zz), 2*(xy - wz), 	2*(xz + wy),
+					  2*(xy + wz), 	   1 - 2*(xx + zz), 2*(yz - wx),
+					  2*(xz - wy), 	   2*(yz + wx), 	1 - 2*(xx + yy));
+	}
+	
+	/**
+	 * Multiply the first three columns of the current matrix by a rotation.
+	 */
+	private MatrixStack rotate(float r00, float r01, float r02,
+							   float r10, float r11, float r12,
+							   float r20, float r21, float r22) {
+		
+		int o = top * STRIDE;
+		int end = o + (affine[top] ? 12 : STRIDE);
+		float s[] = stack;
+		
+		for (int r = o; r < end; r += 4) {
+			
+			float a0 = s[r], a1 = s[r + 1], a2 = s[r + 2];
+			
+			s[r] 	 = a0*r00 + a1*r10 + a2*r20;
+			s[r + 1] = a0*r01 + a1*r11 + a2*r21;
+			s[r + 2] = a0*r02 + a1*r12 + a2*r22;
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Verify if a matrix has a bottom row of (0, 0, 0, 1).
+	 */
+	private static boolean isAffine(Matrix4x4 m) {
+		return m.m30 == 0 && m.m31 == 0 && m.m32 == 0 && m.m33 == 1;
+	}
+}
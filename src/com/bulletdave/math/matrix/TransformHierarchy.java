@@ -0,0 +1,291 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: A flat transform hierarchy with dirty propagation
+ */
+
+package com.bulletdave.math.matrix;
+
+import com.bulletdave.math.Parallel;
+
+
+public class TransformHierarchy {
+	
+	public static final int GRAIN = 512;	// nodes per parallel task within a level
+	
+	// depth markers used while sorting the nodes
+	private static final int UNKNOWN	= -1;
+	private static final int VISITING	= -2;
+	
+	private final int nodeCount;
+	private final int parents[];			// parent of each node, -1 for a root
+	private final Matrix4x4Batch locals;	// transform relative to the parent
+	private final Matrix4x4Batch worlds;	// transform relative to the roots
+	private final boolean dirty[];			// world needs to be recomputed
+	private boolean anyDirty;
+	
+	// nodes sorted by depth, level L spans [levels[L], levels[L + 1])
+	private final int order[];
+	private final int levels[];
+	
+	private final Parallel.Range updateRange = new Parallel.Range() {
+		@Override
+		public void run(int from, int to) {
+			updateNodes(from, to);
+		}
+	};
+	
+	/**
+	 * Construct a hierarchy from parent indices. Nodes may be listed
+	 * in any order; a node with a negative parent is a root.
+	 * Every local and world transform starts as identity.
+	 * @param parents	The parent index of each node
+	 * @throws IllegalArgumentException	if a parent index is past the
+	 * 			last node or the parents form a cycle
+	 */
+	public TransformHierarchy(int parents[]) {
+		
+		nodeCount = parents.length;
+		this.parents = new int[nodeCount];
+		
+		for (int i = 0; i < nodeCount; i++) {
+			
+			int p = parents[i];
+			if (p >= nodeCount) {
+				throw new IllegalArgumentException("node " + i + " has parent " + p +
+												   ", past the last node " + (nodeCount - 1));
+			}
+			
+			this.parents[i] = p < 0 ? -1 : p;
+		}
+		
+		// depth of every node, walking up to the first node of known
+		// depth and then filling in the path back down
+		int depth[] = new int[nodeCount];
+		int path[] = new int[nodeCount];
+		int depthCount = 0;
+		
+		for (int i = 0; i < nodeCount; i++) {
+			depth[i] = UNKNOWN;
+		}
+		
+		for (int i = 0; i < nodeCount; i++) {
+			
+			int length = 0;
+			int node = i;
+			
+			while (node >= 0 && depth[node] < 0) {
+				
+				if (depth[node] == VISITING) {
+					throw new IllegalArgumentException("node " + node + " is its own ancestor");
+				}
+				
+				depth[node] = VISITING;
+				path[length++] = node;
+				node = this.parents[node];
+			}
+			
+			int d = node < 0 ? -1 : depth[node];
+			while (length > 0) {
+				depth[path[--length]] = ++d;
+			}
+			
+			if (d + 1 > depthCount) depthCount = d + 1;
+		}
+		
+		// counting sort of the nodes by depth
+		levels = new int[depthCount + 1];
+		for (int i = 0; i < nodeCount; i++) {
+			levels[depth[i] + 1]++;
+		}
+		for (int l = 0; l < depthCount; l++) {
+			levels[l + 1] += levels[l];
+		}
+		
+		order = new int[nodeCount];
+		int fill[] = new int[depthCount];
+		for (int i = 0; i < nodeCount; i++) {
+			order[levels[depth[i]] + fill[depth[i]]++] = i;
+		}
+		
+		locals = new Matrix4x4Batch(nodeCount);
+		worlds = new Matrix4x4Batch(nodeCount);
+		locals.setIdentity(0, nodeCount);
+		worlds.setIdentity(0, nodeCount);
+		
+		dirty = new boolean[nodeCount];
+	}
+	
+	/**
+	 * Get the amount of nodes in this hierarchy
+	 * @return	The node count
+	 */
+	public final int getNodeCount() {
+		return nodeCount;
+	}
+	
+	/**
+	 * Get the parent of a node
+	 * @param node	The node index
+	 * @return	The parent index, or -1 for a root
+	 */
+	public final int getParent(int node) {
+		return parents[node];
+	}
+	
+	/**
+	 * Get the amount of depth levels, roots being level 0
+	 * @return	The level count
+	 */
+	public final int getLevelCount() {
+		return levels.length - 1;
+	}
+	
+	/**
+	 * Set the local transform of a node and mark its subtree dirty.
+	 * @param node	The node index
+	 * @param m		The transform relative to the parent
+	 */
+	public final void setLocal(int node, Matrix4x4 m) {
+		locals.set(node, m);
+		markDirty(node);
+	}
+	
+	/**
+	 * Set a single element of the local transform of a node
+	 * and mark its subtree dirty.
+	 * @param node	The node index
+	 * @param row	The element's row
+	 * @param col	The element's column
+	 * @param val	The value to set the element by
+	 */
+	public final void setLocal(int node, int row, int col, float val) {
+		locals.set(node, row, col, val);
+		markDirty(node);
+	}
+	
+	/**
+	 * Copy the local transform of a node
+	 * @param node	The node index
+	 * @param dest	The matrix to copy into
+	 * @return	A reference to the given matrix.
+	 */
+	public final Matrix4x4 getLocal(int node, Matrix4x4 dest) {
+		return locals.get(node, dest);
+	}
+	
+	/**
+	 * Copy the world transform of a node as of the last update
+	 * @param node	The node index
+	 * @param dest	The matrix to copy into
+	 * @return	A reference to the given matrix.
+	 */
+	public final Matrix4x4 getWorld(int node, Matrix4x4 dest) {
+		return worlds.get(node, dest);
+	}
+	
+	/**
+	 * Get the world transforms, indexed by node. Valid after update().
+	 * @return	The world transform batch
+	 */
+	public final Matrix4x4Batch getWorlds() {
+		return worlds;
+	}
+	
+	/**
+	 * Flag a node so that it and its descendants are recomputed
+	 * on the next update.
+	 * @param node	The node index
+	 */
+	public final void markDirty(int node) {
+		dirty[node] = true;
+		anyDirty = true;
+	}
+	
+	/**
+	 * Verify if any node changed since the last update
+	 * @return	true if an update would recompute a world transform.
+	 */
+	public final boolean isDirty() {
+		return anyDirty;
+	}
+	
+	/**
+	 * Recompute the world transforms of every dirty node and its
+	 * descendants (world = parentWorld * local), clean nodes are left
+	 * untouched. Levels are processed from the roots down; the nodes
+	 * within a level are independent and split across the shared
+	 * pool when the level is larger than GRAIN.
+	 */
+	public final void update() {
+		
+		if (!anyDirty) return;
+		
+		int levelCount = levels.length - 1;
+		for (int l = 0; l < levelCount; l++) {
+			Parallel.forRange(levels[l], levels[l + 1], GRAIN, updateRange);
+		}
+		
+		for (int i = 0; i < nodeCount; i++) {
+			dirty[i] = false;
+		}
+		
+		anyDirty = false;
+	}
+	
+	/**
+	 * Recompute the nodes at order positions [from, to) of one level.
+	 * A node inherits the dirty flag of its parent, which belongs to
+	 * the previous level and is already final.
+	 */
+	private void updateNodes(int from, int to) {
+		
+		for (int k = from; k < to; k++) {
+			
+			int node = order[k];
+			int p = parents[node];
+			
+			if (p < 0) {
+				if (dirty[node]) worlds.set(node, locals, node);
+				continue;
+			}
+			
+			if (dirty[p]) dirty[node] = true;
+			if (dirty[node]) worlds.multiply(node, worlds, p, locals, node);
+		}
+	}
+}
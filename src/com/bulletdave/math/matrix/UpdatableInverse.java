@@ -0,0 +1,489 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: An inverse kept current under low rank updates
+ */
+
+package com.bulletdave.math.matrix;
+
+
+public class UpdatableInverse {
+	
+	public static final int DEFAULT_CHECK_INTERVAL 	= 8;		// updates between drift checks
+	public static final float DEFAULT_TOLERANCE 	= 1.0e-3f;	// largest relative residual
+	public static final float SINGULAR_EPSILON 		= 1.0e-6f;	// smallest usable pivot
+	
+	private final int n;			// matrix size
+	private final float a[];		// the matrix, stored row by row
+	private final float inv[];		// its inverse, stored row by row
+	private boolean invertible;		// inv holds a valid inverse
+	
+	private int checkInterval = DEFAULT_CHECK_INTERVAL;
+	private float tolerance = DEFAULT_TOLERANCE;
+	private int sinceCheck;			// updates since the last drift check
+	private int refactorCount;		// full inversions performed
+	
+	// scratch space, the n sized arrays are allocated once and
+	// the rank-k ones grow to the largest k seen so far
+	private final float work[];
+	private final float y[];
+	private final float z[];
+	private final float u[];
+	private final float v[];
+	private float ys[] = new float[0];
+	private float zs[] = new float[0];
+	private float c[] = new float[0];
+	
+	/**
+	 * Construct an updatable inverse of an identity matrix
+	 * @param n	The size of the square matrix
+	 */
+	public UpdatableInverse(int n) {
+		
+		this.n = n;
+		a = new float[n * n];
+		inv = new float[n * n];
+		work = new float[n * n];
+		y = new float[n];
+		z = new float[n];
+		u = new float[n];
+		v = new float[n];
+		
+		for (int i = 0; i < n; i++) {
+			a[i * n + i] = 1;
+			inv[i * n + i] = 1;
+		}
+		
+		invertible = true;
+	}
+	
+	/**
+	 * Construct an updatable inverse of a square matrix.
+	 * Use isInvertible() to verify the matrix was square and had an inverse.
+	 * @param m	The square matrix, copied
+	 */
+	public UpdatableInverse(Matrix m) {
+		this(m.getRowCount());
+		set(m);
+	}
+	
+	/**
+	 * Get the size of the square matrix
+	 * @return	The row and column count
+	 */
+	public final int getSize() {
+		return n;
+	}
+	
+	/**
+	 * Verify if the current matrix has an inverse
+	 * @return	true if the inverse is valid.
+	 */
+	public final boolean isInvertible() {
+		return invertible;
+	}
+	
+	/**
+	 * Get the amount of full inversions performed, including the
+	 * ones triggered by the drift check or a singular update
+	 * @return	The refactor count
+	 */
+	public final int getRefactorCount() {
+		return refactorCount;
+	}
+	
+	/**
+	 * Set how often and how strictly the inverse is checked for drift.
+	 * A check multiplies the matrix with its inverse against a probe
+	 * vector, O(n^2), and refactors when the relative residual
+	 * exceeds the tolerance.
+	 * @param interval	Updates between checks, 0 to never check
+	 * @param tolerance	The largest relative residual accepted
+	 */
+	public final void setDriftCheck(int interval, float tolerance) {
+		this.checkInterval = interval < 0 ? 0 : interval;
+		this.tolerance = tolerance;
+	}
+	
+	/**
+	 * Replace the matrix and invert it. A matrix of the wrong size
+	 * leaves a zero matrix behind, so isInvertible() is false either way.
+	 * @param m	The square matrix, copied
+	 * @return	true if the matrix has an inverse,
+	 * 			false if it is singular or the size differs.
+	 */
+	public final boolean set(Matrix m) {
+		
+		if (m.getRowCount() != n || m.getColCount() != n) {
+			
+			for (int i = 0; i < n * n; i++) {
+				a[i] = 0;
+			}
+			invertible = false;
+			return false;
+		}
+		
+		m.get(a);
+		return refactor();
+	}
+	
+	/**
+	 * Copy the current matrix
+	 * @return	A new matrix
+	 */
+	public final Matrix getMatrix() {
+		return new Matrix(a, n, n);
+	}
+	
+	/**
+	 * Copy the current inverse
+	 * @return	A new matrix, or null if the matrix is singular
+	 */
+	public final Matrix getInverse() {
+		return invertible ? new Matrix(inv, n, n) : null;
+	}
+	
+	/**
+	 * Solve the current system (x = inverse * b) in O(n^2).
+	 * @param b	The right hand side, n entries
+	 * @param x	The solution, n entries. Must not be the same array as b.
+	 * @return	true if it succeeded,
+	 * 			false if the matrix is singular or the sizes differ.
+	 */
+	public final boolean solve(float b[], float x[]) {
+		
+		if (!invertible || b.length < n || x.length < n) {
+			return false;
+		}
+		
+		for (int i = 0; i < n; i++) {
+			
+			int row = i * n;
+			float sum = 0;
+			for (int j = 0; j < n; j++) {
+				sum += inv[row + j] * b[j];
+			}
+			x[i] = sum;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Recompute the inverse from the matrix with Gauss-Jordan
+	 * elimination, O(n^3).
+	 * @return	true if the matrix has an inverse.
+	 */
+	public final boolean refactor() {
+		
+		for (int i = 0; i < n * n; i++) {
+			work[i] = a[i];
+			inv[i] = 0;
+		}
+		for (int i = 0; i < n; i++) {
+			inv[i * n + i] = 1;
+		}
+		
+		MatrixOps.reduce(work, n, inv, n);
+		
+		invertible = MatrixOps.isIdentity(work, n);
+		sinceCheck = 0;
+		refactorCount++;
+		
+		return invertible;
+	}
+	
+	/**
+	 * Apply a rank-1 change to the matrix (A += u * v^T) and update
+	 * the inverse with the Sherman-Morrison formula in O(n^2).
+	 * Falls back to a full refactor when the update is near singular.
+	 * @param u	The column vector, n entries
+	 * @param v	The row vector, n entries
+	 * @return	true if the updated matrix has an inverse,
+	 * 			false if it is singular or the sizes differ.
+	 */
+	public final boolean update(float u[], float v[]) {
+		
+		if (u.length < n || v.length < n) {
+			return false;
+		}
+		
+		for (int i = 0; i < n; i++) {
+			
+			int row = i * n;
+			float ui = u[i];
+			for (int j = 0; j < n; j++) {
+				a[row + j] += ui * v[j];
+			}
+		}
+		
+		if (!invertible) {
+			return refactor();
+		}
+		
+		// y = inv * u, z = v^T * inv
+		for (int i = 0; i < n; i++) {
+			
+			int row = i * n;
+			float sum = 0;
+			for (int j = 0; j < n; j++) {
+				sum += inv[row + j] * u[j];
+			}
+			y[i] = sum;
+			z[i] = 0;
+		}
+		
+		for (int i = 0; i < n; i++) {
+			
+			int row = i * n;
+			float vi = v[i];
+			for (int j = 0; j < n; j++) {
+				z[j] += vi * inv[row + j];
+			}
+		}
+		
+		float denom = 1;
+		for (int i = 0; i < n; i++) {
+			denom += v[i] * y[i];
+		}
+		
+		if (Math.abs(denom) < SINGULAR_EPSILON) {
+			return refactor();
+		}
+		
+		// inv -= y * z^T / denom
+		for (int i = 0; i < n; i++) {
+			
+			int row = i * n;
+			float yi = y[i] / denom;
+			for (int j = 0; j < n; j++) {
+				inv[row + j] -= yi * z[j];
+			}
+		}
+		
+		return checkDrift();
+	}
+	
+	/**
+	 * Replace one row of the matrix and update the inverse in O(n^2).
+	 * @param row		The row to replace
+	 * @param values	The new row, n entries
+	 * @return	true if the updated matrix has an inverse,
+	 * 			false if it is singular or the sizes differ.
+	 */
+	public final boolean updateRow(int row, float values[]) {
+		
+		if (row < 0 || row >= n || values.length < n) {
+			return false;
+		}
+		
+		for (int j = 0; j < n; j++) {
+			u[j] = 0;
+			v[j] = values[j] - a[row * n + j];
+		}
+		u[row] = 1;
+		
+		return update(u, v);
+	}
+	
+	/**
+	 * Replace one column of the matrix and update the inverse in O(n^2).
+	 * @param col		The column to replace
+	 * @param values	The new column, n entries
+	 * @return	true if the updated matrix has an inverse,
+	 * 			false if it is singular or the sizes differ.
+	 */
+	public final boolean updateColumn(int col, float values[]) {
+		
+		if (col < 0 || col >= n || values.length < n) {
+			return false;
+		}
+		
+		for (int i = 0; i < n; i++) {
+			u[i] = values[i] - a[i * n + col];
+			v[i] = 0;
+		}
+		v[col] = 1;
+		
+		return update(u, v);
+	}
+	
+	/**
+	 * Apply a rank-k change to the matrix (A += U * V^T) and update
+	 * the inverse with the Woodbury identity in O(n^2 * k):
+	 * inv -= (inv U) (I + V^T inv U)^-1 (V^T inv).
+	 * Falls back to a full refactor when the k x k system is singular.
+	 * @param us	U, n rows of k entries, stored row by row
+	 * @param vs	V, n rows of k entries, stored row by row
+	 * @param k		The rank of the change
+	 * @return	true if the updated matrix has an inverse,
+	 * 			false if it is singular or the sizes differ.
+	 */
+	public final boolean update(float us[], float vs[], int k) {
+		
+		if (k < 1 || us.length < n * k || vs.length < n * k) {
+			return false;
+		}
+		
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				
+				float sum = 0;
+				for (int l = 0; l < k; l++) {
+					sum += us[i * k + l] * vs[j * k + l];
+				}
+				a[i * n + j] += sum;
+			}
+		}
+		
+		if (!invertible) {
+			return refactor();
+		}
+		
+		if (ys.length < n * k) {
+			ys = new float[n * k];
+			zs = new float[k * n];
+			c = new float[k * k];
+		}
+		
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float c[] = this.c;
+		
+		for (int i = 0; i < n * k; i++) {
+			ys[i] = 0;
+			zs[i] = 0;
+		}
+		
+		// ys = inv * U (n x k), zs = V^T * inv (k x n)
+		for (int i = 0; i < n; i++) {
+			
+			int row = i * n;
+			for (int j = 0; j < n; j++) {
+				
+				float e = inv[row + j];
+				for (int l = 0; l < k; l++) {
+					ys[i * k + l] += e * us[j * k + l];
+					zs[l * n + j] += vs[i * k + l] * e;
+				}
+			}
+		}
+		
+		// c = I + V^T * ys (k x k), then c^-1 * zs in place
+		for (int i = 0; i < k * k; i++) {
+			c[i] = 0;
+		}
+		for (int l = 0; l < k; l++) {
+			c[l * k + l] = 1;
+		}
+		
+		for (int i = 0; i < n; i++) {
+			for (int l = 0; l < k; l++) {
+				
+				float vl = vs[i * k + l];
+				for (int m = 0; m < k; m++) {
+					c[l * k + m] += vl * ys[i * k + m];
+				}
+			}
+		}
+		
+		MatrixOps.reduce(c, k, zs, n);
+		
+		if (!MatrixOps.isIdentity(c, k)) {
+			return refactor();
+		}
+		
+		// inv -= ys * zs
+		for (int i = 0; i < n; i++) {
+			
+			int row = i * n;
+			for (int l = 0; l < k; l++) {
+				
+				float yl = ys[i * k + l];
+				int zrow = l * n;
+				for (int j = 0; j < n; j++) {
+					inv[row + j] -= yl * zs[zrow + j];
+				}
+			}
+		}
+		
+		return checkDrift();
+	}
+	
+	/**
+	 * Measure the relative residual of A * (inv * p) - p for a fixed
+	 * probe vector p and refactor when it exceeds the tolerance.
+	 * @return	true if the inverse is valid.
+	 */
+	private boolean checkDrift() {
+		
+		if (checkInterval == 0 || ++sinceCheck < checkInterval) {
+			return true;
+		}
+		
+		sinceCheck = 0;
+		
+		// y = inv * p, with p alternating in sign so no row cancels
+		for (int i = 0; i < n; i++) {
+			
+			int row = i * n;
+			float sum = 0;
+			for (int j = 0; j < n; j++) {
+				sum += (j & 1) == 0 ? inv[row + j] : -inv[row + j];
+			}
+			y[i] = sum;
+		}
+		
+		float residual = 0;
+		for (int i = 0; i < n; i++) {
+			
+			int row = i * n;
+			float sum = (i & 1) == 0 ? -1 : 1;
+			for (int j = 0; j < n; j++) {
+				sum += a[row + j] * y[j];
+			}
+			residual += sum * sum;
+		}
+		
+		// |p|^2 is n
+		if (residual > tolerance * tolerance * n) {
+			return refactor();
+		}
+		
+		return true;
+	}
+}
@@ -197,8 +197,9 @@ public class Vec2F {
 	 */
 	public final float getMagnitudeSquared(float px, float py) {
 		
-		Vec2F diff = clone().negate(px, py);
-		return (diff.x*diff.x + diff.y*diff.y);
+		float dx = x - px;
+		float dy = y - py;
+		return (dx*dx + dy*dy);
 	}
 	
 	/**
@@ -209,8 +210,9 @@ public class Vec2F {
 	 */
 	public final float getMagnitudeSquared(Vec2F point) {
 		
-		Vec2F diff = clone().negate(point);
-		return (diff.x*diff.x + diff.y*diff.y);
+		float dx = x - point.x;
+		float dy = y - point.y;
+		return (dx*dx + dy*dy);
 	}
 	
 	/**
@@ -256,7 +258,7 @@ public class Vec2F {
 	 * @return	The slope between two points.
 	 */
 	public final float getSlope(Vec2F point) {	
-		return clone().negate(point).getSlope();
+		return (y - point.y)/(x - point.x);
 	}
 	
 	/**
@@ -266,9 +268,9 @@ public class Vec2F {
 	 * @return	A positive or negative float depending on side of line
 	 */
 	public final float getSidePointOn(Vec2F end, Vec2F test) {
-		Vec2F testDiff = test.clone().negate(end);
-		Vec2F thisDiff = clone().negate(end);
-		return thisDiff.getCrossProduct(testDiff);
+		float tx = test.x - end.x;
+		float ty = test.y - end.y;
+		return (ty*(x - end.x) - tx*(y - end.y));
 	}
 	
 	/**
@@ -304,7 +306,14 @@ public class Vec2F {
 	 * @return	The direction from this point to a given point in radians.
 	 */
 	public final float getRadian(Vec2F point) {
-		return clone().negate(point).getRadian();
+		
+		float rad = (float) Math.atan2(y - point.y, x - point.x);
+		
+		if (rad < 0) {
+			rad += Compute.TWO_PI;
+		}
+		
+		return rad;
 	}
 	
 	/**
@@ -367,14 +376,15 @@ public class Vec2F {
 	public final float solveX(Vec2F point, float y) {
 		// x = (y - b) / m
 		
-		Vec2F diff = clone().negate(point);
+		float dx = x - point.x;
+		float dy = this.y - point.y;
 		float m = getSlope(point);
 		
-		if (diff.x != 0 && diff.y != 0) {
+		if (dx != 0 && dy != 0) {
 			// if slope is normal, do usual operations
 			float b = getYIntercept(point);
 			return ((y - b) / m);
-		} else if (diff.x == 0) {
+		} else if (dx == 0) {
 			// if x = 0, horizontal line, therefore return any x is a solution
 			return x;
 		}
@@ -406,14 +416,15 @@ public class Vec2F {
 		// solve the value of y in a line given x
 		// y = (m * x) + b
 		
-		Vec2F diff = clone().negate(point);
+		float dx = this.x - point.x;
+		float dy = y - point.y;
 		float m = getSlope(point);
 
-		if (diff.y != 0 && diff.x != 0) {
+		if (dy != 0 && dx != 0) {
 			// if slope is normal, do usual operations
 			float b = getYIntercept(point);
 			return (m * x) + b;
-		} else if (diff.y == 0) {
+		} else if (dy == 0) {
 			// if y = 0, vertical line, therefore return any y is a solution
 			return y;
 		}
@@ -823,7 +834,7 @@ public class Vec2F {
 		float cx = radius * (float) Math.cos(-radians);
 		float cy = radius * (float) Math.sin(-radians);
 		
-		return set(point.clone().add(cx, cy));
+		return set(point.x + cx, point.y + cy);
 	}
 	
 	/**
@@ -872,18 +883,7 @@ public class Vec2F {
 	public final Vec2F lerpRatio(Vec2F point, float ratio) {
 		// ratio [0-1]
 		
-		float dist = getMagnitude(point) * ratio;
-		Vec2F division = point.clone().negate(this).normalize().multiply(dist);
-		
-		if (division.x == 0 && division.y == 0) {
-			return this;
-		} else if (division.x == 0) {
-			return add(0, division.y);
-		} else if (division.y == 0) {
-			return add(division.x, 0);
-		} else {
-			return add(division);
-		}
+		return lerpToward(point, getMagnitude(point) * ratio);
 	}
 	
 	/**
@@ -894,17 +894,39 @@ public class Vec2F {
 	 * @return	A reference to this class.
 	 */
 	public final Vec2F lerpDistance(Vec2F point, float dist) {
+		return lerpToward(point, dist);
+	}
+	
+	/**
+	 * Move this Vec2F a distance along the direction to a point.
+	 * Same steps as normalize() and multiply() on the difference,
+	 * done on locals so no temporary Vec2F is created.
+	 * @param point	A target point to move towards.
+	 * @param dist	The distance to move by.
+	 * @return	A reference to this class.
+	 */
+	private Vec2F lerpToward(Vec2F point, float dist) {
+		
+		float dx = point.x - x;
+		float dy = point.y - y;
+		
+		float mag = (float) Math.sqrt(dx*dx + dy*dy);
+		if (mag != 0) {
+			if (dx != 0) dx /= mag;
+			if (dy != 0) dy /= mag;
+		}
 		
-		Vec2F division = point.clone().negate(this).normalize().multiply(dist);
+		dx *= dist;
+		dy *= dist;
 		
-		if (division.x == 0 && division.y == 0) {
+		if (dx == 0 && dy == 0) {
 			return this;
-		} else if (division.x == 0) {
-			return add(0, division.y);
-		} else if (division.y == 0) {
-			return add(division.x, 0);
+		} else if (dx == 0) {
+			return add(0, dy);
+		} else if (dy == 0) {
+			return add(dx, 0);
 		} else {
-			return add(division);
+			return add(dx, dy);
 		}
 	}
 	
@@ -0,0 +1,705 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: An array of Vec2F stored as structure of arrays
+ */
+
+package com.bulletdave.math.vector;
+
+
+/**
+ * Many Vec2F kept as two parallel float arrays, so a million points are
+ * two arrays instead of a million objects. The bulk operations mirror
+ * Vec2F and give the same results element for element; each one has an
+ * overload over an index range [from, to) so callers can split the work,
+ * for instance with Parallel.forRange. The loops only touch the arrays,
+ * which lets HotSpot unroll and vectorize them.
+ */
+public class Vec2FArray {
+	
+	private final int capacity;		// amount of points
+	public final float xs[];		// the x location of every point
+	public final float ys[];		// the y location of every point
+	
+	/**
+	 * Construct an array of points at the origin
+	 * @param capacity	The amount of points
+	 */
+	public Vec2FArray(int capacity) {
+		this(new float[capacity], new float[capacity]);
+	}
+	
+	/**
+	 * Construct an array of points around existing arrays, without copying
+	 * @param xs	The x locations
+	 * @param ys	The y locations, at least as long as xs
+	 */
+	public Vec2FArray(float xs[], float ys[]) {
+		
+		this.capacity = xs.length;
+		this.xs = xs;
+		this.ys = ys;
+	}
+	
+	/**
+	 * Get the amount of points
+	 * @return	The capacity of this array
+	 */
+	public final int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Set a point
+	 * @param index	The index of the point
+	 * @param x	The x location
+	 * @param y	The y location
+	 */
+	public final void set(int index, float x, float y) {
+		xs[index] = x;
+		ys[index] = y;
+	}
+	
+	/**
+	 * Set a point to the location of a Vec2F
+	 * @param index	The index of the point
+	 * @param point	The point to copy
+	 */
+	public final void set(int index, Vec2F point) {
+		xs[index] = point.x;
+		ys[index] = point.y;
+	}
+	
+	/**
+	 * Copy a point into a Vec2F
+	 * @param index	The index of the point
+	 * @param dest	The Vec2F to copy into
+	 * @return	A reference to dest
+	 */
+	public final Vec2F get(int index, Vec2F dest) {
+		return dest.set(xs[index], ys[index]);
+	}
+	
+	/**
+	 * Add a given amount (x, y) to every point
+	 * @param x	The x amount
+	 * @param y	The y amount
+	 */
+	public final void add(float x, float y) {
+		add(x, y, 0, capacity);
+	}
+	
+	/**
+	 * Add a given amount (x, y) to a range of points
+	 * @param x	The x amount
+	 * @param y	The y amount
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void add(float x, float y, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] += x;
+			ys[i] += y;
+		}
+	}
+	
+	/**
+	 * Add the points of another array, index by index
+	 * @param points	The points to add
+	 */
+	public final void add(Vec2FArray points) {
+		add(points, 0, capacity);
+	}
+	
+	/**
+	 * Add a range of points of another array, index by index,
+	 * such as velocities onto positions
+	 * @param points	The points to add
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void add(Vec2FArray points, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float pxs[] = points.xs;
+		float pys[] = points.ys;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] += pxs[i];
+			ys[i] += pys[i];
+		}
+	}
+	
+	/**
+	 * Add the points of another array scaled by a factor, index by index
+	 * @param points	The points to add
+	 * @param scale	The factor to scale the added points by
+	 */
+	public final void addScaled(Vec2FArray points, float scale) {
+		addScaled(points, scale, 0, capacity);
+	}
+	
+	/**
+	 * Add the points of another array scaled by a factor, index by
+	 * index, such as a time step of velocities onto positions
+	 * @param points	The points to add
+	 * @param scale	The factor to scale the added points by
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void addScaled(Vec2FArray points, float scale, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float pxs[] = points.xs;
+		float pys[] = points.ys;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] += pxs[i] * scale;
+			ys[i] += pys[i] * scale;
+		}
+	}
+	
+	/**
+	 * Negate a given amount (x, y) from every point
+	 * @param x	The x amount
+	 * @param y	The y amount
+	 */
+	public final void negate(float x, float y) {
+		add(-x, -y, 0, capacity);
+	}
+	
+	/**
+	 * Negate a given amount (x, y) from a range of points
+	 * @param x	The x amount
+	 * @param y	The y amount
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void negate(float x, float y, int from, int to) {
+		add(-x, -y, from, to);
+	}
+	
+	/**
+	 * Multiply every point by a scaler
+	 * @param val	The scaler
+	 */
+	public final void multiply(float val) {
+		multiply(val, val, 0, capacity);
+	}
+	
+	/**
+	 * Multiply every point by a scaler per axis
+	 * @param x	The x scaler
+	 * @param y	The y scaler
+	 */
+	public final void multiply(float x, float y) {
+		multiply(x, y, 0, capacity);
+	}
+	
+	/**
+	 * Multiply a range of points by a scaler per axis
+	 * @param x	The x scaler
+	 * @param y	The y scaler
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void multiply(float x, float y, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] *= x;
+			ys[i] *= y;
+		}
+	}
+	
+	/**
+	 * Normalize every point, points at the origin stay there
+	 */
+	public final void normalize() {
+		normalize(0, capacity);
+	}
+	
+	/**
+	 * Normalize a range of points, points at the origin stay there.
+	 * Dividing a zero coordinate leaves it unchanged, so unlike
+	 * Vec2F.normalize() no per coordinate test is needed.
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void normalize(int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float mag = (float) Math.sqrt(x*x + y*y);
+			
+			if (mag != 0) {
+				xs[i] = x / mag;
+				ys[i] = y / mag;
+			}
+		}
+	}
+	
+	/**
+	 * Rotate every point around a center, like Vec2F.rotate(cx, cy, radians):
+	 * each point keeps its distance to the center and is placed
+	 * at the given angle from it.
+	 * @param cx	The x center to rotate around
+	 * @param cy	The y center to rotate around
+	 * @param radians	The angle in radians
+	 */
+	public final void rotate(float cx, float cy, float radians) {
+		rotate(cx, cy, radians, 0, capacity);
+	}
+	
+	/**
+	 * Rotate a range of points around a center, like Vec2F.rotate(cx, cy, radians)
+	 * @param cx	The x center to rotate around
+	 * @param cy	The y center to rotate around
+	 * @param radians	The angle in radians
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void rotate(float cx, float cy, float radians, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		
+		// the angle is the same for every point
+		float cos = (float) Math.cos(-radians);
+		float sin = (float) Math.sin(-radians);
+		
+		for (int i = from; i < to; i++) {
+			
+			float dx = xs[i] - cx;
+			float dy = ys[i] - cy;
+			float radius = (float) Math.sqrt(dx*dx + dy*dy);
+			
+			xs[i] = radius * cos + cx;
+			ys[i] = radius * sin + cy;
+		}
+	}
+	
+	/**
+	 * Turn every point around a center by an angle, keeping each
+	 * point's own direction from the center
+	 * @param cx	The x center to turn around
+	 * @param cy	The y center to turn around
+	 * @param radians	The angle in radians, counter-clockwise
+	 */
+	public final void turn(float cx, float cy, float radians) {
+		turn(cx, cy, radians, 0, capacity);
+	}
+	
+	/**
+	 * Turn every point around a center by an angle, keeping each point's
+	 * own direction from the center, which is what particle systems
+	 * usually want from a rotation.
+	 * @param cx	The x center to turn around
+	 * @param cy	The y center to turn around
+	 * @param radians	The angle in radians, counter-clockwise
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void turn(float cx, float cy, float radians, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		
+		float cos = (float) Math.cos(radians);
+		float sin = (float) Math.sin(radians);
+		
+		for (int i = from; i < to; i++) {
+			
+			float dx = xs[i] - cx;
+			float dy = ys[i] - cy;
+			
+			xs[i] = dx*cos - dy*sin + cx;
+			ys[i] = dx*sin + dy*cos + cy;
+		}
+	}
+	
+	/**
+	 * Move every point towards a target by a ratio of its distance,
+	 * like Vec2F.lerpRatio
+	 * @param px	The target's x location
+	 * @param py	The target's y location
+	 * @param ratio	The ratio [0-1] of the distance to move by
+	 */
+	public final void lerpRatio(float px, float py, float ratio) {
+		lerp(px, py, ratio, true, 0, capacity);
+	}
+	
+	/**
+	 * Move a range of points towards a target by a ratio of their
+	 * distance, like Vec2F.lerpRatio
+	 * @param px	The target's x location
+	 * @param py	The target's y location
+	 * @param ratio	The ratio [0-1] of the distance to move by
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void lerpRatio(float px, float py, float ratio, int from, int to) {
+		lerp(px, py, ratio, true, from, to);
+	}
+	
+	/**
+	 * Move every point a distance towards a target, like Vec2F.lerpDistance
+	 * @param px	The target's x location
+	 * @param py	The target's y location
+	 * @param dist	The distance to move by
+	 */
+	public final void lerpDistance(float px, float py, float dist) {
+		lerp(px, py, dist, false, 0, capacity);
+	}
+	
+	/**
+	 * Move a range of points a distance towards a target, like Vec2F.lerpDistance
+	 * @param px	The target's x location
+	 * @param py	The target's y location
+	 * @param dist	The distance to move by
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void lerpDistance(float px, float py, float dist, int from, int to) {
+		lerp(px, py, dist, false, from, to);
+	}
+	
+	// the steps of Vec2F.lerpToward; adding 0.0f turns -0.0f
+	// into 0.0f, as Vec2F does by adding 0 on the unmoved axis
+	private void lerp(float px, float py, float amount, boolean ratio, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float dx = px - x;
+			float dy = py - y;
+			
+			float mag = (float) Math.sqrt(dx*dx + dy*dy);
+			float dist = ratio ? mag * amount : amount;
+			
+			if (mag != 0) {
+				dx /= mag;
+				dy /= mag;
+			}
+			
+			dx *= dist;
+			dy *= dist;
+			
+			if (dx != 0 || dy != 0) {
+				xs[i] = x + (dx + 0.0f);
+				ys[i] = y + (dy + 0.0f);
+			}
+		}
+	}
+	
+	/**
+	 * Get the distance of every point from the origin
+	 * @param dest	Receives one distance per point
+	 * @return	A reference to dest
+	 */
+	public final float[] getMagnitude(float dest[]) {
+		return getMagnitude(0, 0, dest, 0, capacity);
+	}
+	
+	/**
+	 * Get the distance of every point from a given point
+	 * @param px	The point's x location
+	 * @param py	The point's y location
+	 * @param dest	Receives one distance per point
+	 * @return	A reference to dest
+	 */
+	public final float[] getMagnitude(float px, float py, float dest[]) {
+		return getMagnitude(px, py, dest, 0, capacity);
+	}
+	
+	/**
+	 * Get the distance of a range of points from a given point
+	 * @param px	The point's x location
+	 * @param py	The point's y location
+	 * @param dest	Receives the distance of point i at dest[i]
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	A reference to dest
+	 */
+	public final float[] getMagnitude(float px, float py, float dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		
+		for (int i = from; i < to; i++) {
+			
+			float dx = xs[i] - px;
+			float dy = ys[i] - py;
+			dest[i] = (float) Math.sqrt(dx*dx + dy*dy);
+		}
+		
+		return dest;
+	}
+	
+	/**
+	 * Get the squared distance of every point from a given point
+	 * @param px	The point's x location
+	 * @param py	The point's y location
+	 * @param dest	Receives one squared distance per point
+	 * @return	A reference to dest
+	 */
+	public final float[] getMagnitudeSquared(float px, float py, float dest[]) {
+		return getMagnitudeSquared(px, py, dest, 0, capacity);
+	}
+	
+	/**
+	 * Get the squared distance of a range of points from a given point
+	 * @param px	The point's x location
+	 * @param py	The point's y location
+	 * @param dest	Receives the squared distance of point i at dest[i]
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	A reference to dest
+	 */
+	public final float[] getMagnitudeSquared(float px, float py, float dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		
+		for (int i = from; i < to; i++) {
+			
+			float dx = xs[i] - px;
+			float dy = ys[i] - py;
+			dest[i] = dx*dx + dy*dy;
+		}
+		
+		return dest;
+	}
+	
+	/**
+	 * Test every point against a circle, like Vec2F.testCircle
+	 * @param cx	The circle's center x location
+	 * @param cy	The circle's center y location
+	 * @param cr	The circle's radius
+	 * @param dest	Receives true for the points inside
+	 * @return	The amount of points inside
+	 */
+	public final int testCircle(float cx, float cy, float cr, boolean dest[]) {
+		return testCircle(cx, cy, cr, dest, 0, capacity);
+	}
+	
+	/**
+	 * Test a range of points against a circle, like Vec2F.testCircle
+	 * @param cx	The circle's center x location
+	 * @param cy	The circle's center y location
+	 * @param cr	The circle's radius
+	 * @param dest	Receives true at dest[i] if point i is inside
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	The amount of points inside
+	 */
+	public final int testCircle(float cx, float cy, float cr, boolean dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float radiusSquared = cr*cr;
+		int inside = 0;
+		
+		for (int i = from; i < to; i++) {
+			
+			float dx = xs[i] - cx;
+			float dy = ys[i] - cy;
+			boolean hit = dx*dx + dy*dy <= radiusSquared;
+			
+			dest[i] = hit;
+			inside += hit ? 1 : 0;
+		}
+		
+		return inside;
+	}
+	
+	/**
+	 * Test every point against an ellipse, like Vec2F.testEllipse
+	 * @param cx	The ellipse's center x location
+	 * @param cy	The ellipse's center y location
+	 * @param rw	The ellipse's width
+	 * @param rh	The ellipse's height
+	 * @param dest	Receives true for the points inside
+	 * @return	The amount of points inside
+	 */
+	public final int testEllipse(float cx, float cy, float rw, float rh, boolean dest[]) {
+		return testEllipse(cx, cy, rw, rh, dest, 0, capacity);
+	}
+	
+	/**
+	 * Test a range of points against an ellipse, like Vec2F.testEllipse
+	 * @param cx	The ellipse's center x location
+	 * @param cy	The ellipse's center y location
+	 * @param rw	The ellipse's width
+	 * @param rh	The ellipse's height
+	 * @param dest	Receives true at dest[i] if point i is inside
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	The amount of points inside
+	 */
+	public final int testEllipse(float cx, float cy, float rw, float rh, boolean dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float rw2 = rw*rw;
+		float rh2 = rh*rh;
+		int inside = 0;
+		
+		for (int i = from; i < to; i++) {
+			
+			float xx = xs[i] - cx;
+			float yy = ys[i] - cy;
+			boolean hit = (xx*xx)/rw2 + (yy*yy)/rh2 <= 1.0f;
+			
+			dest[i] = hit;
+			inside += hit ? 1 : 0;
+		}
+		
+		return inside;
+	}
+	
+	/**
+	 * Test every point against a box, like Vec2F.testBoxAABB
+	 * @param sx	The box's minimum x location
+	 * @param sy	The box's minimum y location
+	 * @param w	The box's width
+	 * @param h	The box's height
+	 * @param dest	Receives true for the points inside
+	 * @return	The amount of points inside
+	 */
+	public final int testBoxAABB(float sx, float sy, float w, float h, boolean dest[]) {
+		return testBoxAABB(sx, sy, w, h, dest, 0, capacity);
+	}
+	
+	/**
+	 * Test a range of points against a box, like Vec2F.testBoxAABB
+	 * @param sx	The box's minimum x location
+	 * @param sy	The box's minimum y location
+	 * @param w	The box's width
+	 * @param h	The box's height
+	 * @param dest	Receives true at dest[i] if point i is inside
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	The amount of points inside
+	 */
+	public final int testBoxAABB(float sx, float sy, float w, float h, boolean dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float endX = sx + w;
+		float endY = sy + h;
+		int inside = 0;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			boolean hit = x >= sx & x <= endX & y >= sy & y <= endY;
+			
+			dest[i] = hit;
+			inside += hit ? 1 : 0;
+		}
+		
+		return inside;
+	}
+	
+	/**
+	 * Test every point against a triangle, like Vec2F.testTriangle
+	 * @param a	Triangle vertex A
+	 * @param b	Triangle vertex B
+	 * @param c	Triangle vertex C
+	 * @param dest	Receives true for the points inside
+	 * @return	The amount of points inside
+	 */
+	public final int testTriangle(Vec2F a, Vec2F b, Vec2F c, boolean dest[]) {
+		return testTriangle(a, b, c, dest, 0, capacity);
+	}
+	
+	/**
+	 * Test a range of points against a triangle, like Vec2F.testTriangle
+	 * @param a	Triangle vertex A
+	 * @param b	Triangle vertex B
+	 * @param c	Triangle vertex C
+	 * @param dest	Receives true at dest[i] if point i is inside
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	The amount of points inside
+	 */
+	public final int testTriangle(Vec2F a, Vec2F b, Vec2F c, boolean dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float ax = a.x, ay = a.y;
+		float bx = b.x, by = b.y;
+		float cx = c.x, cy = c.y;
+		int inside = 0;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			
+			// the side of the point on each edge, as in Vec2F.getSidePointOn
+			boolean b1 = (by - y)*(ax - x) - (bx - x)*(ay - y) > 0.0f;
+			boolean b2 = (cy - y)*(bx - x) - (cx - x)*(by - y) > 0.0f;
+			boolean b3 = (ay - y)*(cx - x) - (ax - x)*(cy - y) > 0.0f;
+			boolean hit = b1 == b2 && b2 == b3;
+			
+			dest[i] = hit;
+			inside += hit ? 1 : 0;
+		}
+		
+		return inside;
+	}
+}
@@ -175,8 +175,10 @@ public class Vec3F {
 	 */
 	public final float getMagnitudeSquared(float px, float py, float pz) {
 		
-		Vec3F diff = clone().negate(px, py, pz);
-		return (diff.x*diff.x + diff.y*diff.y + diff.z*diff.z);
+		float dx = x - px;
+		float dy = y - py;
+		float dz = z - pz;
+		return (dx*dx + dy*dy + dz*dz);
 	}
 	
 	/**
@@ -187,8 +189,10 @@ public class Vec3F {
 	 */
 	public final float getMagnitudeSquared(Vec3F point) {
 		
-		Vec3F diff = clone().negate(point);
-		return (diff.x*diff.x + diff.y*diff.y + diff.z*diff.z);
+		float dx = x - point.x;
+		float dy = y - point.y;
+		float dz = z - point.z;
+		return (dx*dx + dy*dy + dz*dz);
 	}
 	
 	/**
@@ -249,7 +253,7 @@ public class Vec3F {
 	public final boolean testSphere(Vec3F center, float radius) {
 		// ((x - cx)^2 + (y - cy)^2 + (z - cz)^2) < (radius^2)
 		
-		float distance = getMagnitude(center);
+		float distance = getMagnitudeSquared(center);
 		float radiusSquared = radius*radius;
 		return distance < radiusSquared;
 	}
@@ -0,0 +1,652 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: An array of Vec3F stored as structure of arrays
+ */
+
+package com.bulletdave.math.vector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.bulletdave.math.Parallel;
+import com.bulletdave.math.matrix.Matrix4x4;
+
+
+/**
+ * Many Vec3F kept as three parallel float arrays, such as a point cloud.
+ * The bulk operations mirror Vec3F element for element. Each one works
+ * over the whole array or an index range [from, to); the heavier ones
+ * can also split the array across the shared pool.
+ */
+public class Vec3FArray {
+	
+	public static final int GRAIN = 4096;	// points per parallel task
+	
+	// operations that can run in parallel
+	private static final int NORMALIZE			= 0;
+	private static final int TRANSFORM_POINT	= 1;
+	private static final int TRANSFORM_DIR		= 2;
+	private static final int TEST_SPHERE		= 3;
+	private static final int TEST_BOX			= 4;
+	
+	private final int capacity;		// amount of points
+	public final float xs[];		// the x location of every point
+	public final float ys[];		// the y location of every point
+	public final float zs[];		// the z location of every point
+	
+	/**
+	 * Construct an array of points at the origin
+	 * @param capacity	The amount of points
+	 */
+	public Vec3FArray(int capacity) {
+		this(new float[capacity], new float[capacity], new float[capacity]);
+	}
+	
+	/**
+	 * Construct an array of points around existing arrays, without copying
+	 * @param xs	The x locations
+	 * @param ys	The y locations, at least as long as xs
+	 * @param zs	The z locations, at least as long as xs
+	 */
+	public Vec3FArray(float xs[], float ys[], float zs[]) {
+		
+		this.capacity = xs.length;
+		this.xs = xs;
+		this.ys = ys;
+		this.zs = zs;
+	}
+	
+	/**
+	 * Get the amount of points
+	 * @return	The capacity of this array
+	 */
+	public final int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Set a point
+	 * @param index	The index of the point
+	 * @param x	The x location
+	 * @param y	The y location
+	 * @param z	The z location
+	 */
+	public final void set(int index, float x, float y, float z) {
+		xs[index] = x;
+		ys[index] = y;
+		zs[index] = z;
+	}
+	
+	/**
+	 * Set a point to the location of a Vec3F
+	 * @param index	The index of the point
+	 * @param point	The point to copy
+	 */
+	public final void set(int index, Vec3F point) {
+		xs[index] = point.x;
+		ys[index] = point.y;
+		zs[index] = point.z;
+	}
+	
+	/**
+	 * Copy a point into a Vec3F
+	 * @param index	The index of the point
+	 * @param dest	The Vec3F to copy into
+	 * @return	A reference to dest
+	 */
+	public final Vec3F get(int index, Vec3F dest) {
+		return dest.set(xs[index], ys[index], zs[index]);
+	}
+	
+	/**
+	 * Add a given amount (x, y, z) to every point
+	 * @param x	The x amount
+	 * @param y	The y amount
+	 * @param z	The z amount
+	 */
+	public final void add(float x, float y, float z) {
+		add(x, y, z, 0, capacity);
+	}
+	
+	/**
+	 * Add a given amount (x, y, z) to a range of points
+	 * @param x	The x amount
+	 * @param y	The y amount
+	 * @param z	The z amount
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void add(float x, float y, float z, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] += x;
+			ys[i] += y;
+			zs[i] += z;
+		}
+	}
+	
+	/**
+	 * Add the points of another array, index by index
+	 * @param points	The points to add
+	 */
+	public final void add(Vec3FArray points) {
+		add(points, 0, capacity);
+	}
+	
+	/**
+	 * Add a range of points of another array, index by index
+	 * @param points	The points to add
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void add(Vec3FArray points, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float pxs[] = points.xs;
+		float pys[] = points.ys;
+		float pzs[] = points.zs;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] += pxs[i];
+			ys[i] += pys[i];
+			zs[i] += pzs[i];
+		}
+	}
+	
+	/**
+	 * Multiply every point by a scaler
+	 * @param val	The scaler
+	 */
+	public final void multiply(float val) {
+		multiply(val, val, val, 0, capacity);
+	}
+	
+	/**
+	 * Multiply a range of points by a scaler per axis
+	 * @param x	The x scaler
+	 * @param y	The y scaler
+	 * @param z	The z scaler
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void multiply(float x, float y, float z, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] *= x;
+			ys[i] *= y;
+			zs[i] *= z;
+		}
+	}
+	
+	/**
+	 * Get the dot product of every point with a given point
+	 * @param point	The point to take the dot product with
+	 * @param dest	Receives one dot product per point
+	 * @return	A reference to dest
+	 */
+	public final float[] getDotProduct(Vec3F point, float dest[]) {
+		return getDotProduct(point, dest, 0, capacity);
+	}
+	
+	/**
+	 * Get the dot product of a range of points with a given point
+	 * @param point	The point to take the dot product with
+	 * @param dest	Receives the dot product of point i at dest[i]
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	A reference to dest
+	 */
+	public final float[] getDotProduct(Vec3F point, float dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float px = point.x, py = point.y, pz = point.z;
+		
+		for (int i = from; i < to; i++) {
+			dest[i] = px*xs[i] + py*ys[i] + pz*zs[i];
+		}
+		
+		return dest;
+	}
+	
+	/**
+	 * Get the dot product of a range of points with the points of
+	 * another array, index by index
+	 * @param points	The other points
+	 * @param dest	Receives the dot product of point i at dest[i]
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	A reference to dest
+	 */
+	public final float[] getDotProduct(Vec3FArray points, float dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float pxs[] = points.xs;
+		float pys[] = points.ys;
+		float pzs[] = points.zs;
+		
+		for (int i = from; i < to; i++) {
+			dest[i] = pxs[i]*xs[i] + pys[i]*ys[i] + pzs[i]*zs[i];
+		}
+		
+		return dest;
+	}
+	
+	/**
+	 * Get the cross product of every point with a given point
+	 * @param point	The point on the right of the cross product
+	 * @param dest	Receives the cross products, can be this array
+	 * @return	A reference to dest
+	 */
+	public final Vec3FArray getCrossProduct(Vec3F point, Vec3FArray dest) {
+		return getCrossProduct(point, dest, 0, capacity);
+	}
+	
+	/**
+	 * Get the cross product of a range of points with a given point,
+	 * like Vec3F.getCrossProduct
+	 * @param point	The point on the right of the cross product
+	 * @param dest	Receives the cross product of point i at index i,
+	 * 				can be this array
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	A reference to dest
+	 */
+	public final Vec3FArray getCrossProduct(Vec3F point, Vec3FArray dest, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float dxs[] = dest.xs;
+		float dys[] = dest.ys;
+		float dzs[] = dest.zs;
+		float px = point.x, py = point.y, pz = point.z;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float z = zs[i];
+			
+			dxs[i] = y*pz - z*py;
+			dys[i] = z*px - x*pz;
+			dzs[i] = x*py - y*px;
+		}
+		
+		return dest;
+	}
+	
+	/**
+	 * Get the distance of a range of points from a given point
+	 * @param point	The point to measure from
+	 * @param dest	Receives the distance of point i at dest[i]
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	A reference to dest
+	 */
+	public final float[] getMagnitude(Vec3F point, float dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float px = point.x, py = point.y, pz = point.z;
+		
+		for (int i = from; i < to; i++) {
+			
+			float dx = xs[i] - px;
+			float dy = ys[i] - py;
+			float dz = zs[i] - pz;
+			dest[i] = (float) Math.sqrt(dx*dx + dy*dy + dz*dz);
+		}
+		
+		return dest;
+	}
+	
+	/**
+	 * Normalize every point, points at the origin stay there
+	 */
+	public final void normalize() {
+		normalize(0, capacity);
+	}
+	
+	/**
+	 * Normalize every point, points at the origin stay there
+	 * @param parallel	true to split the points across the shared pool
+	 */
+	public final void normalize(boolean parallel) {
+		run(NORMALIZE, parallel, null, null, 0, 0, 0, null);
+	}
+	
+	/**
+	 * Normalize a range of points, points at the origin stay there
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void normalize(int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float z = zs[i];
+			float mag = (float) Math.sqrt(x*x + y*y + z*z);
+			
+			if (mag != 0) {
+				xs[i] = x / mag;
+				ys[i] = y / mag;
+				zs[i] = z / mag;
+			}
+		}
+	}
+	
+	/**
+	 * Transform every point by a matrix, treating it as (x, y, z, 1).
+	 * The bottom row of the matrix is ignored, which is correct for
+	 * affine transforms (rotation, scale and translation).
+	 * @param m	The transform
+	 */
+	public final void transformPoint(Matrix4x4 m) {
+		transformPoint(m, 0, capacity);
+	}
+	
+	/**
+	 * Transform every point by a matrix, treating it as (x, y, z, 1)
+	 * @param m	The transform
+	 * @param parallel	true to split the points across the shared pool
+	 */
+	public final void transformPoint(Matrix4x4 m, boolean parallel) {
+		run(TRANSFORM_POINT, parallel, m, null, 0, 0, 0, null);
+	}
+	
+	/**
+	 * Transform a range of points by a matrix, treating them as (x, y, z, 1)
+	 * @param m	The transform
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void transformPoint(Matrix4x4 m, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		
+		float m00 = m.m00, m01 = m.m01, m02 = m.m02, m03 = m.m03;
+		float m10 = m.m10, m11 = m.m11, m12 = m.m12, m13 = m.m13;
+		float m20 = m.m20, m21 = m.m21, m22 = m.m22, m23 = m.m23;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float z = zs[i];
+			
+			xs[i] = m00*x + m01*y + m02*z + m03;
+			ys[i] = m10*x + m11*y + m12*z + m13;
+			zs[i] = m20*x + m21*y + m22*z + m23;
+		}
+	}
+	
+	/**
+	 * Transform every direction by a matrix, treating it as (x, y, z, 0)
+	 * so translation does not apply. Normals need the inverse transpose
+	 * of the matrix unless it only rotates and scales uniformly.
+	 * @param m	The transform
+	 */
+	public final void transformDirection(Matrix4x4 m) {
+		transformDirection(m, 0, capacity);
+	}
+	
+	/**
+	 * Transform every direction by a matrix, treating it as (x, y, z, 0)
+	 * @param m	The transform
+	 * @param parallel	true to split the points across the shared pool
+	 */
+	public final void transformDirection(Matrix4x4 m, boolean parallel) {
+		run(TRANSFORM_DIR, parallel, m, null, 0, 0, 0, null);
+	}
+	
+	/**
+	 * Transform a range of directions by a matrix, treating them as (x, y, z, 0)
+	 * @param m	The transform
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void transformDirection(Matrix4x4 m, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		
+		float m00 = m.m00, m01 = m.m01, m02 = m.m02;
+		float m10 = m.m10, m11 = m.m11, m12 = m.m12;
+		float m20 = m.m20, m21 = m.m21, m22 = m.m22;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float z = zs[i];
+			
+			xs[i] = m00*x + m01*y + m02*z;
+			ys[i] = m10*x + m11*y + m12*z;
+			zs[i] = m20*x + m21*y + m22*z;
+		}
+	}
+	
+	/**
+	 * Test every point against a sphere, like Vec3F.testSphere
+	 * @param center	The sphere's center
+	 * @param radius	The sphere's radius
+	 * @param dest	Receives true for the points inside
+	 * @return	The amount of points inside
+	 */
+	public final int testSphere(Vec3F center, float radius, boolean dest[]) {
+		return testSphere(center, radius, dest, 0, capacity);
+	}
+	
+	/**
+	 * Test every point against a sphere, like Vec3F.testSphere
+	 * @param center	The sphere's center
+	 * @param radius	The sphere's radius
+	 * @param dest	Receives true for the points inside
+	 * @param parallel	true to split the points across the shared pool
+	 * @return	The amount of points inside
+	 */
+	public final int testSphere(Vec3F center, float radius, boolean dest[], boolean parallel) {
+		return run(TEST_SPHERE, parallel, null, center, radius, 0, 0, dest);
+	}
+	
+	/**
+	 * Test a range of points against a sphere, like Vec3F.testSphere
+	 * @param center	The sphere's center
+	 * @param radius	The sphere's radius
+	 * @param dest	Receives true at dest[i] if point i is inside
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	The amount of points inside
+	 */
+	public final int testSphere(Vec3F center, float radius, boolean dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float cx = center.x, cy = center.y, cz = center.z;
+		float radiusSquared = radius*radius;
+		int inside = 0;
+		
+		for (int i = from; i < to; i++) {
+			
+			float dx = xs[i] - cx;
+			float dy = ys[i] - cy;
+			float dz = zs[i] - cz;
+			boolean hit = dx*dx + dy*dy + dz*dz < radiusSquared;
+			
+			dest[i] = hit;
+			inside += hit ? 1 : 0;
+		}
+		
+		return inside;
+	}
+	
+	/**
+	 * Test every point against a box, like Vec3F.testBoxAABB
+	 * @param location	The box's minimum location
+	 * @param w	The box's width
+	 * @param h	The box's height
+	 * @param d	The box's depth
+	 * @param dest	Receives true for the points inside
+	 * @return	The amount of points inside
+	 */
+	public final int testBoxAABB(Vec3F location, float w, float h, float d, boolean dest[]) {
+		return testBoxAABB(location, w, h, d, dest, 0, capacity);
+	}
+	
+	/**
+	 * Test every point against a box, like Vec3F.testBoxAABB
+	 * @param location	The box's minimum location
+	 * @param w	The box's width
+	 * @param h	The box's height
+	 * @param d	The box's depth
+	 * @param dest	Receives true for the points inside
+	 * @param parallel	true to split the points across the shared pool
+	 * @return	The amount of points inside
+	 */
+	public final int testBoxAABB(Vec3F location, float w, float h, float d, boolean dest[], boolean parallel) {
+		return run(TEST_BOX, parallel, null, location, w, h, d, dest);
+	}
+	
+	/**
+	 * Test a range of points against a box, like Vec3F.testBoxAABB
+	 * @param location	The box's minimum location
+	 * @param w	The box's width
+	 * @param h	The box's height
+	 * @param d	The box's depth
+	 * @param dest	Receives true at dest[i] if point i is inside
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	The amount of points inside
+	 */
+	public final int testBoxAABB(Vec3F location, float w, float h, float d, boolean dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float sx = location.x, sy = location.y, sz = location.z;
+		float endX = sx + w;
+		float endY = sy + h;
+		float endZ = sz + d;
+		int inside = 0;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float z = zs[i];
+			boolean hit = x >= sx & x <= endX & y >= sy & y <= endY & z >= sz & z <= endZ;
+			
+			dest[i] = hit;
+			inside += hit ? 1 : 0;
+		}
+		
+		return inside;
+	}
+	
+	// runs an operation on the calling thread or across the shared pool
+	private int run(int op, boolean parallel, Matrix4x4 m, Vec3F point, float a, float b, float c, boolean dest[]) {
+		
+		OpRange range = new OpRange(op, m, point, a, b, c, dest);
+		
+		if (parallel) {
+			Parallel.forRange(0, capacity, GRAIN, range);
+		} else {
+			range.run(0, capacity);
+		}
+		
+		return range.inside.get();
+	}
+	
+	// one operation with its arguments; a, b and c are the
+	// sphere's radius or the box's width, height and depth
+	private final class OpRange extends Parallel.Range {
+		
+		final int op;
+		final Matrix4x4 m;
+		final Vec3F point;
+		final float a, b, c;
+		final boolean dest[];
+		final AtomicInteger inside = new AtomicInteger();
+		
+		OpRange(int op, Matrix4x4 m, Vec3F point, float a, float b, float c, boolean dest[]) {
+			this.op = op;
+			this.m = m;
+			this.point = point;
+			this.a = a;
+			this.b = b;
+			this.c = c;
+			this.dest = dest;
+		}
+		
+		@Override
+		public void run(int from, int to) {
+			
+			switch (op) {
+			case NORMALIZE:			normalize(from, to); break;
+			case TRANSFORM_POINT:	transformPoint(m, from, to); break;
+			case TRANSFORM_DIR:		transformDirection(m, from, to); break;
+			case TEST_SPHERE:		inside.addAndGet(testSphere(point, a, dest, from, to)); break;
+			default:				inside.addAndGet(testBoxAABB(point, a, b, c, dest, from, to)); break;
+			}
+		}
+	}
+}
@@ -199,8 +199,11 @@ public class Vec4F {
 	 */
 	public final float getMagnitudeSquared(float px, float py, float pz, float pw) {
 		
-		Vec4F diff = clone().negate(px, py, pz, pw);
-		return (diff.x*diff.x + diff.y*diff.y + diff.z*diff.z + diff.w*diff.w);
+		float dx = x - px;
+		float dy = y - py;
+		float dz = z - pz;
+		float dw = w - pw;
+		return (dx*dx + dy*dy + dz*dz + dw*dw);
 	}
 	
 	/**
@@ -211,9 +214,12 @@ public class Vec4F {
 	 */
 	public final float getMagnitudeSquared(Vec4F point) {
 		
-		Vec4F diff = clone().negate(point);
-		return diff.x*diff.x + diff.y*diff.y + 
-			   diff.z*diff.z + diff.w*diff.w;
+		float dx = x - point.x;
+		float dy = y - point.y;
+		float dz = z - point.z;
+		float dw = w - point.w;
+		return dx*dx + dy*dy + 
+			   dz*dz + dw*dw;
 	}
 	
 	/**
@@ -0,0 +1,449 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: An array of Vec4F stored as structure of arrays
+ */
+
+package com.bulletdave.math.vector;
+
+import com.bulletdave.math.Parallel;
+import com.bulletdave.math.matrix.Matrix4x4;
+
+
+/**
+ * Many Vec4F kept as four parallel float arrays, such as homogeneous
+ * coordinates. The bulk operations mirror Vec4F element for element.
+ * Each one works over the whole array or an index range [from, to);
+ * the heavier ones can also split the array across the shared pool.
+ */
+public class Vec4FArray {
+	
+	public static final int GRAIN = 4096;	// vectors per parallel task
+	
+	// operations that can run in parallel
+	private static final int NORMALIZE	= 0;
+	private static final int TRANSFORM	= 1;
+	
+	private final int capacity;		// amount of vectors
+	public final float xs[];		// the x component of every vector
+	public final float ys[];		// the y component of every vector
+	public final float zs[];		// the z component of every vector
+	public final float ws[];		// the w component of every vector
+	
+	/**
+	 * Construct an array of zero vectors
+	 * @param capacity	The amount of vectors
+	 */
+	public Vec4FArray(int capacity) {
+		this(new float[capacity], new float[capacity], new float[capacity], new float[capacity]);
+	}
+	
+	/**
+	 * Construct an array of vectors around existing arrays, without copying
+	 * @param xs	The x components
+	 * @param ys	The y components, at least as long as xs
+	 * @param zs	The z components, at least as long as xs
+	 * @param ws	The w components, at least as long as xs
+	 */
+	public Vec4FArray(float xs[], float ys[], float zs[], float ws[]) {
+		
+		this.capacity = xs.length;
+		this.xs = xs;
+		this.ys = ys;
+		this.zs = zs;
+		this.ws = ws;
+	}
+	
+	/**
+	 * Get the amount of vectors
+	 * @return	The capacity of this array
+	 */
+	public final int getCapacity() {
+		return capacity;
+	}
+	
+	/**
+	 * Set a vector
+	 * @param index	The index of the vector
+	 * @param x	The x component
+	 * @param y	The y component
+	 * @param z	The z component
+	 * @param w	The w component
+	 */
+	public final void set(int index, float x, float y, float z, float w) {
+		xs[index] = x;
+		ys[index] = y;
+		zs[index] = z;
+		ws[index] = w;
+	}
+	
+	/**
+	 * Set a vector to the components of a Vec4F
+	 * @param index	The index of the vector
+	 * @param point	The vector to copy
+	 */
+	public final void set(int index, Vec4F point) {
+		xs[index] = point.x;
+		ys[index] = point.y;
+		zs[index] = point.z;
+		ws[index] = point.w;
+	}
+	
+	/**
+	 * Copy a vector into a Vec4F
+	 * @param index	The index of the vector
+	 * @param dest	The Vec4F to copy into
+	 * @return	A reference to dest
+	 */
+	public final Vec4F get(int index, Vec4F dest) {
+		return dest.set(xs[index], ys[index], zs[index], ws[index]);
+	}
+	
+	/**
+	 * Add a given amount (x, y, z, w) to every vector
+	 * @param x	The x amount
+	 * @param y	The y amount
+	 * @param z	The z amount
+	 * @param w	The w amount
+	 */
+	public final void add(float x, float y, float z, float w) {
+		add(x, y, z, w, 0, capacity);
+	}
+	
+	/**
+	 * Add a given amount (x, y, z, w) to a range of vectors
+	 * @param x	The x amount
+	 * @param y	The y amount
+	 * @param z	The z amount
+	 * @param w	The w amount
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void add(float x, float y, float z, float w, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float ws[] = this.ws;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] += x;
+			ys[i] += y;
+			zs[i] += z;
+			ws[i] += w;
+		}
+	}
+	
+	/**
+	 * Add the vectors of another array, index by index
+	 * @param points	The vectors to add
+	 */
+	public final void add(Vec4FArray points) {
+		add(points, 0, capacity);
+	}
+	
+	/**
+	 * Add a range of vectors of another array, index by index
+	 * @param points	The vectors to add
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void add(Vec4FArray points, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float ws[] = this.ws;
+		float pxs[] = points.xs;
+		float pys[] = points.ys;
+		float pzs[] = points.zs;
+		float pws[] = points.ws;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] += pxs[i];
+			ys[i] += pys[i];
+			zs[i] += pzs[i];
+			ws[i] += pws[i];
+		}
+	}
+	
+	/**
+	 * Multiply every vector by a scaler
+	 * @param val	The scaler
+	 */
+	public final void multiply(float val) {
+		multiply(val, val, val, val, 0, capacity);
+	}
+	
+	/**
+	 * Multiply a range of vectors by a scaler per component
+	 * @param x	The x scaler
+	 * @param y	The y scaler
+	 * @param z	The z scaler
+	 * @param w	The w scaler
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void multiply(float x, float y, float z, float w, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float ws[] = this.ws;
+		
+		for (int i = from; i < to; i++) {
+			xs[i] *= x;
+			ys[i] *= y;
+			zs[i] *= z;
+			ws[i] *= w;
+		}
+	}
+	
+	/**
+	 * Get the dot product of every vector with a given vector
+	 * @param point	The vector to take the dot product with
+	 * @param dest	Receives one dot product per vector
+	 * @return	A reference to dest
+	 */
+	public final float[] getDotProduct(Vec4F point, float dest[]) {
+		return getDotProduct(point, dest, 0, capacity);
+	}
+	
+	/**
+	 * Get the dot product of a range of vectors with a given vector
+	 * @param point	The vector to take the dot product with
+	 * @param dest	Receives the dot product of vector i at dest[i]
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	A reference to dest
+	 */
+	public final float[] getDotProduct(Vec4F point, float dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float ws[] = this.ws;
+		float px = point.x, py = point.y, pz = point.z, pw = point.w;
+		
+		for (int i = from; i < to; i++) {
+			dest[i] = px*xs[i] + py*ys[i] + pz*zs[i] + pw*ws[i];
+		}
+		
+		return dest;
+	}
+	
+	/**
+	 * Get the dot product of a range of vectors with the vectors of
+	 * another array, index by index
+	 * @param points	The other vectors
+	 * @param dest	Receives the dot product of vector i at dest[i]
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	A reference to dest
+	 */
+	public final float[] getDotProduct(Vec4FArray points, float dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float ws[] = this.ws;
+		float pxs[] = points.xs;
+		float pys[] = points.ys;
+		float pzs[] = points.zs;
+		float pws[] = points.ws;
+		
+		for (int i = from; i < to; i++) {
+			dest[i] = pxs[i]*xs[i] + pys[i]*ys[i] + pzs[i]*zs[i] + pws[i]*ws[i];
+		}
+		
+		return dest;
+	}
+	
+	/**
+	 * Get the distance of a range of vectors from a given vector
+	 * @param point	The vector to measure from
+	 * @param dest	Receives the distance of vector i at dest[i]
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	A reference to dest
+	 */
+	public final float[] getMagnitude(Vec4F point, float dest[], int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float ws[] = this.ws;
+		float px = point.x, py = point.y, pz = point.z, pw = point.w;
+		
+		for (int i = from; i < to; i++) {
+			
+			float dx = xs[i] - px;
+			float dy = ys[i] - py;
+			float dz = zs[i] - pz;
+			float dw = ws[i] - pw;
+			dest[i] = (float) Math.sqrt(dx*dx + dy*dy + dz*dz + dw*dw);
+		}
+		
+		return dest;
+	}
+	
+	/**
+	 * Normalize every vector, zero vectors stay zero
+	 */
+	public final void normalize() {
+		normalize(0, capacity);
+	}
+	
+	/**
+	 * Normalize every vector, zero vectors stay zero
+	 * @param parallel	true to split the vectors across the shared pool
+	 */
+	public final void normalize(boolean parallel) {
+		run(NORMALIZE, parallel, null);
+	}
+	
+	/**
+	 * Normalize a range of vectors, zero vectors stay zero
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void normalize(int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float ws[] = this.ws;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float z = zs[i];
+			float w = ws[i];
+			float mag = (float) Math.sqrt(x*x + y*y + z*z + w*w);
+			
+			if (mag != 0) {
+				xs[i] = x / mag;
+				ys[i] = y / mag;
+				zs[i] = z / mag;
+				ws[i] = w / mag;
+			}
+		}
+	}
+	
+	/**
+	 * Transform every column vector by a matrix (v = Mv)
+	 * @param m	The transform
+	 */
+	public final void transform(Matrix4x4 m) {
+		transform(m, 0, capacity);
+	}
+	
+	/**
+	 * Transform every column vector by a matrix (v = Mv)
+	 * @param m	The transform
+	 * @param parallel	true to split the vectors across the shared pool
+	 */
+	public final void transform(Matrix4x4 m, boolean parallel) {
+		run(TRANSFORM, parallel, m);
+	}
+	
+	/**
+	 * Transform a range of column vectors by a matrix (v = Mv)
+	 * @param m	The transform
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void transform(Matrix4x4 m, int from, int to) {
+		
+		float xs[] = this.xs;
+		float ys[] = this.ys;
+		float zs[] = this.zs;
+		float ws[] = this.ws;
+		
+		float m00 = m.m00, m01 = m.m01, m02 = m.m02, m03 = m.m03;
+		float m10 = m.m10, m11 = m.m11, m12 = m.m12, m13 = m.m13;
+		float m20 = m.m20, m21 = m.m21, m22 = m.m22, m23 = m.m23;
+		float m30 = m.m30, m31 = m.m31, m32 = m.m32, m33 = m.m33;
+		
+		for (int i = from; i < to; i++) {
+			
+			float x = xs[i];
+			float y = ys[i];
+			float z = zs[i];
+			float w = ws[i];
+			
+			xs[i] = m00*x + m01*y + m02*z + m03*w;
+			ys[i] = m10*x + m11*y + m12*z + m13*w;
+			zs[i] = m20*x + m21*y + m22*z + m23*w;
+			ws[i] = m30*x + m31*y + m32*z + m33*w;
+		}
+	}
+	
+	// runs an operation on the calling thread or across the shared pool
+	private void run(int op, boolean parallel, Matrix4x4 m) {
+		
+		OpRange range = new OpRange(op, m);
+		
+		if (parallel) {
+			Parallel.forRange(0, capacity, GRAIN, range);
+		} else {
+			range.run(0, capacity);
+		}
+	}
+	
+	private final class OpRange extends Parallel.Range {
+		
+		final int op;
+		final Matrix4x4 m;
+		
+		OpRange(int op, Matrix4x4 m) {
+			this.op = op;
+			this.m = m;
+		}
+		
+		@Override
+		public void run(int from, int to) {
+			
+			if (op == NORMALIZE) {
+				normalize(from, to);
+			} else {
+				transform(m, from, to);
+			}
+		}
+	}
+}
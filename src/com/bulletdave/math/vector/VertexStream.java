@@ -0,0 +1,751 @@
+/*
+ *	Copyright (c) 2016, David McCoy
+ *	All rights reserved.
+ *	License: (BSD)
+ *	
+ *	Redistribution and use in source and binary forms, with or without
+ *	modification, are permitted provided that the following conditions are met:
+ *	1. Redistributions of source code must retain the above copyright
+ *	   notice, this list of conditions and the following disclaimer.
+ *	2. Redistributions in binary form must reproduce the above copyright
+ *	   notice, this list of conditions and the following disclaimer in the
+ *	   documentation and/or other materials provided with the distribution.
+ *	3. All advertising materials mentioning features or use of this software
+ *	   must display the following acknowledgement: David McCoy
+ *	   This product includes software developed by the Oracle Corporation
+ *	4. Neither the name of the David McCoy nor the
+ *	   names of its contributors may be used to endorse or promote products
+ *	   derived from this software without specific prior written permission.
+ *	
+ *	THIS SOFTWARE IS PROVIDED BY David McCoy ''AS IS'' AND ANY
+ *	EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ *	WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ *	DISCLAIMED. IN NO EVENT SHALL David McCoy BE LIABLE FOR ANY
+ *	DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ *	(INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ *	LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ *	ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ *	(INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *	SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+/*
+ * Copyright 2026 (C)
+ * 
+ * Created on	: 19, October, 2026
+ * Author		: David McCoy
+ * Description	: Float vertex data kept in a ByteBuffer for native renderers
+ */
+
+package com.bulletdave.math.vector;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.bulletdave.math.Parallel;
+import com.bulletdave.math.matrix.Matrix4x4;
+
+
+/**
+ * A stream of vertices with up to 16 float components each, kept in a
+ * ByteBuffer that can be handed to a native renderer without copying.
+ * Component c of vertex i lives at byte offset + i*stride + c*componentStride,
+ * which covers both interleaved layouts (xyzxyz...) and planar layouts
+ * (xx..yy..zz..), as well as one attribute inside a larger vertex.
+ * The bulk operations read and write the buffer in place and mirror
+ * Vec3FArray and Vec4FArray. Operations that need more components than
+ * the stream has make no change and return false.
+ */
+public class VertexStream {
+	
+	public static final int FLOAT_BYTES = 4;	// bytes per component
+	public static final int MAX_COMPONENTS = 16;	// enough for a Matrix4x4
+	public static final int GRAIN = 4096;		// vertices per parallel task
+	
+	// operations that can run in parallel
+	private static final int NORMALIZE			= 0;
+	private static final int TRANSFORM_POINT	= 1;
+	private static final int TRANSFORM_DIR		= 2;
+	private static final int TRANSFORM			= 3;
+	
+	private final ByteBuffer buffer;	// the vertex data, read with absolute access
+	private final int count;			// amount of vertices
+	private final int components;		// floats per vertex
+	private final int offset;			// byte offset of the first vertex
+	private final int stride;			// bytes from one vertex to the next
+	private final int componentStride;	// bytes from one component to the next
+	
+	/**
+	 * Construct a view over existing vertex data. The buffer's byte order
+	 * is used as is and its position and limit are never changed.
+	 * @param buffer	The vertex data
+	 * @param count	The amount of vertices
+	 * @param components	The floats per vertex, from 1 to MAX_COMPONENTS
+	 * @param offset	The byte offset of the first vertex
+	 * @param stride	The bytes from one vertex to the next
+	 * @param componentStride	The bytes from one component to the next
+	 */
+	public VertexStream(ByteBuffer buffer, int count, int components, int offset, int stride, int componentStride) {
+		
+		this.buffer = buffer;
+		this.count = count;
+		this.components = Math.max(1, Math.min(components, MAX_COMPONENTS));
+		this.offset = offset;
+		this.stride = stride;
+		this.componentStride = componentStride;
+	}
+	
+	/**
+	 * Allocate an interleaved stream (xyzxyz...) in a direct buffer of native byte order
+	 * @param count	The amount of vertices
+	 * @param components	The floats per vertex, from 1 to MAX_COMPONENTS
+	 * @return	The new stream
+	 */
+	public static VertexStream interleaved(int count, int components) {
+		
+		components = Math.max(1, Math.min(components, MAX_COMPONENTS));
+		ByteBuffer buffer = allocate(count * components);
+		return new VertexStream(buffer, count, components, 0, components * FLOAT_BYTES, FLOAT_BYTES);
+	}
+	
+	/**
+	 * Allocate a planar stream (xx..yy..zz..) in a direct buffer of native byte order
+	 * @param count	The amount of vertices
+	 * @param components	The floats per vertex, from 1 to MAX_COMPONENTS
+	 * @return	The new stream
+	 */
+	public static VertexStream planar(int count, int components) {
+		
+		components = Math.max(1, Math.min(components, MAX_COMPONENTS));
+		ByteBuffer buffer = allocate(count * components);
+		return new VertexStream(buffer, count, components, 0, FLOAT_BYTES, count * FLOAT_BYTES);
+	}
+	
+	private static ByteBuffer allocate(int floats) {
+		return ByteBuffer.allocateDirect(floats * FLOAT_BYTES).order(ByteOrder.nativeOrder());
+	}
+	
+	/**
+	 * Get the buffer holding the vertex data
+	 * @return	The buffer, to hand to a renderer
+	 */
+	public final ByteBuffer getBuffer() {
+		return buffer;
+	}
+	
+	/**
+	 * Get the amount of vertices
+	 * @return	The amount of vertices
+	 */
+	public final int getCount() {
+		return count;
+	}
+	
+	/**
+	 * Get the floats per vertex
+	 * @return	The amount of components
+	 */
+	public final int getComponents() {
+		return components;
+	}
+	
+	/**
+	 * Get the byte offset of the first vertex
+	 * @return	The offset in bytes
+	 */
+	public final int getOffset() {
+		return offset;
+	}
+	
+	/**
+	 * Get the bytes from one vertex to the next
+	 * @return	The stride in bytes
+	 */
+	public final int getStride() {
+		return stride;
+	}
+	
+	/**
+	 * Get the bytes from one component to the next
+	 * @return	The component stride in bytes
+	 */
+	public final int getComponentStride() {
+		return componentStride;
+	}
+	
+	/**
+	 * Get a component of a vertex
+	 * @param index	The index of the vertex
+	 * @param component	The component, 0 for x
+	 * @return	The component's value, 0 if the stream does not have it
+	 */
+	public final float get(int index, int component) {
+		
+		if (component < 0 || component >= components) {
+			return 0;
+		}
+		
+		return buffer.getFloat(offset + index*stride + component*componentStride);
+	}
+	
+	/**
+	 * Set a component of a vertex
+	 * @param index	The index of the vertex
+	 * @param component	The component, 0 for x
+	 * @param val	The value to set
+	 */
+	public final void set(int index, int component, float val) {
+		
+		if (component < 0 || component >= components) {
+			return;
+		}
+		
+		buffer.putFloat(offset + index*stride + component*componentStride, val);
+	}
+	
+	/**
+	 * Copy a vertex into a Vec2F
+	 * @param index	The index of the vertex
+	 * @param dest	The Vec2F to copy into
+	 * @return	A reference to dest
+	 */
+	public final Vec2F get(int index, Vec2F dest) {
+		return dest.set(get(index, 0), get(index, 1));
+	}
+	
+	/**
+	 * Copy a vertex into a Vec3F
+	 * @param index	The index of the vertex
+	 * @param dest	The Vec3F to copy into
+	 * @return	A reference to dest
+	 */
+	public final Vec3F get(int index, Vec3F dest) {
+		return dest.set(get(index, 0), get(index, 1), get(index, 2));
+	}
+	
+	/**
+	 * Copy a vertex into a Vec4F
+	 * @param index	The index of the vertex
+	 * @param dest	The Vec4F to copy into
+	 * @return	A reference to dest
+	 */
+	public final Vec4F get(int index, Vec4F dest) {
+		return dest.set(get(index, 0), get(index, 1), get(index, 2), get(index, 3));
+	}
+	
+	/**
+	 * Set a vertex to the components of a Vec2F
+	 * @param index	The index of the vertex
+	 * @param point	The vector to copy
+	 */
+	public final void set(int index, Vec2F point) {
+		set(index, 0, point.x);
+		set(index, 1, point.y);
+	}
+	
+	/**
+	 * Set a vertex to the components of a Vec3F
+	 * @param index	The index of the vertex
+	 * @param point	The vector to copy
+	 */
+	public final void set(int index, Vec3F point) {
+		set(index, 0, point.x);
+		set(index, 1, point.y);
+		set(index, 2, point.z);
+	}
+	
+	/**
+	 * Set a vertex to the components of a Vec4F
+	 * @param index	The index of the vertex
+	 * @param point	The vector to copy
+	 */
+	public final void set(int index, Vec4F point) {
+		set(index, 0, point.x);
+		set(index, 1, point.y);
+		set(index, 2, point.z);
+		set(index, 3, point.w);
+	}
+	
+	/**
+	 * Set a vertex to the entries of a matrix in column-major order,
+	 * such as a per instance model matrix
+	 * @param index	The index of the vertex
+	 * @param m	The matrix to copy
+	 * @return	true if the stream has 16 components, false otherwise
+	 */
+	public final boolean set(int index, Matrix4x4 m) {
+		
+		if (components < MAX_COMPONENTS) {
+			return false;
+		}
+		
+		ByteBuffer buffer = this.buffer;
+		int cs = componentStride;
+		int at = offset + index*stride;
+		
+		buffer.putFloat(at, m.m00);			buffer.putFloat(at + cs, m.m10);
+		buffer.putFloat(at + 2*cs, m.m20);	buffer.putFloat(at + 3*cs, m.m30);
+		buffer.putFloat(at + 4*cs, m.m01);	buffer.putFloat(at + 5*cs, m.m11);
+		buffer.putFloat(at + 6*cs, m.m21);	buffer.putFloat(at + 7*cs, m.m31);
+		buffer.putFloat(at + 8*cs, m.m02);	buffer.putFloat(at + 9*cs, m.m12);
+		buffer.putFloat(at + 10*cs, m.m22);	buffer.putFloat(at + 11*cs, m.m32);
+		buffer.putFloat(at + 12*cs, m.m03);	buffer.putFloat(at + 13*cs, m.m13);
+		buffer.putFloat(at + 14*cs, m.m23);	buffer.putFloat(at + 15*cs, m.m33);
+		
+		return true;
+	}
+	
+	/**
+	 * Copy a range of vectors into the vertices at the same indices
+	 * @param points	The vectors to copy
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	true if the stream has 2 or more components, false otherwise
+	 */
+	public final boolean put(Vec2FArray points, int from, int to) {
+		
+		if (components < 2) {
+			return false;
+		}
+		
+		ByteBuffer buffer = this.buffer;
+		float xs[] = points.xs;
+		float ys[] = points.ys;
+		int cs = componentStride;
+		
+		for (int i = from; i < to; i++) {
+			
+			int at = offset + i*stride;
+			buffer.putFloat(at, xs[i]);
+			buffer.putFloat(at + cs, ys[i]);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Copy a range of vectors into the vertices at the same indices
+	 * @param points	The vectors to copy
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	true if the stream has 3 or more components, false otherwise
+	 */
+	public final boolean put(Vec3FArray points, int from, int to) {
+		
+		if (components < 3) {
+			return false;
+		}
+		
+		ByteBuffer buffer = this.buffer;
+		float xs[] = points.xs;
+		float ys[] = points.ys;
+		float zs[] = points.zs;
+		int cs = componentStride;
+		
+		for (int i = from; i < to; i++) {
+			
+			int at = offset + i*stride;
+			buffer.putFloat(at, xs[i]);
+			buffer.putFloat(at + cs, ys[i]);
+			buffer.putFloat(at + 2*cs, zs[i]);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Copy a range of vectors into the vertices at the same indices
+	 * @param points	The vectors to copy
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	true if the stream has 4 or more components, false otherwise
+	 */
+	public final boolean put(Vec4FArray points, int from, int to) {
+		
+		if (components < 4) {
+			return false;
+		}
+		
+		ByteBuffer buffer = this.buffer;
+		float xs[] = points.xs;
+		float ys[] = points.ys;
+		float zs[] = points.zs;
+		float ws[] = points.ws;
+		int cs = componentStride;
+		
+		for (int i = from; i < to; i++) {
+			
+			int at = offset + i*stride;
+			buffer.putFloat(at, xs[i]);
+			buffer.putFloat(at + cs, ys[i]);
+			buffer.putFloat(at + 2*cs, zs[i]);
+			buffer.putFloat(at + 3*cs, ws[i]);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Copy a range of vertices into the vectors at the same indices
+	 * @param dest	The vectors to copy into
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	true if the stream has 2 or more components, false otherwise
+	 */
+	public final boolean get(Vec2FArray dest, int from, int to) {
+		
+		if (components < 2) {
+			return false;
+		}
+		
+		ByteBuffer buffer = this.buffer;
+		float xs[] = dest.xs;
+		float ys[] = dest.ys;
+		int cs = componentStride;
+		
+		for (int i = from; i < to; i++) {
+			
+			int at = offset + i*stride;
+			xs[i] = buffer.getFloat(at);
+			ys[i] = buffer.getFloat(at + cs);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Copy a range of vertices into the vectors at the same indices
+	 * @param dest	The vectors to copy into
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	true if the stream has 3 or more components, false otherwise
+	 */
+	public final boolean get(Vec3FArray dest, int from, int to) {
+		
+		if (components < 3) {
+			return false;
+		}
+		
+		ByteBuffer buffer = this.buffer;
+		float xs[] = dest.xs;
+		float ys[] = dest.ys;
+		float zs[] = dest.zs;
+		int cs = componentStride;
+		
+		for (int i = from; i < to; i++) {
+			
+			int at = offset + i*stride;
+			xs[i] = buffer.getFloat(at);
+			ys[i] = buffer.getFloat(at + cs);
+			zs[i] = buffer.getFloat(at + 2*cs);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Copy a range of vertices into the vectors at the same indices
+	 * @param dest	The vectors to copy into
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	true if the stream has 4 or more components, false otherwise
+	 */
+	public final boolean get(Vec4FArray dest, int from, int to) {
+		
+		if (components < 4) {
+			return false;
+		}
+		
+		ByteBuffer buffer = this.buffer;
+		float xs[] = dest.xs;
+		float ys[] = dest.ys;
+		float zs[] = dest.zs;
+		float ws[] = dest.ws;
+		int cs = componentStride;
+		
+		for (int i = from; i < to; i++) {
+			
+			int at = offset + i*stride;
+			xs[i] = buffer.getFloat(at);
+			ys[i] = buffer.getFloat(at + cs);
+			zs[i] = buffer.getFloat(at + 2*cs);
+			ws[i] = buffer.getFloat(at + 3*cs);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Multiply every component of a range of vertices by a scaler
+	 * @param val	The scaler
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void multiply(float val, int from, int to) {
+		
+		ByteBuffer buffer = this.buffer;
+		int cs = componentStride;
+		int n = components;
+		
+		for (int i = from; i < to; i++) {
+			
+			int at = offset + i*stride;
+			for (int c = 0; c < n; c++, at += cs) {
+				buffer.putFloat(at, buffer.getFloat(at) * val);
+			}
+		}
+	}
+	
+	/**
+	 * Normalize every vertex over all of its components, zero vertices stay zero
+	 */
+	public final void normalize() {
+		normalize(0, count);
+	}
+	
+	/**
+	 * Normalize every vertex over all of its components, zero vertices stay zero
+	 * @param parallel	true to split the vertices across the shared pool
+	 */
+	public final void normalize(boolean parallel) {
+		run(NORMALIZE, parallel, null);
+	}
+	
+	/**
+	 * Normalize a range of vertices over all of their components,
+	 * zero vertices stay zero
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 */
+	public final void normalize(int from, int to) {
+		
+		ByteBuffer buffer = this.buffer;
+		int cs = componentStride;
+		int n = components;
+		
+		for (int i = from; i < to; i++) {
+			
+			int start = offset + i*stride;
+			int at = start;
+			float sum = 0;
+			
+			for (int c = 0; c < n; c++, at += cs) {
+				float val = buffer.getFloat(at);
+				sum += val*val;
+			}
+			
+			float mag = (float) Math.sqrt(sum);
+			if (mag == 0) continue;
+			
+			at = start;
+			for (int c = 0; c < n; c++, at += cs) {
+				buffer.putFloat(at, buffer.getFloat(at) / mag);
+			}
+		}
+	}
+	
+	/**
+	 * Transform every vertex by a matrix, treating it as (x, y, z, 1).
+	 * The bottom row of the matrix is ignored, like Vec3FArray.transformPoint.
+	 * @param m	The transform
+	 * @return	true if the stream has 3 or more components, false otherwise
+	 */
+	public final boolean transformPoint(Matrix4x4 m) {
+		return transformPoint(m, 0, count);
+	}
+	
+	/**
+	 * Transform every vertex by a matrix, treating it as (x, y, z, 1)
+	 * @param m	The transform
+	 * @param parallel	true to split the vertices across the shared pool
+	 * @return	true if the stream has 3 or more components, false otherwise
+	 */
+	public final boolean transformPoint(Matrix4x4 m, boolean parallel) {
+		return components >= 3 && run(TRANSFORM_POINT, parallel, m);
+	}
+	
+	/**
+	 * Transform a range of vertices by a matrix, treating them as (x, y, z, 1)
+	 * @param m	The transform
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	true if the stream has 3 or more components, false otherwise
+	 */
+	public final boolean transformPoint(Matrix4x4 m, int from, int to) {
+		
+		if (components < 3) {
+			return false;
+		}
+		
+		ByteBuffer buffer = this.buffer;
+		int cs = componentStride;
+		
+		float m00 = m.m00, m01 = m.m01, m02 = m.m02, m03 = m.m03;
+		float m10 = m.m10, m11 = m.m11, m12 = m.m12, m13 = m.m13;
+		float m20 = m.m20, m21 = m.m21, m22 = m.m22, m23 = m.m23;
+		
+		for (int i = from; i < to; i++) {
+			
+			int at = offset + i*stride;
+			float x = buffer.getFloat(at);
+			float y = buffer.getFloat(at + cs);
+			float z = buffer.getFloat(at + 2*cs);
+			
+			buffer.putFloat(at, m00*x + m01*y + m02*z + m03);
+			buffer.putFloat(at + cs, m10*x + m11*y + m12*z + m13);
+			buffer.putFloat(at + 2*cs, m20*x + m21*y + m22*z + m23);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Transform every vertex by a matrix, treating it as a direction
+	 * (x, y, z, 0) so translation does not apply
+	 * @param m	The transform
+	 * @return	true if the stream has 3 or more components, false otherwise
+	 */
+	public final boolean transformDirection(Matrix4x4 m) {
+		return transformDirection(m, 0, count);
+	}
+	
+	/**
+	 * Transform every vertex by a matrix, treating it as a direction (x, y, z, 0)
+	 * @param m	The transform
+	 * @param parallel	true to split the vertices across the shared pool
+	 * @return	true if the stream has 3 or more components, false otherwise
+	 */
+	public final boolean transformDirection(Matrix4x4 m, boolean parallel) {
+		return components >= 3 && run(TRANSFORM_DIR, parallel, m);
+	}
+	
+	/**
+	 * Transform a range of vertices by a matrix, treating them as directions (x, y, z, 0)
+	 * @param m	The transform
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	true if the stream has 3 or more components, false otherwise
+	 */
+	public final boolean transformDirection(Matrix4x4 m, int from, int to) {
+		
+		if (components < 3) {
+			return false;
+		}
+		
+		ByteBuffer buffer = this.buffer;
+		int cs = componentStride;
+		
+		float m00 = m.m00, m01 = m.m01, m02 = m.m02;
+		float m10 = m.m10, m11 = m.m11, m12 = m.m12;
+		float m20 = m.m20, m21 = m.m21, m22 = m.m22;
+		
+		for (int i = from; i < to; i++) {
+			
+			int at = offset + i*stride;
+			float x = buffer.getFloat(at);
+			float y = buffer.getFloat(at + cs);
+			float z = buffer.getFloat(at + 2*cs);
+			
+			buffer.putFloat(at, m00*x + m01*y + m02*z);
+			buffer.putFloat(at + cs, m10*x + m11*y + m12*z);
+			buffer.putFloat(at + 2*cs, m20*x + m21*y + m22*z);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Transform every vertex as a column vector (x, y, z, w) by a matrix (v = Mv)
+	 * @param m	The transform
+	 * @return	true if the stream has 4 or more components, false otherwise
+	 */
+	public final boolean transform(Matrix4x4 m) {
+		return transform(m, 0, count);
+	}
+	
+	/**
+	 * Transform every vertex as a column vector (x, y, z, w) by a matrix (v = Mv)
+	 * @param m	The transform
+	 * @param parallel	true to split the vertices across the shared pool
+	 * @return	true if the stream has 4 or more components, false otherwise
+	 */
+	public final boolean transform(Matrix4x4 m, boolean parallel) {
+		return components >= 4 && run(TRANSFORM, parallel, m);
+	}
+	
+	/**
+	 * Transform a range of vertices as column vectors (x, y, z, w) by a matrix (v = Mv)
+	 * @param m	The transform
+	 * @param from	The first index (inclusive)
+	 * @param to	The last index (exclusive)
+	 * @return	true if the stream has 4 or more components, false otherwise
+	 */
+	public final boolean transform(Matrix4x4 m, int from, int to) {
+		
+		if (components < 4) {
+			return false;
+		}
+		
+		ByteBuffer buffer = this.buffer;
+		int cs = componentStride;
+		
+		float m00 = m.m00, m01 = m.m01, m02 = m.m02, m03 = m.m03;
+		float m10 = m.m10, m11 = m.m11, m12 = m.m12, m13 = m.m13;
+		float m20 = m.m20, m21 = m.m21, m22 = m.m22, m23 = m.m23;
+		float m30 = m.m30, m31 = m.m31, m32 = m.m32, m33 = m.m33;
+		
+		for (int i = from; i < to; i++) {
+			
+			int at = offset + i*stride;
+			float x = buffer.getFloat(at);
+			float y = buffer.getFloat(at + cs);
+			float z = buffer.getFloat(at + 2*cs);
+			float w = buffer.getFloat(at + 3*cs);
+			
+			buffer.putFloat(at, m00*x + m01*y + m02*z + m03*w);
+			buffer.putFloat(at + cs, m10*x + m11*y + m12*z + m13*w);
+			buffer.putFloat(at + 2*cs, m20*x + m21*y + m22*z + m23*w);
+			buffer.putFloat(at + 3*cs, m30*x + m31*y + m32*z + m33*w);
+		}
+		
+		return true;
+	}
+	
+	// runs an operation on the calling thread or across the shared pool;
+	// absolute buffer access keeps disjoint ranges safe to run at once
+	private boolean run(int op, boolean parallel, Matrix4x4 m) {
+		
+		OpRange range = new OpRange(op, m);
+		
+		if (parallel) {
+			Parallel.forRange(0, count, GRAIN, range);
+		} else {
+			range.run(0, count);
+		}
+		
+		return true;
+	}
+	
+	private final class OpRange extends Parallel.Range {
+		
+		final int op;
+		final Matrix4x4 m;
+		
+		OpRange(int op, Matrix4x4 m) {
+			this.op = op;
+			this.m = m;
+		}
+		
+		@Override
+		public void run(int from, int to) {
+			
+			switch (op) {
+			case NORMALIZE:			normalize(from, to); break;
+			case TRANSFORM_POINT:	transformPoint(m, from, to); break;
+			case TRANSFORM_DIR:		transformDirection(m, from, to); break;
+			default:				transform(m, from, to); break;
+			}
+		}
+	}
+}